@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link ManagedTaskListener} that delivers the notifications that it receives
+ * to another {@code ManagedTaskListener} on a dedicated thread, such that a slow
+ * listener does not add latency to the threads that submit and run tasks.
+ * Obtain instances from
+ * {@link ManagedExecutors#asyncListener(ManagedTaskListener, int, Overflow, ThreadFactory)
+ * ManagedExecutors.asyncListener}.
+ * <p>
+ * Each notification is written to a slot of a bounded, lock-free ring buffer,
+ * without allocating objects. The dedicated thread delivers all notifications
+ * that are available in the buffer each time that it wakes up, and sleeps when the buffer
+ * is empty. Notifications are delivered in the order in which they are written to the
+ * buffer, and therefore in order for each task. The {@link Overflow} policy determines
+ * what happens to a notification when the buffer is full.
+ * <p>
+ * Because notifications are delivered after the fact, the {@link Future} is usually
+ * in a later state than it was when the notification occurred. For example, a
+ * {@link ManagedTaskListener#taskSubmitted taskSubmitted} notification might be
+ * delivered after the task completes, and the listener cannot prevent a task from
+ * starting by cancelling it during {@code taskSubmitted}.
+ * <p>
+ * Closing the listener delivers the notifications that are in the buffer and stops
+ * the dedicated thread, after which notifications are delivered on the thread that
+ * raises them. Notifications that are raised concurrently with closing the listener
+ * might not be delivered, consistent with the at-most-once quality of service of
+ * {@code ManagedTaskListener}. If the delegate listener raises an exception, the
+ * exception is supplied to the uncaught exception handler of the dedicated thread,
+ * and delivery continues. Interrupting the dedicated thread, including from within the
+ * delegate listener, does not stop it. The interrupt status is cleared before the thread
+ * sleeps, such that the thread continues to sleep when the buffer is empty.
+ *
+ * @since 3.2
+ */
+public final class AsyncManagedTaskListener implements ManagedTaskListener, AutoCloseable {
+    /**
+     * Policy for notifications that occur when the buffer is full.
+     */
+    public static enum Overflow {
+        /**
+         * The thread that raises the notification waits for space in the buffer.
+         */
+        BLOCK,
+
+        /**
+         * The notification is delivered on the thread that raises it,
+         * possibly before notifications that are already in the buffer.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The notification is discarded and counted as {@linkplain #getDiscardedCount() discarded}.
+         */
+        DISCARD
+    }
+
+    private static final int SUBMITTED = 0;
+    private static final int STARTING = 1;
+    private static final int ABORTED = 2;
+    private static final int DONE = 3;
+
+    /**
+     * Maximum capacity of the buffer.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Amount of time that a thread waits for space in the buffer before checking again.
+     */
+    private static final long BLOCK_NANOS = 50000L;
+
+    private static final AtomicLongFieldUpdater<AsyncManagedTaskListener> TAIL =
+            AtomicLongFieldUpdater.newUpdater(AsyncManagedTaskListener.class, "tail");
+
+    /**
+     * The listener to which notifications are delivered.
+     */
+    private final ManagedTaskListener listener;
+
+    private final Overflow overflow;
+
+    /**
+     * Slots of the ring buffer, whose length is a power of 2.
+     */
+    private final Slot[] slots;
+
+    /**
+     * Length of the ring buffer minus 1.
+     */
+    private final int mask;
+
+    /**
+     * Position at which the next notification is written. Producers claim positions
+     * by incrementing it.
+     */
+    private volatile long tail;
+
+    /**
+     * Position from which the dedicated thread reads the next notification.
+     * Only the dedicated thread accesses it.
+     */
+    private long head;
+
+    /**
+     * Indicates that the dedicated thread is about to sleep or is sleeping.
+     */
+    private volatile boolean idle;
+
+    private volatile boolean closed;
+
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * The dedicated thread that delivers notifications.
+     */
+    private final Thread dispatcher;
+
+    /**
+     * Constructs a listener that delivers notifications on a dedicated thread and starts the thread.
+     *
+     * @param listener      the listener to which to deliver notifications.
+     * @param capacity      number of notifications that the buffer can hold,
+     *                      which is rounded up to a power of 2 that is at least 2.
+     * @param overflow      policy for notifications that occur when the buffer is full.
+     * @param threadFactory creates the dedicated thread.
+     * @throws IllegalArgumentException if the capacity is less than 1 or greater than 2<sup>30</sup>.
+     * @throws IllegalStateException if the thread factory does not create a thread.
+     */
+    AsyncManagedTaskListener(final ManagedTaskListener listener, final int capacity,
+                             final Overflow overflow, final ThreadFactory threadFactory) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        this.listener = listener;
+        this.overflow = overflow;
+
+        // at least 2 slots are needed to distinguish written slots from free slots
+        int length = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new Slot[length];
+        for (int i = 0; i < length; i++) {
+            slots[i] = new Slot(i);
+        }
+        mask = length - 1;
+
+        dispatcher = threadFactory.newThread(this::dispatch);
+        if (dispatcher == null) {
+            throw new IllegalStateException(threadFactory.toString());
+        }
+        dispatcher.start();
+    }
+
+    /**
+     * Delivers the notifications that are in the buffer and stops the dedicated thread,
+     * waiting for it to stop unless invoked from the dedicated thread.
+     * Subsequent notifications are delivered on the thread that raises them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+        if (Thread.currentThread() != dispatcher) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of notifications that were discarded
+     * per the {@link Overflow#DISCARD DISCARD} policy.
+     *
+     * @return the number of discarded notifications.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    @Override
+    public void taskAborted(final Future<?> future, final ManagedExecutorService executor,
+                            final Object task, final Throwable exception) {
+        enqueue(ABORTED, future, executor, task, exception);
+    }
+
+    @Override
+    public void taskDone(final Future<?> future, final ManagedExecutorService executor,
+                         final Object task, final Throwable exception) {
+        enqueue(DONE, future, executor, task, exception);
+    }
+
+    @Override
+    public void taskStarting(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+        enqueue(STARTING, future, executor, task, null);
+    }
+
+    @Override
+    public void taskSubmitted(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+        enqueue(SUBMITTED, future, executor, task, null);
+    }
+
+    /**
+     * Delivers a notification to the listener.
+     *
+     * @param type      type of notification.
+     * @param future    the future of the task.
+     * @param executor  the executor of the task.
+     * @param task      the task.
+     * @param exception the exception, if any, for taskAborted and taskDone notifications.
+     */
+    private void deliver(final int type, final Future<?> future, final ManagedExecutorService executor,
+                         final Object task, final Throwable exception) {
+        switch (type) {
+            case SUBMITTED:
+                listener.taskSubmitted(future, executor, task);
+                break;
+            case STARTING:
+                listener.taskStarting(future, executor, task);
+                break;
+            case ABORTED:
+                listener.taskAborted(future, executor, task, exception);
+                break;
+            default:
+                listener.taskDone(future, executor, task, exception);
+        }
+    }
+
+    /**
+     * Runs on the dedicated thread, delivering notifications until closed.
+     */
+    private void dispatch() {
+        while (true) {
+            if (drain() == 0) {
+                if (closed) {
+                    if (drain() == 0) {
+                        return;
+                    }
+                } else {
+                    idle = true;
+                    // producers check idle after writing, so the slot is checked after setting it
+                    if (slots[(int) head & mask].sequence != head + 1 && !closed) {
+                        // park returns immediately while the interrupt status is set
+                        Thread.interrupted();
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers the notifications that are available in the buffer.
+     * Only the dedicated thread invokes this method.
+     *
+     * @return the number of notifications delivered.
+     */
+    private int drain() {
+        int count = 0;
+        for (Slot slot = slots[(int) head & mask]; slot.sequence == head + 1; slot = slots[(int) head & mask]) {
+            int type = slot.type;
+            Future<?> future = slot.future;
+            ManagedExecutorService executor = slot.executor;
+            Object task = slot.task;
+            Throwable exception = slot.exception;
+            slot.future = null;
+            slot.executor = null;
+            slot.task = null;
+            slot.exception = null;
+            // release the slot to producers before delivering
+            slot.sequence = head + slots.length;
+            head++;
+            try {
+                deliver(type, future, executor, task, exception);
+            } catch (RuntimeException | Error x) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, x);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes a notification to the buffer, or handles it per the overflow policy if the buffer is full.
+     *
+     * @param type      type of notification.
+     * @param future    the future of the task.
+     * @param executor  the executor of the task.
+     * @param task      the task.
+     * @param exception the exception, if any, for taskAborted and taskDone notifications.
+     */
+    private void enqueue(final int type, final Future<?> future, final ManagedExecutorService executor,
+                         final Object task, final Throwable exception) {
+        if (closed) {
+            deliver(type, future, executor, task, exception);
+            return;
+        }
+        while (!offer(type, future, executor, task, exception)) {
+            if (overflow == Overflow.DISCARD) {
+                discarded.increment();
+                return;
+            } else if (overflow == Overflow.CALLER_RUNS || closed || Thread.currentThread() == dispatcher) {
+                deliver(type, future, executor, task, exception);
+                return;
+            }
+            LockSupport.unpark(dispatcher);
+            LockSupport.parkNanos(this, BLOCK_NANOS);
+        }
+        if (idle) {
+            idle = false;
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    /**
+     * Claims a slot in the buffer and writes a notification to it.
+     *
+     * @param type      type of notification.
+     * @param future    the future of the task.
+     * @param executor  the executor of the task.
+     * @param task      the task.
+     * @param exception the exception, if any, for taskAborted and taskDone notifications.
+     * @return true if written, false if the buffer is full.
+     */
+    private boolean offer(final int type, final Future<?> future, final ManagedExecutorService executor,
+                          final Object task, final Throwable exception) {
+        long position = tail;
+        while (true) {
+            Slot slot = slots[(int) position & mask];
+            long available = slot.sequence - position;
+            if (available == 0L) {
+                if (TAIL.compareAndSet(this, position, position + 1)) {
+                    slot.type = type;
+                    slot.future = future;
+                    slot.executor = executor;
+                    slot.task = task;
+                    slot.exception = exception;
+                    // publishes the notification to the dedicated thread
+                    slot.sequence = position + 1;
+                    return true;
+                }
+            } else if (available < 0L) {
+                return false;
+            }
+            position = tail;
+        }
+    }
+
+    /**
+     * Slot of the ring buffer. The sequence equals the position that can next write to the slot,
+     * or that position plus 1 once a notification is written to it.
+     */
+    private static final class Slot {
+        private volatile long sequence;
+        private int type;
+        private Future<?> future;
+        private ManagedExecutorService executor;
+        private Object task;
+        private Throwable exception;
+
+        private Slot(final long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
@@ -22,8 +22,12 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 
 import jakarta.enterprise.util.AnnotationLiteral;
@@ -397,13 +401,76 @@ public @interface Asynchronous {
      *
      * After the asynchronous method completes, the Jakarta EE Product Provider
      * invokes the {@link #setFuture} method with a <code>null</code> value
-     * to clear it from the thread.
+     * to clear it from the thread. Alternatively, the Jakarta EE Product Provider
+     * invokes the asynchronous method within {@link #callWith}, which makes the
+     * <code>CompletableFuture</code> available only for the duration of the method.
      *
      * @since 3.0
      */
     public static final class Result {
         private static final ThreadLocal<CompletableFuture<?>> FUTURES = new ThreadLocal<CompletableFuture<?>>();
 
+        /**
+         * <code>java.lang.ScopedValue</code> to which {@link #callWith} binds the future,
+         * or <code>null</code> if the Java runtime does not provide <code>ScopedValue</code>
+         * as a standard API, in which case the <code>ThreadLocal</code> is used instead.
+         */
+        private static final Object SCOPED_FUTURE;
+
+        /**
+         * <code>ScopedValue.isBound()</code>, with the type <code>(Object)boolean</code>.
+         */
+        private static final MethodHandle IS_BOUND;
+
+        /**
+         * <code>ScopedValue.get()</code>, with the type <code>(Object)Object</code>.
+         */
+        private static final MethodHandle GET;
+
+        /**
+         * <code>ScopedValue.where(ScopedValue, Object)</code>, with the type <code>(Object, Object)Object</code>.
+         */
+        private static final MethodHandle WHERE;
+
+        /**
+         * <code>ScopedValue.Carrier.run(Runnable)</code>, with the type <code>(Object, Runnable)void</code>.
+         */
+        private static final MethodHandle RUN;
+
+        static {
+            Object scopedFuture = null;
+            MethodHandle isBound = null;
+            MethodHandle get = null;
+            MethodHandle where = null;
+            MethodHandle run = null;
+            // ScopedValue is a preview API prior to Java 25
+            if (Runtime.version().feature() >= 25) {
+                try {
+                    Class<?> scopedValue = Class.forName("java.lang.ScopedValue");
+                    Class<?> carrier = Class.forName("java.lang.ScopedValue$Carrier");
+                    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                    isBound = lookup.findVirtual(scopedValue, "isBound", MethodType.methodType(boolean.class))
+                            .asType(MethodType.methodType(boolean.class, Object.class));
+                    get = lookup.findVirtual(scopedValue, "get", MethodType.methodType(Object.class))
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    where = lookup.findStatic(scopedValue, "where",
+                                              MethodType.methodType(carrier, scopedValue, Object.class))
+                            .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+                    run = lookup.findVirtual(carrier, "run", MethodType.methodType(void.class, Runnable.class))
+                            .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+                    scopedFuture = lookup.findStatic(scopedValue, "newInstance", MethodType.methodType(scopedValue))
+                            .invoke();
+                } catch (Throwable x) {
+                    scopedFuture = null;
+                }
+            }
+            SCOPED_FUTURE = scopedFuture;
+            IS_BOUND = isBound;
+            GET = get;
+            WHERE = where;
+            RUN = run;
+        }
+
         // Prevent instantiation
         private Result() {
         }
@@ -422,15 +489,64 @@ public @interface Asynchronous {
          *                                   method is not present on the thread.
          */
         public static <T> CompletableFuture<T> complete(final T result) {
-            @SuppressWarnings("unchecked")
-            CompletableFuture<T> future = (CompletableFuture<T>) FUTURES.get();
-            if (future == null) {
-                throw new IllegalStateException();
-            }
+            CompletableFuture<T> future = getFuture();
             future.complete(result);
             return future;
         }
 
+        /**
+         * The Jakarta EE Product Provider invokes this method to run the asynchronous
+         * method implementation such that the same <code>CompletableFuture</code> that
+         * the Jakarta EE Product Provider returns to the caller is available to it,
+         * only for the duration of the asynchronous method. This does not require
+         * clearing the <code>CompletableFuture</code> from the thread afterward.
+         * <p>
+         * When the Java runtime provides <code>java.lang.ScopedValue</code> as a standard API,
+         * the <code>CompletableFuture</code> is bound to a <code>ScopedValue</code>,
+         * which avoids allocating thread local storage for each thread, such as for each
+         * virtual thread that runs an asynchronous method. Otherwise, it is made available
+         * as if by {@link #setFuture}, and the previous value is restored afterward.
+         * <p>
+         * This method must only be invoked by the Jakarta EE Product Provider.
+         *
+         * @param <R>    type of result of the asynchronous method implementation.
+         * @param future <code>CompletableFuture</code> that the container returns to the caller.
+         * @param method invokes the asynchronous method implementation.
+         * @return the result of the asynchronous method implementation.
+         * @throws Exception if raised by the asynchronous method implementation.
+         * @since 3.2
+         */
+        public static <R> R callWith(final CompletableFuture<?> future, final Callable<R> method) throws Exception {
+            Objects.requireNonNull(future, "future: null");
+
+            if (SCOPED_FUTURE == null) {
+                CompletableFuture<?> previous = FUTURES.get();
+                FUTURES.set(future);
+                try {
+                    return method.call();
+                } finally {
+                    if (previous == null) {
+                        FUTURES.remove();
+                    } else {
+                        FUTURES.set(previous);
+                    }
+                }
+            }
+
+            Invocation<R> invocation = new Invocation<R>(method);
+            try {
+                RUN.invokeExact((Object) WHERE.invokeExact(SCOPED_FUTURE, (Object) future), (Runnable) invocation);
+            } catch (RuntimeException | Error x) {
+                throw x;
+            } catch (Throwable x) {
+                throw new IllegalStateException(x);
+            }
+            if (invocation.failure != null) {
+                throw invocation.failure;
+            }
+            return invocation.result;
+        }
+
         /**
          * Obtains the same {@link java.util.concurrent.CompletableFuture CompletableFuture}
          * instance that the Jakarta EE Product Provider supplies to the caller of the
@@ -444,8 +560,20 @@ public @interface Asynchronous {
          *                                   method is not present on the thread.
          */
         public static <T> CompletableFuture<T> getFuture() {
+            CompletableFuture<?> bound = null;
+            if (SCOPED_FUTURE != null) {
+                try {
+                    if ((boolean) IS_BOUND.invokeExact(SCOPED_FUTURE)) {
+                        bound = (CompletableFuture<?>) (Object) GET.invokeExact(SCOPED_FUTURE);
+                    }
+                } catch (RuntimeException | Error x) {
+                    throw x;
+                } catch (Throwable x) {
+                    throw new IllegalStateException(x);
+                }
+            }
             @SuppressWarnings("unchecked")
-            CompletableFuture<T> future = (CompletableFuture<T>) FUTURES.get();
+            CompletableFuture<T> future = (CompletableFuture<T>) (bound == null ? FUTURES.get() : bound);
             if (future == null) {
                 throw new IllegalStateException();
             }
@@ -475,5 +603,30 @@ public @interface Asynchronous {
                 FUTURES.set(future);
             }
         }
+
+        /**
+         * Runs an asynchronous method implementation within the scope of a
+         * <code>ScopedValue</code> binding, retaining its result or exception.
+         *
+         * @param <R> type of result of the asynchronous method implementation.
+         */
+        private static final class Invocation<R> implements Runnable {
+            private final Callable<R> method;
+            private Exception failure;
+            private R result;
+
+            private Invocation(final Callable<R> method) {
+                this.method = method;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    result = method.call();
+                } catch (Exception x) {
+                    failure = x;
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Thread context that is captured once by
+ * {@link ContextService#captureContext() ContextService.captureContext}
+ * and can be applied to any number of actions and blocks of code.
+ * Contextualizing an action with a {@code CapturedContext} does not capture
+ * context again, and the contextual actions share the captured context rather
+ * than each holding its own copy.
+ * <p>
+ * For example, to contextualize several completion stage actions
+ * with the same context,
+ * <pre>
+ * CapturedContext context = contextSvc.captureContext();
+ * stage2 = stage1.thenApply(context.contextualFunction(this::lookUpPrice))
+ *                .thenAccept(context.contextualConsumer(this::recordPrice))
+ *                .exceptionally(context.contextualFunction(this::logFailure));
+ * </pre>
+ * <p>
+ * The contextual actions behave the same as those that are created by the
+ * corresponding methods of {@link ContextService}, except that they do not reject
+ * actions that are already contextual. Each invocation of a contextual action
+ * establishes the captured context on the thread, runs the action, and then
+ * restores the previous context of the thread.
+ * <p>
+ * Instances are immutable and can be used concurrently by any number of threads.
+ *
+ * @since 3.2
+ */
+public interface CapturedContext {
+    /**
+     * Runs a {@link Callable} with the captured context on the current thread.
+     *
+     * @param <R> result type.
+     * @param callable the action to run.
+     * @return the result of the action.
+     * @throws Exception if the action raises an exception.
+     */
+    public <R> R call(Callable<R> callable) throws Exception;
+
+    /**
+     * Runs a {@link Runnable} with the captured context on the current thread.
+     *
+     * @param runnable the action to run.
+     */
+    public void run(Runnable runnable);
+
+    /**
+     * Wraps a {@link Callable} with the captured context.
+     *
+     * @param <R> result type.
+     * @param callable instance to contextualize.
+     * @return contextual instance that runs the <code>call</code> method with the captured context.
+     */
+    public default <R> Callable<R> contextualCallable(final Callable<R> callable) {
+        return () -> call(callable);
+    }
+
+    /**
+     * Wraps a {@link BiConsumer} with the captured context.
+     *
+     * @param <T> type of first parameter to consumer.
+     * @param <U> type of second parameter to consumer.
+     * @param consumer instance to contextualize.
+     * @return contextual instance that runs the <code>accept</code> method with the captured context.
+     */
+    public default <T, U> BiConsumer<T, U> contextualConsumer(final BiConsumer<T, U> consumer) {
+        return (t, u) -> run(() -> consumer.accept(t, u));
+    }
+
+    /**
+     * Wraps a {@link Consumer} with the captured context.
+     *
+     * @param <T> type of parameter to consumer.
+     * @param consumer instance to contextualize.
+     * @return contextual instance that runs the <code>accept</code> method with the captured context.
+     */
+    public default <T> Consumer<T> contextualConsumer(final Consumer<T> consumer) {
+        return t -> run(() -> consumer.accept(t));
+    }
+
+    /**
+     * Wraps a {@link BiFunction} with the captured context.
+     *
+     * @param <T> type of first parameter to function.
+     * @param <U> type of second parameter to function.
+     * @param <R> function result type.
+     * @param function instance to contextualize.
+     * @return contextual instance that runs the <code>apply</code> method with the captured context.
+     */
+    public default <T, U, R> BiFunction<T, U, R> contextualFunction(final BiFunction<T, U, R> function) {
+        return (t, u) -> supply(() -> function.apply(t, u));
+    }
+
+    /**
+     * Wraps a {@link Function} with the captured context.
+     *
+     * @param <T> type of parameter to function.
+     * @param <R> function result type.
+     * @param function instance to contextualize.
+     * @return contextual instance that runs the <code>apply</code> method with the captured context.
+     */
+    public default <T, R> Function<T, R> contextualFunction(final Function<T, R> function) {
+        return t -> supply(() -> function.apply(t));
+    }
+
+    /**
+     * Wraps a {@link Runnable} with the captured context.
+     *
+     * @param runnable instance to contextualize.
+     * @return contextual instance that runs the <code>run</code> method with the captured context.
+     */
+    public default Runnable contextualRunnable(final Runnable runnable) {
+        return () -> run(runnable);
+    }
+
+    /**
+     * Wraps a {@link Supplier} with the captured context.
+     *
+     * @param <R> supplier result type.
+     * @param supplier instance to contextualize.
+     * @return contextual instance that runs the <code>get</code> method with the captured context.
+     */
+    public default <R> Supplier<R> contextualSupplier(final Supplier<R> supplier) {
+        return () -> supply(supplier);
+    }
+
+    /**
+     * Obtains a result from a {@link Supplier} with the captured context on the current thread.
+     * The default implementation delegates to {@link #call(Callable)}.
+     *
+     * @param <R> result type.
+     * @param supplier the supplier.
+     * @return the result of the supplier.
+     */
+    public default <R> R supply(final Supplier<R> supplier) {
+        try {
+            return call(supplier::get);
+        } catch (RuntimeException x) {
+            throw x;
+        } catch (Exception x) {
+            // not possible because Supplier does not raise checked exceptions
+            throw new IllegalStateException(x);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -81,6 +82,12 @@ import java.util.function.Supplier;
  * }));
  * </pre>
  * <p>
+ * Context is captured when a contextual proxy, task, or action is created.
+ * A {@code ContextService} that is defined with
+ * {@link ContextServiceDefinition#lazyCapture() lazyCapture} can defer
+ * part of the work of capturing context until the proxy, task, or action
+ * first runs, without changing the context that it runs with.
+ * <p>
  *
  * @since 1.0
  */
@@ -505,6 +512,34 @@ public interface ContextService {
    */
   public Executor currentContextExecutor();
 
+  /**
+   * <p>Captures thread context from the current thread once, as a
+   * {@link CapturedContext} that can contextualize any number of actions
+   * and run blocks of code with the captured context.
+   * Context is captured per the configuration of this <code>ContextService</code>,
+   * the same as for the other methods of this interface.</p>
+   *
+   * <p>Example usage:</p>
+   * <pre>
+   * <code>CapturedContext context = contextSvc.captureContext();
+   * Function&lt;Order, Price&gt; pricing = context.contextualFunction(this::price);
+   * Consumer&lt;Price&gt; recording = context.contextualConsumer(this::record);
+   * ...
+   * // from another thread, or after thread context has changed,
+   * context.run(() -&gt; doSomethingThatNeedsContext());
+   * </code></pre>
+   *
+   * <p>The default implementation captures context with
+   * {@link #currentContextExecutor()} and applies it by running each
+   * action inline on that executor.</p>
+   *
+   * @return the captured context.
+   * @since 3.2
+   */
+  public default CapturedContext captureContext() {
+    return new ExecutorCapturedContext(currentContextExecutor());
+  }
+
   /**
    * Gets the current execution properties on the context proxy instance.
    *
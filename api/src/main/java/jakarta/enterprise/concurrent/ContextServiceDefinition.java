@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021,2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021,2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -213,6 +213,31 @@ public @interface ContextServiceDefinition {
      */
     String[] unchanged() default {};
 
+    /**
+     * <p>Indicates whether the {@code ContextService} can defer
+     * materializing the thread context that it captures until a contextual
+     * task or action first runs.</p>
+     *
+     * <p>When {@code true}, the Jakarta EE Product Provider captures
+     * propagated context by invoking
+     * {@link jakarta.enterprise.concurrent.spi.ThreadContextProvider#deferredContext
+     * ThreadContextProvider.deferredContext}, which permits thread context providers
+     * to capture a lightweight token when the task or action is contextualized and
+     * to do the remaining work of capturing context only if it runs.
+     * This benefits applications that contextualize many tasks or actions
+     * that are cancelled or otherwise never run. The contextual task or
+     * action runs with the same context as it would if context were
+     * captured eagerly.</p>
+     *
+     * <p>The default is {@code false}, indicating that context is fully
+     * captured when the task or action is contextualized.</p>
+     *
+     * @return {@code true} if capture of context can be deferred,
+     *         otherwise {@code false}.
+     * @since 3.2
+     */
+    boolean lazyCapture() default false;
+
     /**
      * <p>All available thread context types that are not specified
      * elsewhere. This includes thread context types from custom
@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compiled, immutable form of the fields of a cron expression.
+ * Each field is represented as a bitmask in which bit <code>n</code> is set
+ * if the value <code>n</code> is permitted by the field:
+ * <ul>
+ * <li>seconds and minutes: bits 0-59</li>
+ * <li>hours: bits 0-23</li>
+ * <li>days of month: bits 1-31</li>
+ * <li>days from the end of month: bits 1-31, where bit 1 is <code>L</code>,
+ *     bit 2 is <code>2L</code>, and so forth</li>
+ * <li>months: bits 1-12</li>
+ * <li>days of week: bits 1-49, where the first 7 are the days of the week,
+ *     the next 35 are the 1st-5th ordinal of each day,
+ *     and the final 7 are the last ordinal of each day</li>
+ * </ul>
+ * The next time is computed on epoch seconds and primitive calendar fields
+ * without creating intermediate date/time objects.
+ */
+final class CronFields {
+    /**
+     * Indicates that the cron expression does not match any date/time.
+     */
+    static final long NO_MATCH = Long.MIN_VALUE;
+
+    /**
+     * Bitmask of all days of month, 1-31.
+     */
+    static final long ALL_DAYS_OF_MONTH = 0xFFFFFFFEL;
+
+    /**
+     * Bitmask of all days of week, 1-7, without ordinals.
+     */
+    static final long ALL_DAYS_OF_WEEK = 0xFEL;
+
+    /**
+     * Bitmask of all months, 1-12.
+     */
+    static final long ALL_MONTHS = 0x1FFEL;
+
+    /**
+     * Bitmask for the value 0.
+     */
+    static final long ZERO = 1L;
+
+    /**
+     * Default fields, where seconds, minutes, and hours are 0 and the remaining fields are *.
+     */
+    static final CronFields DEFAULT = new CronFields(ZERO, ZERO, ZERO, ALL_DAYS_OF_MONTH, 0L, ALL_MONTHS, ALL_DAYS_OF_WEEK);
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    /**
+     * Bitmask with a bit for every 7th day, starting from bit 0.
+     */
+    private static final long WEEKLY = 1L | 1L << 7 | 1L << 14 | 1L << 21 | 1L << 28;
+
+    /**
+     * Number of years to search before concluding that the expression never matches.
+     * The Gregorian calendar repeats every 400 years.
+     */
+    private static final int MAX_YEARS = 401;
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long lastDaysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+
+    CronFields(final long seconds, final long minutes, final long hours,
+               final long daysOfMonth, final long lastDaysOfMonth,
+               final long months, final long daysOfWeek) {
+        this.seconds = seconds;
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.lastDaysOfMonth = lastDaysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    CronFields withSeconds(final long s) {
+        return new CronFields(s, minutes, hours, daysOfMonth, lastDaysOfMonth, months, daysOfWeek);
+    }
+
+    CronFields withMinutes(final long m) {
+        return new CronFields(seconds, m, hours, daysOfMonth, lastDaysOfMonth, months, daysOfWeek);
+    }
+
+    CronFields withHours(final long h) {
+        return new CronFields(seconds, minutes, h, daysOfMonth, lastDaysOfMonth, months, daysOfWeek);
+    }
+
+    CronFields withDaysOfMonth(final long d, final long lastD) {
+        return new CronFields(seconds, minutes, hours, d, lastD, months, daysOfWeek);
+    }
+
+    CronFields withMonths(final long m) {
+        return new CronFields(seconds, minutes, hours, daysOfMonth, lastDaysOfMonth, m, daysOfWeek);
+    }
+
+    CronFields withDaysOfWeek(final long d) {
+        return new CronFields(seconds, minutes, hours, daysOfMonth, lastDaysOfMonth, months, d);
+    }
+
+    /**
+     * Computes the first time, at or after the specified time, that matches the cron fields.
+     * Local date/time values that are skipped by a time-zone transition never match,
+     * whereas local date/time values that are repeated by a time-zone transition
+     * match at each occurrence.
+     *
+     * @param epochSecond epoch second from which to compute the next time.
+     * @param zone time-zone in which the cron fields are interpreted.
+     * @return epoch second of the next time, or {@link #NO_MATCH} if the fields never match.
+     */
+    long next(final long epochSecond, final ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            int offset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            long local = nextLocal(epochSecond + offset);
+            return local == NO_MATCH ? NO_MATCH : local - offset;
+        }
+
+        // Search within each interval of constant offset until the match lies within the interval.
+        // A local date/time that always falls within a gap, such as 2:30 on the day that
+        // Daylight Saving Time begins, could otherwise be searched for indefinitely.
+        long limit = epochSecond + MAX_YEARS * 366L * SECONDS_PER_DAY;
+        for (long time = epochSecond; time < limit;) {
+            Instant instant = Instant.ofEpochSecond(time);
+            int offset = rules.getOffset(instant).getTotalSeconds();
+            ZoneOffsetTransition transition = rules.nextTransition(instant);
+            long local = nextLocal(time + offset);
+            if (local == NO_MATCH) {
+                return NO_MATCH;
+            }
+            long candidate = local - offset;
+            if (transition == null || candidate < transition.toEpochSecond()) {
+                return candidate;
+            }
+            time = transition.toEpochSecond();
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Iterates the successive times that match the cron fields, starting at or after the
+     * specified time and ending before the specified time. The iterator retains the
+     * position of the search, including the offset of the time-zone and its next
+     * transition, such that each successive time is computed from the previous time.
+     *
+     * @param epochSecond epoch second from which to compute the first time.
+     * @param endEpochSecond epoch second (exclusive) at which to stop.
+     * @param zone time-zone in which the cron fields are interpreted.
+     * @return iterator of epoch seconds.
+     */
+    PrimitiveIterator.OfLong iterator(final long epochSecond, final long endEpochSecond, final ZoneId zone) {
+        return new Times(epochSecond, endEpochSecond, zone.getRules());
+    }
+
+    /**
+     * Iterator over successive times that match the cron fields, as epoch seconds.
+     */
+    private final class Times implements PrimitiveIterator.OfLong {
+        private final long end;
+        private final ZoneRules rules;
+        private long time;
+        private long transition;
+        private int offset;
+        private long next = NO_MATCH;
+
+        Times(final long epochSecond, final long end, final ZoneRules rules) {
+            this.end = end;
+            this.rules = rules;
+            this.time = epochSecond;
+            this.transition = Long.MIN_VALUE;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long limit = time + MAX_YEARS * 366L * SECONDS_PER_DAY;
+            while (next == NO_MATCH && time < end && time < limit) {
+                if (time >= transition) {
+                    Instant instant = Instant.ofEpochSecond(time);
+                    offset = rules.getOffset(instant).getTotalSeconds();
+                    ZoneOffsetTransition t = rules.isFixedOffset() ? null : rules.nextTransition(instant);
+                    transition = t == null ? Long.MAX_VALUE : t.toEpochSecond();
+                }
+                long local = nextLocal(time + offset);
+                if (local == NO_MATCH) {
+                    time = end;
+                } else if (local - offset >= transition) {
+                    time = transition;
+                } else if (local - offset >= end) {
+                    time = end;
+                } else {
+                    next = local - offset;
+                    time = next + 1;
+                }
+            }
+            return next != NO_MATCH;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long t = next;
+            next = NO_MATCH;
+            return t;
+        }
+    }
+
+    /**
+     * Computes the first local date/time, at or after the specified local date/time,
+     * that matches the cron fields.
+     *
+     * @param localSecond local date/time, as seconds from 1970-01-01T00:00:00.
+     * @return local date/time, as seconds from 1970-01-01T00:00:00, or {@link #NO_MATCH}.
+     */
+    long nextLocal(final long localSecond) {
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int timeOfDay = Math.floorMod(localSecond, SECONDS_PER_DAY);
+
+        // Convert the epoch day to year, month, and day of month
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (int) ((5 * dayOfYear + 2) / 153);
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        long firstOfMonth = epochDay - day + 1;
+        long maxYear = year + MAX_YEARS;
+
+        while (year <= maxYear) {
+            int lastDayOfMonth = lengthOfMonth(month, year);
+            if ((months & (1L << month)) != 0) {
+                int firstDayOfWeek = Math.floorMod(firstOfMonth + 3, 7) + 1;
+                long days = daysOfMonthIn(lastDayOfMonth) & daysOfWeekIn(firstDayOfWeek, lastDayOfMonth) & (-1L << day);
+                for (; days != 0; days &= days - 1) {
+                    int d = Long.numberOfTrailingZeros(days);
+                    int t = nextTimeOfDay(d == day ? timeOfDay : 0);
+                    if (t >= 0) {
+                        return (firstOfMonth + d - 1) * SECONDS_PER_DAY + t;
+                    }
+                }
+            }
+            firstOfMonth += lastDayOfMonth;
+            day = 1;
+            timeOfDay = 0;
+            if (++month > 12) {
+                month = 1;
+                year++;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Computes the first time of day, at or after the specified time of day,
+     * that matches the hours, minutes, and seconds fields.
+     *
+     * @param timeOfDay seconds since the start of the day.
+     * @return seconds since the start of the day, or -1 if none remain within the day.
+     */
+    private int nextTimeOfDay(final int timeOfDay) {
+        int h0 = timeOfDay / 3600;
+        int m0 = timeOfDay / 60 % 60;
+        int s0 = timeOfDay % 60;
+        int h = nextBit(hours, h0);
+        if (h == h0) {
+            int m = nextBit(minutes, m0);
+            if (m == m0) {
+                int s = nextBit(seconds, s0);
+                if (s >= 0) {
+                    return timeOfDay - s0 + s;
+                }
+                m = nextBit(minutes, m0 + 1);
+            }
+            if (m >= 0) {
+                return h * 3600 + m * 60 + Long.numberOfTrailingZeros(seconds);
+            }
+            h = nextBit(hours, h0 + 1);
+        }
+        return h < 0 ? -1 : h * 3600 + Long.numberOfTrailingZeros(minutes) * 60 + Long.numberOfTrailingZeros(seconds);
+    }
+
+    /**
+     * Bitmask of the days within a month that match the day-of-month field.
+     *
+     * @param lastDayOfMonth number of days in the month.
+     * @return bitmask of matching days of the month.
+     */
+    private long daysOfMonthIn(final int lastDayOfMonth) {
+        // bit n of lastDaysOfMonth is moved to bit (lastDayOfMonth + 1 - n)
+        long fromEnd = Long.reverse(lastDaysOfMonth) >>> (62 - lastDayOfMonth);
+        return (daysOfMonth | fromEnd) & ((1L << (lastDayOfMonth + 1)) - 2);
+    }
+
+    /**
+     * Bitmask of the days within a month that match the day-of-week field.
+     *
+     * @param firstDayOfWeek day of week (1-7) of the first day of the month.
+     * @param lastDayOfMonth number of days in the month.
+     * @return bitmask of matching days of the month.
+     */
+    private long daysOfWeekIn(final int firstDayOfWeek, final int lastDayOfMonth) {
+        if ((daysOfWeek & ALL_DAYS_OF_WEEK) == ALL_DAYS_OF_WEEK) {
+            return ALL_DAYS_OF_MONTH;
+        }
+        long days = 0L;
+        for (int d = 1; d <= 7; d++) {
+            int first = 1 + (d - firstDayOfWeek + 7) % 7;
+            if ((daysOfWeek & (1L << d)) != 0) { // (TUE)
+                days |= WEEKLY << first;
+            }
+            for (int ord = 1; ord <= 5; ord++) { // (WED#3)
+                if ((daysOfWeek & (1L << (7 * ord + d))) != 0) {
+                    days |= 1L << (first + 7 * (ord - 1));
+                }
+            }
+            if ((daysOfWeek & (1L << (42 + d))) != 0) { // (THU#L)
+                days |= 1L << (first + 7 * ((lastDayOfMonth - first) / 7));
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Appends a readable representation of the fields, which displays fields in list form
+     * or with the * character for brevity.
+     *
+     * @param s the string builder.
+     * @return the string builder.
+     */
+    StringBuilder appendTo(final StringBuilder s) {
+        appendTo(s, "seconds", seconds, 0L, 60);
+        appendTo(s, "minutes", minutes, 0L, 60);
+        appendTo(s, "hours", hours, 0L, 24);
+        appendTo(s, "days", daysOfMonth, lastDaysOfMonth, 31);
+        appendTo(s, "months", months, 0L, 12);
+        if (daysOfWeek == ALL_DAYS_OF_WEEK) {
+            s.append(" *");
+        } else {
+            char delim = ' ';
+            for (long list = daysOfWeek; list != 0; list &= list - 1) {
+                int value = Long.numberOfTrailingZeros(list);
+                int d = (value - 1) % 7 + 1;
+                int ord = (value - 1) / 7;
+                s.append(delim).append(DayOfWeek.of(d).name().substring(0, 3));
+                if (ord > 0) {
+                    s.append('#').append(ord == 6 ? "L" : ord);
+                }
+                delim = ',';
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Utility method for repeated logic in appendTo.
+     *
+     * @param s The string builder
+     * @param label The cron expression
+     * @param list Cron expression as bitmask
+     * @param lastList Values relative to the end of the month as bitmask
+     * @param max Max value of cron expression
+     */
+    private static void appendTo(final StringBuilder s, final String label, final long list, final long lastList, final int max) {
+        if (Long.bitCount(list) + Long.bitCount(lastList) == max) {
+            s.append(" *");
+        } else {
+            s.append(' ').append(label).append(' ');
+            for (long l = list; l != 0; l &= l - 1) {
+                s.append(Long.numberOfTrailingZeros(l)).append(',');
+            }
+            for (int n = 31; n > 0; n--) {
+                if ((lastList & (1L << n)) != 0) {
+                    s.append(n == 1 ? "L" : (n + "L")).append(',');
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder("CronFields")).toString();
+    }
+
+    /**
+     * Returns the position of the first bit that is set at or above the specified position.
+     *
+     * @param mask bitmask.
+     * @param from position from which to search.
+     * @return position of the bit, or -1 if none are set.
+     */
+    private static int nextBit(final long mask, final int from) {
+        long m = from > 63 ? 0L : mask & (-1L << from);
+        return m == 0 ? -1 : Long.numberOfTrailingZeros(m);
+    }
+
+    private static int lengthOfMonth(final int month, final long year) {
+        switch (month) {
+            case 2:
+                return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021,2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021,2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,18 +16,19 @@
 
 package jakarta.enterprise.concurrent;
 
+import java.lang.reflect.Method;
 import java.time.DateTimeException;
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.Month;
-import java.time.Year;
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.SortedSet;
-import java.util.TreeSet;
-import java.util.function.Function;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>Cron-based {@link Trigger} implementation, which supports 5 or 6 fields
@@ -133,39 +134,63 @@ import java.util.function.Function;
  * @since 3.0
  */
 public class CronTrigger implements ZonedTrigger {
-    private static final Map<String, Integer> DAYS_OF_WEEK = new HashMap<String, Integer>(7);
-    private static final Map<String, Integer> MONTHS = new HashMap<String, Integer>(12);
+    private static final String[] DAYS_OF_WEEK = new String[7];
+    private static final String[] MONTHS = new String[12];
     static {
         for (DayOfWeek day : DayOfWeek.values()) {
-            DAYS_OF_WEEK.put(day.name().substring(0, 3), day.getValue());
+            DAYS_OF_WEEK[day.ordinal()] = day.name();
         }
         for (Month month : Month.values()) {
-            MONTHS.put(month.name().substring(0, 3), month.getValue());
+            MONTHS[month.ordinal()] = month.name();
         }
     }
 
-    private static final int[] ALL_DAYS_OF_MONTH = new int[] {
-            1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20,
-            21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31
-    };
-    private static final int[] ALL_DAYS_OF_WEEK = new int[] {
-            1, 2, 3, 4, 5, 6, 7
-    };
-    private static final int[] ALL_MONTHS = new int[] {
-            1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12
-    };
     private static final int LAST = -1;
-    private static final int[] ZERO = new int[] {
-            0
+
+    /**
+     * Position within a parsed dayOfMonth bitmask of the bits for L, 2L, ...,
+     * such that bit 33 is set for L, bit 34 for 2L, and so forth.
+     */
+    private static final int LAST_DAYS_SHIFT = 32;
+
+    /**
+     * Indicates whether the type of CronTrigger can compute the next time from epoch milliseconds,
+     * which is the case unless a subclass overrides the methods that compute the next
+     * time from <code>ZonedDateTime</code>.
+     */
+    private static final ClassValue<Boolean> COMPUTES_FROM_EPOCH = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> c = type; c != CronTrigger.class; c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    Class<?>[] params = m.getParameterTypes();
+                    if ("getNextRunTime".equals(m.getName()) && params.length == 2 && params[1] == ZonedDateTime.class
+                            || "next".equals(m.getName()) && params.length == 1 && params[0] == ZonedDateTime.class) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
     };
 
-    // cron expression fields are parsed into lists
-    private int[] daysOfMonth = ALL_DAYS_OF_MONTH;
-    private int[] daysOfWeek = ALL_DAYS_OF_WEEK;
-    private int[] hours = ZERO;
-    private int[] minutes = ZERO;
-    private int[] months = ALL_MONTHS;
-    private int[] seconds = ZERO;
+    /**
+     * Maximum number of distinct cron expressions for which to retain the parsed fields.
+     */
+    private static final int MAX_PARSED = 1024;
+
+    /**
+     * Parsed fields of cron expressions that were supplied to the constructor, such that
+     * triggers with the same cron expression share the same immutable fields
+     * rather than parsing the cron expression again. After the maximum is reached,
+     * additional cron expressions are parsed every time. Only instances of
+     * <code>CronTrigger</code> itself use the cache, because a subclass can override
+     * the methods that parse the cron fields.
+     */
+    private static final ConcurrentHashMap<String, CronFields> PARSED = new ConcurrentHashMap<String, CronFields>();
+
+    // cron expression fields are compiled into bitmasks
+    private CronFields fields = CronFields.DEFAULT;
     private final ZoneId zone;
 
     /**
@@ -179,13 +204,23 @@ public class CronTrigger implements ZonedTrigger {
      */
     public CronTrigger(final String cron, final ZoneId zone) {
         this(zone);
-        String[] c = cron.split(" ");
-        if (c.length == 5) {
-            minutes(c[0]).hours(c[1]).daysOfMonth(c[2]).months(c[3]).daysOfWeek(c[4]);
-        } else if (c.length == 6) {
-            seconds(c[0]).minutes(c[1]).hours(c[2]).daysOfMonth(c[3]).months(c[4]).daysOfWeek(c[5]);
-        } else {
-            throw new IllegalArgumentException(cron);
+        boolean cacheable = getClass() == CronTrigger.class;
+        CronFields parsed = cacheable ? PARSED.get(cron) : null;
+        if (parsed == null) {
+            String[] c = cron.split(" ");
+            if (c.length == 5) {
+                minutes(c[0]).hours(c[1]).daysOfMonth(c[2]).months(c[3]).daysOfWeek(c[4]);
+            } else if (c.length == 6) {
+                seconds(c[0]).minutes(c[1]).hours(c[2]).daysOfMonth(c[3]).months(c[4]).daysOfWeek(c[5]);
+            } else {
+                throw new IllegalArgumentException(cron);
+            }
+            if (cacheable && PARSED.size() < MAX_PARSED) {
+                parsed = PARSED.putIfAbsent(cron, fields);
+            }
+        }
+        if (parsed != null) {
+            fields = parsed;
         }
     }
 
@@ -220,6 +255,133 @@ public class CronTrigger implements ZonedTrigger {
         return next(lastExecutionInfo == null ? taskScheduledTime : lastExecutionInfo.getRunEnd(zone));
     }
 
+    /**
+     * Using the cron schedule, and based on the end of the most recent execution
+     * (or absent that, the initial scheduling time), retrieve the next time
+     * that the task should run after, as milliseconds from the epoch of 1970-01-01T00:00:00Z.
+     * <p>
+     * The next time is computed directly from the epoch milliseconds, without creating
+     * date/time objects, unless a subclass overrides the
+     * {@link #getNextRunTime(LastExecution, ZonedDateTime) getNextRunTime} or
+     * {@link #next(ZonedDateTime) next} methods that accept a <code>ZonedDateTime</code>,
+     * in which case this method delegates to them.
+     *
+     * @param lastExecutionInfo information about the last execution of the task.
+     *                          This value will be null if the task has not yet run.
+     * @param taskScheduledTime the time, as milliseconds from the epoch, at which the
+     *                          {@code ManagedScheduledExecutorService.schedule}
+     *                          method was invoked to schedule the task.
+     * @return the time, as milliseconds from the epoch, after which the next execution
+     *         of the task should start.
+     * @throws DateTimeException if a next time cannot be determined from the cron expression.
+     * @throws ArithmeticException if the next time is too large to represent as milliseconds.
+     * @since 3.2
+     */
+    @Override
+    public long getNextRunTime(final LastExecution lastExecutionInfo, final long taskScheduledTime) {
+        long from = lastExecutionInfo == null ? taskScheduledTime : lastExecutionInfo.getRunEndEpochMilli();
+        if (from == Long.MIN_VALUE || !COMPUTES_FROM_EPOCH.get(getClass())) {
+            return ZonedTrigger.super.getNextRunTime(lastExecutionInfo, taskScheduledTime);
+        }
+        long next = fields.next(toEpochSecond(from), zone);
+        if (next == CronFields.NO_MATCH) {
+            throw new DateTimeException("Unable to determine next time after " + Instant.ofEpochMilli(from) + " with " + this);
+        }
+        return Math.multiplyExact(next, 1000L);
+    }
+
+    /**
+     * Returns the successive times at which the cron schedule matches, starting at or after
+     * the specified date/time. The times are computed lazily as the stream is consumed,
+     * each from the previous time rather than by searching again from the start.
+     * For example, to preview the next 10 times,
+     * <pre>
+     * List&lt;ZonedDateTime&gt; times = trigger.runTimes(ZonedDateTime.now(trigger.getZoneId()))
+     *                                     .limit(10)
+     *                                     .toList();
+     * </pre>
+     * <p>
+     * The times are based solely on the cron schedule. Overrides of
+     * {@link #getNextRunTime(LastExecution, ZonedDateTime) getNextRunTime} by subclasses
+     * are not considered. Subsequent changes to the cron fields of this trigger
+     * are not reflected in the stream.
+     *
+     * @param from the date/time from which to compute the first time.
+     * @return ordered stream of date/times in the time-zone of <code>from</code>,
+     *         which ends only if the cron schedule does not match any later date/time.
+     * @since 3.2
+     */
+    public Stream<ZonedDateTime> runTimes(final ZonedDateTime from) {
+        return runTimes(from.toEpochSecond() + (from.getNano() == 0 ? 0 : 1), Long.MAX_VALUE, from.getZone())
+                .mapToObj(t -> Instant.ofEpochSecond(t).atZone(from.getZone()));
+    }
+
+    /**
+     * Returns the successive times at which the cron schedule matches, starting at or after
+     * the first specified date/time and ending before the second specified date/time.
+     * The times are computed lazily as the stream is consumed, each from the previous
+     * time rather than by searching again from the start. For example, to count the
+     * times within the next year,
+     * <pre>
+     * ZonedDateTime now = ZonedDateTime.now(trigger.getZoneId());
+     * long count = trigger.runTimes(now, now.plusYears(1)).count();
+     * </pre>
+     * <p>
+     * The times are based solely on the cron schedule. Overrides of
+     * {@link #getNextRunTime(LastExecution, ZonedDateTime) getNextRunTime} by subclasses
+     * are not considered. Subsequent changes to the cron fields of this trigger
+     * are not reflected in the stream.
+     *
+     * @param from the date/time (inclusive) from which to compute the first time.
+     * @param until the date/time (exclusive) at which to stop.
+     * @return ordered stream of date/times in the time-zone of <code>from</code>.
+     * @since 3.2
+     */
+    public Stream<ZonedDateTime> runTimes(final ZonedDateTime from, final ZonedDateTime until) {
+        return runTimes(from.toEpochSecond() + (from.getNano() == 0 ? 0 : 1),
+                        until.toEpochSecond() + (until.getNano() == 0 ? 0 : 1),
+                        from.getZone())
+                .mapToObj(t -> Instant.ofEpochSecond(t).atZone(from.getZone()));
+    }
+
+    /**
+     * Returns the successive times at which the cron schedule matches, as milliseconds
+     * from the epoch of 1970-01-01T00:00:00Z, starting at or after the first specified time
+     * and ending before the second specified time. The times are computed lazily as the
+     * stream is consumed, each from the previous time rather than by searching again
+     * from the start, and without creating date/time objects.
+     * <p>
+     * The times are based solely on the cron schedule. Overrides of
+     * {@link #getNextRunTime(LastExecution, ZonedDateTime) getNextRunTime} by subclasses
+     * are not considered. Subsequent changes to the cron fields of this trigger
+     * are not reflected in the stream.
+     *
+     * @param from the time (inclusive), as milliseconds from the epoch, from which to compute the first time.
+     * @param until the time (exclusive), as milliseconds from the epoch, at which to stop.
+     *        {@link Long#MAX_VALUE} indicates that the stream ends only if the cron schedule
+     *        does not match any later time.
+     * @return ordered stream of times, as milliseconds from the epoch, which ends before
+     *         any time that is too large to represent as milliseconds.
+     * @since 3.2
+     */
+    public LongStream runTimes(final long from, final long until) {
+        return runTimes(toEpochSecond(from), toEpochSecond(until), zone).map(t -> Math.multiplyExact(t, 1000L));
+    }
+
+    /**
+     * Creates a stream of the successive times at which the cron schedule matches.
+     *
+     * @param from epoch second (inclusive) from which to compute the first time.
+     * @param end epoch second (exclusive) at which to stop.
+     * @param z time-zone in which to interpret the cron fields.
+     * @return ordered stream of epoch seconds.
+     */
+    private LongStream runTimes(final long from, final long end, final ZoneId z) {
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(fields.iterator(from, end, z),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+                false);
+    }
+
     /**
      * Returns the timezone to use for
      * {@link java.time.ZonedDateTime ZonedDateTime} that is supplied to the
@@ -240,7 +402,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger daysOfMonth(final int... d) {
-        daysOfMonth = parse("daysOfMonth", 1, 31, d);
+        fields = fields.withDaysOfMonth(parse("daysOfMonth", 1, 31, d), 0L);
         return this;
     }
 
@@ -251,7 +413,8 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger daysOfMonth(final String d) {
-        daysOfMonth = parse("daysOfMonth", 1, 31, LAST, d, CronTrigger::parseDayOfMonth);
+        long days = parse("daysOfMonth", 1, 31, LAST, null, d);
+        fields = fields.withDaysOfMonth(days & ~(-1L << LAST_DAYS_SHIFT), days >>> LAST_DAYS_SHIFT);
         return this;
     }
 
@@ -265,8 +428,11 @@ public class CronTrigger implements ZonedTrigger {
         if (d.length == 0) {
             throw new IllegalArgumentException("daysOfWeek: []");
         }
-        daysOfWeek = Arrays.stream(d).map(DayOfWeek::getValue).sorted().distinct()
-                                     .mapToInt(Integer::intValue).toArray();
+        long days = 0L;
+        for (DayOfWeek day : d) {
+            days |= 1L << day.getValue();
+        }
+        fields = fields.withDaysOfWeek(days);
         return this;
     }
 
@@ -277,7 +443,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger daysOfWeek(final String d) {
-        daysOfWeek = parse("daysOfWeek", 1, 7, 49, d, CronTrigger::parseDayOfWeek);
+        fields = fields.withDaysOfWeek(parse("daysOfWeek", 1, 7, 49, DAYS_OF_WEEK, d));
         return this;
     }
 
@@ -288,7 +454,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger hours(final int... h) {
-        hours = parse("hours", 0, 23, h);
+        fields = fields.withHours(parse("hours", 0, 23, h));
         return this;
     }
 
@@ -299,7 +465,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger hours(final String h) {
-        hours = parse("hours", 0, 23, 23, h, Integer::parseInt);
+        fields = fields.withHours(parse("hours", 0, 23, 23, null, h));
         return this;
     }
 
@@ -310,7 +476,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger minutes(final int... m) {
-        minutes = parse("minutes", 0, 59, m);
+        fields = fields.withMinutes(parse("minutes", 0, 59, m));
         return this;
     }
 
@@ -322,7 +488,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger minutes(final String m) {
-        minutes = parse("minutes", 0, 59, 59, m, Integer::parseInt);
+        fields = fields.withMinutes(parse("minutes", 0, 59, 59, null, m));
         return this;
     }
 
@@ -336,7 +502,11 @@ public class CronTrigger implements ZonedTrigger {
         if (m.length == 0) {
             throw new IllegalArgumentException("months: []");
         }
-        months = Arrays.stream(m).map(Month::getValue).sorted().distinct().mapToInt(Integer::intValue).toArray();
+        long mons = 0L;
+        for (Month month : m) {
+            mons |= 1L << month.getValue();
+        }
+        fields = fields.withMonths(mons);
         return this;
     }
 
@@ -347,7 +517,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger months(final String m) {
-        months = parse("months", 1, 12, 12, m, CronTrigger::parseMonth);
+        fields = fields.withMonths(parse("months", 1, 12, 12, MONTHS, m));
         return this;
     }
 
@@ -358,7 +528,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger seconds(final int... s) {
-        seconds = parse("seconds", 0, 59, s);
+        fields = fields.withSeconds(parse("seconds", 0, 59, s));
         return this;
     }
 
@@ -369,7 +539,7 @@ public class CronTrigger implements ZonedTrigger {
      * @return this instance.
      */
     public CronTrigger seconds(final String s) {
-        seconds = parse("seconds", 0, 59, 59, s, Integer::parseInt);
+        fields = fields.withSeconds(parse("seconds", 0, 59, 59, null, s));
         return this;
     }
 
@@ -385,49 +555,7 @@ public class CronTrigger implements ZonedTrigger {
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder("CronTrigger@").append(Integer.toHexString(hashCode()));
-        toStringBuilder(s, "seconds", seconds, 60);
-        toStringBuilder(s, "minutes", minutes, 60);
-        toStringBuilder(s, "hours", hours, 24);
-        toStringBuilder(s, "days", daysOfMonth, 31);
-        toStringBuilder(s, "months", months, 12);
-        if (daysOfWeek.length == 7 && daysOfWeek[6] == 7) {
-            s.append(" *");
-        } else {
-            for (int i = 0; i < daysOfWeek.length; i++) {
-                int d = ((daysOfWeek[i] - 1) % 7 + 1);
-                int ord = (daysOfWeek[i] - 1) / 7;
-                s.append(i == 0 ? ' ' : ',').append(DayOfWeek.of(d).name().substring(0, 3));
-                if (ord > 0) {
-                    s.append('#').append(ord == 6 ? "L" : ord);
-                }
-            }
-        }
-        return s.toString();
-    }
-
-    /**
-     * Utility method for repeated logic in toString.
-     *
-     * @param s The string builder
-     * @param label The cron expression
-     * @param list Cron expression as list
-     * @param max Max value of cron expression
-     */
-    private void toStringBuilder(final StringBuilder s, final String label, final int[] list, final int max) {
-        if (list.length == max) {
-            s.append(" *");
-        } else {
-            s.append(' ').append(label).append(' ');
-            StringBuilder l = new StringBuilder();
-            for (int i = 0; i < list.length; i++) {
-                if (list[i] < 0) {
-                    l.append(list[i] == LAST ? "L" : (-list[i] + "L")).append(',');
-                } else {
-                    s.append(list[i]).append(',');
-                }
-            }
-            s.append(l.toString());
-        }
+        return fields.appendTo(s).toString();
     }
 
     /**
@@ -437,361 +565,224 @@ public class CronTrigger implements ZonedTrigger {
      * @return next date/time according to the cron schedule, or the original time if it matches.
      */
     protected ZonedDateTime next(final ZonedDateTime from) {
-        ZonedDateTime time = from.getNano() == 0 ? from : from.plusSeconds(1).withNano(0);
-
-        for (int i = 0; i < 1000 /** just in case expression never matches */ && time != null; ++i) {
-            int year = time.getYear();
-            int monthIndex = Arrays.binarySearch(months, time.getMonthValue());
-            if (monthIndex < 0) {
-                time = nextMonth(-monthIndex - 2, year);
-            } else {
-                int dayOfMonth = time.getDayOfMonth();
-                int lastDayOfMonth = time.getMonth().length(Year.isLeap(year));
-                int dayIndex = Arrays.binarySearch(daysOfMonth, dayOfMonth);
-                int lastDayIndex = Arrays.binarySearch(daysOfMonth, dayOfMonth - lastDayOfMonth - 1);
-                if (dayIndex < 0 && lastDayIndex < 0) {
-                    time = nextDayOfMonth(-dayIndex - 2, -lastDayIndex - 2, monthIndex, year, time);
-                } else {
-                    dayIndex = dayIndex < 0 ? (-dayIndex - 2) : dayIndex;
-                    lastDayIndex = lastDayIndex < 0 ? (-lastDayIndex - 2) : lastDayIndex;
-                    int dayOfWeek = time.getDayOfWeek().getValue();
-                    int ordinalDayOfWeek = (((dayOfMonth - 1) / 7) + 1) * 7 + dayOfWeek;
-                    int dayOfLastWeek = lastDayOfMonth - dayOfMonth >= 7 ? -1 : (6 * 7 + dayOfWeek);
-
-                    if (Arrays.binarySearch(daysOfWeek, dayOfWeek) < 0 // (TUE)
-                     && Arrays.binarySearch(daysOfWeek, ordinalDayOfWeek) < 0 // (WED#3)
-                     && Arrays.binarySearch(daysOfWeek, dayOfLastWeek) < 0) { // (THU#L)
-                        time = nextDayOfMonth(dayIndex, lastDayIndex, monthIndex, year, time);
-                    } else {
-                        int hourIndex = Arrays.binarySearch(hours, time.getHour());
-                        if (hourIndex < 0) {
-                            time = nextHour(-hourIndex - 2, dayIndex, lastDayIndex, dayOfMonth, monthIndex, year, time);
-                        } else {
-                            int minuteIndex = Arrays.binarySearch(minutes, time.getMinute());
-                            if (minuteIndex < 0) {
-                                time = nextMinute(-minuteIndex - 2, hourIndex, dayIndex, lastDayIndex, dayOfMonth, monthIndex, year, time);
-                            } else {
-                                int secondIndex = Arrays.binarySearch(seconds, time.getSecond());
-                                if (secondIndex < 0) {
-                                    time = nextSecond(-secondIndex - 2, minuteIndex, hourIndex, dayIndex, lastDayIndex, dayOfMonth, monthIndex, year, time);
-                                } else {
-                                    return time;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        throw new DateTimeException("Unable to determine next time after " + from + " with " + this);
-    }
-    
-    /**
-     * Advance to next day of month.
-     *
-     * @param dayIndex index of the day in daysOfMonth[]
-     * @param lastDayIndex index of the last day of the month in daysOfMonth[]
-     * @param monthIndex index of the month in months[]
-     * @param year year
-     * @param time Date/Time
-     * @return ZonedDateTime for next month
-     */
-    private ZonedDateTime nextDayOfMonth(final int dayIndex, final int lastDayIndex, final int monthIndex,
-                                         final int year, final ZonedDateTime time) {
-        int lastDayOfMonth = Month.of(months[monthIndex]).length(Year.isLeap(year));
-        int dd = dayIndex + 1 < daysOfMonth.length ? daysOfMonth[dayIndex + 1] : 32;
-        int ld = lastDayIndex + 1 < daysOfMonth.length && daysOfMonth[lastDayIndex + 1] < 0 ? (1 + lastDayOfMonth + daysOfMonth[lastDayIndex + 1]) : 32;
-        int dayOfMonth = Math.min(dd, ld);
-        if (dayOfMonth > lastDayOfMonth) {
-            return nextMonth(monthIndex, year);
-        }
-
-        return ZonedDateTime.of(year, months[monthIndex], dayOfMonth, hours[0], minutes[0], seconds[0], 0, time.getZone());
-    }
-
-    /**
-     * Advance to next hour.
-     *
-     * @param hourIndex index of the hour in hours[]
-     * @param dayIndex index of the day in daysOfMonth[]
-     * @param lastDayIndex index of the last day of the month in daysOfMonth[]
-     * @param dayOfMonth day of month
-     * @param monthIndex index of the month in months[]
-     * @param year year
-     * @param time Date/Time
-     * @return ZonedDateTime for next hour
-     */
-    private ZonedDateTime nextHour(final int hourIndex, final int dayIndex, final int lastDayIndex, final int dayOfMonth,
-                                   final int monthIndex, final int year, final ZonedDateTime time) {
-        // Determine if the same hour can be kept due to transition from Daylight Saving Time to Standard Time:
-        if (hourIndex >= 0) {
-            ZonedDateTime dst = ZonedDateTime.of(year, months[monthIndex], dayOfMonth,
-                                                 hours[hourIndex], minutes[0], seconds[0], 0, time.getZone());
-            ZonedDateTime std = dst.plusHours(1);
-            if (dst.getHour() == std.getHour() && time.isAfter(dst) && time.isBefore(std)) {
-                return std; // Daylight Saving Time --> Standard Time
-            }
-        }
-
-        if (hourIndex + 1 < hours.length) {
-            return ZonedDateTime.of(year, months[monthIndex], dayOfMonth,
-                                    hours[hourIndex + 1], minutes[0], seconds[0], 0, time.getZone());
-        } else {
-            return nextDayOfMonth(dayIndex, lastDayIndex, monthIndex, year, time);
-        }
-    }
-
-    /**
-     * Advance to next minute.
-     *
-     * @param minuteIndex index of the minute in minutes[]
-     * @param hourIndex index of the hour in hours[]
-     * @param dayIndex index of the day in daysOfMonth[]
-     * @param lastDayIndex index of the last day of the month in daysOfMonth[]
-     * @param dayOfMonth day of month
-     * @param monthIndex index of the month in months[]
-     * @param year year
-     * @param time Date/Time
-     * @return ZonedDateTime for next second
-     */
-    private ZonedDateTime nextMinute(final int minuteIndex, final int hourIndex, final int dayIndex, final int lastDayIndex, final int dayOfMonth,
-                                     final int monthIndex, final int year, final ZonedDateTime time) {
-        if (minuteIndex + 1 < minutes.length) {
-            return time.withMinute(minutes[minuteIndex + 1]).withSecond(seconds[0]);
-        } else {
-            return nextHour(hourIndex, dayIndex, lastDayIndex, dayOfMonth, monthIndex, year, time);
+        long epochSecond = from.getNano() == 0 ? from.toEpochSecond() : from.toEpochSecond() + 1;
+        long next = fields.next(epochSecond, from.getZone());
+        if (next == CronFields.NO_MATCH) {
+            throw new DateTimeException("Unable to determine next time after " + from + " with " + this);
         }
+        return next == from.toEpochSecond() && from.getNano() == 0
+                ? from
+                : Instant.ofEpochSecond(next).atZone(from.getZone());
     }
 
     /**
-     * Advance to next month.
+     * Convert milliseconds from the epoch to seconds from the epoch, rounding up to the next second.
      *
-     * @param month the month
-     * @param year  the year
-     * @return ZonedDateTime for next month
-     */
-    private ZonedDateTime nextMonth(final int month, final int year) {
-        int dayOfMonth;
-        int lastDayOfMonth;
-        int cycles = 0;
-        int m = month;
-        int y = year;
-        do {
-            if (++m >= months.length) {
-                m = 0;
-                y++;
-            }
-            int d = 0;
-            for (int i = 0; i < daysOfMonth.length && daysOfMonth[i] < 0;) {
-                d = ++i;
-            }
-            lastDayOfMonth = Month.of(months[m]).length(Year.isLeap(y));
-            int dd = d < daysOfMonth.length && daysOfMonth[d] > 0 ? daysOfMonth[d] : 32;
-            int ld = daysOfMonth[0] < 0 ? (1 + lastDayOfMonth + daysOfMonth[0]) : 32;
-            dayOfMonth = Math.min(dd, ld);
-        } while ((dayOfMonth < 1 || dayOfMonth > lastDayOfMonth) && (++cycles < 1000));
-
-        return cycles < 1000
-                ? ZonedDateTime.of(y, months[m], dayOfMonth, hours[0], minutes[0], seconds[0], 0, zone)
-                : null; // expression never matched, for example 0 0 30 FEB *
-    }
-
-    /**
-     * Advance to next second.
-     *
-     * @param secondIndex index of the second in seconds[]
-     * @param minuteIndex index of the minute in minutes[]
-     * @param hourIndex index of the hour in hours[]
-     * @param dayIndex index of the day in daysOfMonth[]
-     * @param lastDayIndex index of the last day of the month in daysOfMonth[]
-     * @param dayOfMonth day of month
-     * @param monthIndex index of the month in months[]
-     * @param year year
-     * @param time Date/Time
-     * @return ZonedDateTime for next second
-     */
-    private ZonedDateTime nextSecond(final int secondIndex, final int minuteIndex, final int hourIndex,
-                                     final int dayIndex, final int lastDayIndex, final int dayOfMonth,
-                                     final int monthIndex, final int year, final ZonedDateTime time) {
-        if (secondIndex + 1 < seconds.length) {
-            return time.withSecond(seconds[secondIndex + 1]);
-        } else {
-            return nextMinute(minuteIndex, hourIndex, dayIndex, lastDayIndex, dayOfMonth, monthIndex, year, time);
-        }
-    }
-
-    private static final void add(final SortedSet<Integer> vals, final int start, final int end, final int increment) {
-        for (int val = start; val <= end; val += increment) {
-            vals.add(val);
-        }
+     * @param epochMilli milliseconds from the epoch.
+     * @return seconds from the epoch.
+     */
+    private static long toEpochSecond(final long epochMilli) {
+        return Math.floorDiv(epochMilli, 1000L) + (Math.floorMod(epochMilli, 1000L) == 0 ? 0 : 1);
     }
 
     /**
      * Validate that the supplied list values are within the allowed range for the cron field type.
      *
-     * @param type cron field type, such as months or hours.
+     * @param name cron field type, such as months or hours.
      * @param min  minimum allowed value
      * @param max  maximum allowed value
      * @param list supplied list of values
-     * @return sorted list of values with any duplicates removed.
+     * @return bitmask with a bit set for each value.
      */
-    private int[] parse(final String type, final int min, final int max, final int[] list) {
+    private static long parse(final String name, final int min, final int max, final int[] list) {
         if (list.length == 0) {
-            throw new IllegalArgumentException(type + ": []");
+            throw new IllegalArgumentException(name + ": []");
         }
-        SortedSet<Integer> vals = new TreeSet<Integer>();
-        for (int i = 0; i < list.length; i++) {
-            if (list[i] < min || list[i] > max) {
-                throw new IllegalArgumentException(type + ": " + list[i]);
-            } else {
-                vals.add(list[i]);
+        long mask = 0L;
+        for (int val : list) {
+            if (val < min || val > max) {
+                throw new IllegalArgumentException(name + ": " + val);
             }
+            mask |= 1L << val;
         }
-        return vals.stream().mapToInt(Integer::intValue).toArray();
+        return mask;
     }
 
     /**
-     * Validate that the supplied list values are within the allowed range for the cron field type.
+     * Parse the cron field in a single pass over its characters, validating that the values
+     * are within the allowed range for the cron field type.
      *
      * @param name   cron field type, such as months or hours.
      * @param min    minimum allowed normal value
      * @param max    maximum allowed normal value
      * @param maxExt maximum allowed special value (L or SUN#L), or max if no special values allowed for this field.
+     * @param names  names of the values starting from 1, such as {@link #MONTHS}, or null if only numeric.
      * @param field  the field's cron expression
-     * @param parser parser function, such as Integer::parseInt or CronTrigger::parseMonth
-     * @return sorted list of values with any duplicates removed.
+     * @return bitmask with a bit set for each value. Days from the end of the month (L, 2L, ...)
+     *         are offset by {@link #LAST_DAYS_SHIFT}.
      */
-    private int[] parse(final String name, final int min, final int max, final int maxExt,
-                        final String field, final Function<String, Integer> parser) {
+    private static long parse(final String name, final int min, final int max, final int maxExt,
+                              final String[] names, final String field) {
         if (field == null || field.length() == 0) {
             throw new IllegalArgumentException(name + ": []");
         }
 
-        SortedSet<Integer> vals = new TreeSet<Integer>();
-        for (String f : field.split(",")) {
-            try {
-                if ("*".equals(f) || "?".equals(f)) { // all values
-                    add(vals, min, max, 1);
+        long mask = 0L;
+        int length = field.length();
+        for (int start = 0, end; start < length; start = end + 1) {
+            end = field.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (start == end) { // empty element, which is ignored only when trailing
+                while (end < length && field.charAt(end) == ',') {
+                    end++;
+                }
+                if (end < length) {
+                    throw new IllegalArgumentException(name + ": " + field);
+                }
+                break;
+            }
+            char first = field.charAt(start);
+            if (end - start == 1 && (first == '*' || first == '?')) { // all values
+                mask |= range(min, max, 1);
+            } else {
+                int slash = field.indexOf('/', start + 1, end);
+                if (slash > 0 && slash < end - 1) { // increment
+                    int val1 = slash == start + 1 && first == '*' ? min : parse(name, maxExt, names, field, start, slash);
+                    int increment = parse(name, maxExt, names, field, slash + 1, end);
+                    if (val1 < min || val1 > max || increment < 1 || maxExt > max /* dayOfWeek */) {
+                        throw new IllegalArgumentException(name + ": " + field.substring(start, end));
+                    }
+                    mask |= range(val1, max, increment);
                 } else {
-                    int slash = f.indexOf('/', 1);
-                    if (slash > 0 && slash < f.length() - 1) { // increment
-                        int val1 = slash == 1 && f.charAt(0) == '*' ? min : parser.apply(f.substring(0, slash));
-                        int increment = parser.apply(f.substring(slash + 1));
-                        if (val1 < min || val1 > max || increment < 1 || maxExt > max /* dayOfWeek */) {
-                            throw new IllegalArgumentException(name + ": " + f);
+                    int dash = field.indexOf('-', start + 1, end);
+                    if (dash > 0 && dash < end - 1) { // range
+                        int val1 = parse(name, maxExt, names, field, start, dash);
+                        int val2 = dash == end - 2 && field.charAt(end - 1) == 'L'
+                                ? max
+                                : parse(name, maxExt, names, field, dash + 1, end);
+                        if (val1 < min || val1 > max || val2 < min || val2 > max) {
+                            throw new IllegalArgumentException(name + ": " + field.substring(start, end));
+                        }
+                        if (val2 >= val1) {
+                            mask |= range(val1, val2, 1);
+                        } else { // wrap around (eg. OCT-MAY)
+                            mask |= range(val1, max, 1) | range(min, val2, 1);
                         }
-                        add(vals, val1, max, increment);
-                    } else {
-                        int dash = f.indexOf('-', 1);
-                        if (dash > 0 && dash < f.length() - 1) { // range
-                            int val1 = parser.apply(f.substring(0, dash));
-                            String end = f.substring(dash + 1);
-                            int val2 = "L".equals(end) ? max : parser.apply(end);
-                            if (val1 < min || val1 > max || val2 < min || val2 > max) {
-                                throw new IllegalArgumentException(name + ": " + f);
-                            }
-                            if (val2 >= val1) {
-                                add(vals, val1, val2, 1);
-                            } else { // wrap around (eg. OCT-MAY)
-                                add(vals, val1, max, 1);
-                                add(vals, min, val2, 1);
-                            }
-                        } else { // single value
-                            int val = parser.apply(f);
-                            if ((val < min || val > maxExt) && maxExt != LAST) {
-                                throw new IllegalArgumentException(name + ": " + f);
-                            }
-                            vals.add(val);
+                    } else { // single value
+                        int val = parse(name, maxExt, names, field, start, end);
+                        if ((val < min || val > maxExt) && maxExt != LAST) {
+                            throw new IllegalArgumentException(name + ": " + field.substring(start, end));
                         }
+                        mask |= val < 0 ? 1L << (LAST_DAYS_SHIFT - val) : 1L << val;
                     }
                 }
-            } catch (NumberFormatException x) {
-                throw new IllegalArgumentException(name + ": " + f, x);
             }
         }
-        return vals.stream().mapToInt(Integer::intValue).toArray();
+        return mask;
     }
 
     /**
-     * Convert dayOfMonth value to 1-31, or negative for days from the end of the month
-     * For example, L is the last day (-1) and 2L is the second to last day (-2).
-     * @param day name of day of month
-     * @return integer representation of day of month
-     * @throws IllegalArgumentException
+     * Parse a single value from within a cron field.
+     * Days of the month are 1-31, or negative for days from the end of the month,
+     * such that L is the last day (-1) and 2L is the second to last day (-2).
+     * Days of the week are 1-49 where the first 7 are standard week days,
+     * the next 35 are ordinal 1st-5th of each day, and the final 7 are ordinal last for each day.
+     *
+     * @param name   cron field type, such as months or hours.
+     * @param maxExt maximum allowed special value, which is LAST for dayOfMonth.
+     * @param names  names of the values starting from 1, or null if only numeric.
+     * @param field  the field's cron expression
+     * @param begin  index of the first character of the value.
+     * @param end    index after the last character of the value.
+     * @return integer representation of the value.
+     * @throws IllegalArgumentException if the value is not valid.
      */
-    private static int parseDayOfMonth(final String day) throws IllegalArgumentException {
-        try {
-            if (day.charAt(day.length() - 1) == 'L') {
-                int d = day.length() == 1 ? LAST : -Integer.parseInt(day.substring(0, day.length() - 1));
-                if (d > -1 || d < -31) {
-                    throw new IllegalArgumentException("dayOfMonth: " + day);
+    private static int parse(final String name, final int maxExt, final String[] names,
+                             final String field, final int begin, final int end) throws IllegalArgumentException {
+        if (maxExt == LAST && field.charAt(end - 1) == 'L') {
+            int d = end - begin == 1 ? 1 : parseInt(name, field, begin, end - 1);
+            if (d < 1 || d > 31) {
+                throw new IllegalArgumentException(name + ": " + field.substring(begin, end));
+            }
+            return -d;
+        } else if (names == null) {
+            int val = parseInt(name, field, begin, end);
+            if (maxExt == LAST && (val < 1 || val > 31)) {
+                throw new IllegalArgumentException(name + ": " + field.substring(begin, end));
+            }
+            return val;
+        }
+
+        int ordinal = 0;
+        int last = end;
+        int n = names == DAYS_OF_WEEK ? field.indexOf('#', begin + 1, end) : -1;
+        if (n > 0) { // ordinal day of week within month (TUE#2 for second Tuesday)
+            ordinal = n == end - 2 && field.charAt(end - 1) == 'L' ? 6 : parseInt(name, field, n + 1, end);
+            if (ordinal < 1 || ordinal > 6) {
+                throw new IllegalArgumentException(name + ": " + field.substring(begin, end));
+            }
+            last = n;
+        }
+
+        int val;
+        if (last - begin < 3) {
+            val = parseInt(name, field, begin, last);
+            if (names == DAYS_OF_WEEK) {
+                if (val < 0 || val > 7) {
+                    throw new IllegalArgumentException(name + ": " + field.substring(begin, end));
                 }
-                return d;
-            } else {
-                int d = Integer.parseInt(day);
-                if (d < 1 || d > 31) {
-                    throw new IllegalArgumentException("dayOfMonth: " + day);
+                val = val == 0 ? 7 : val;
+            }
+        } else {
+            val = 0;
+            int length = last - begin;
+            for (int i = 0; i < names.length && val == 0; i++) {
+                if ((length == 3 || length == names[i].length())
+                        && field.regionMatches(true, begin, names[i], 0, length)) {
+                    val = i + 1;
                 }
-                return d;
             }
-        } catch (NumberFormatException x) {
-            throw new IllegalArgumentException("dayOfMonth: " + day, x);
+            if (val == 0) {
+                throw new IllegalArgumentException(name + ": " + field.substring(begin, end));
+            }
         }
+        return 7 * ordinal + val;
     }
 
     /**
-     * Convert dayOfWeek value to 1-49 where first 7 are standard week days,
-     * next 35 are ordinal 1st-5th of each day, and final 7 are ordinal last for each day.
+     * Parse a decimal integer from within a cron field.
      *
-     * @param dayName name of day of the week
-     * @return integer representation of day of week
-     * @throws IllegalArgumentException
+     * @param name  cron field type, such as months or hours.
+     * @param field the field's cron expression
+     * @param begin index of the first character of the integer.
+     * @param end   index after the last character of the integer.
+     * @return the integer.
+     * @throws IllegalArgumentException if not a valid integer.
      */
-    private static int parseDayOfWeek(final String dayName) throws IllegalArgumentException {
-        String day = dayName;
-        int ordinal = 0;
-        int n = day.indexOf('#'); // ordinal day of week within month (TUE#2 for second Tuesday)
+    private static int parseInt(final String name, final String field,
+                                final int begin, final int end) throws IllegalArgumentException {
         try {
-            if (n > 0) {
-                ordinal = day.charAt(n + 1) == 'L' ? 6 : Integer.parseInt(day.substring(n + 1));
-                if (ordinal < 1 || ordinal > 6) {
-                    throw new IllegalArgumentException("dayOfWeek: " + day);
-                }
-                day = day.substring(0, n);
-            }
-            if (day.length() < 3) {
-                int d = Integer.parseInt(day);
-                return d == 0 ? 7 : d;
-            }
+            return Integer.parseInt(field, begin, end, 10);
         } catch (NumberFormatException x) {
-            throw new IllegalArgumentException("dayOfWeek: " + day, x);
-        }
-        day = day.toUpperCase();
-        Integer d = DAYS_OF_WEEK.get(day);
-        if (d == null) {
-            d = DayOfWeek.valueOf(day).getValue();
+            throw new IllegalArgumentException(name + ": " + field.substring(begin, end), x);
         }
-        return 7 * ordinal + d;
     }
 
     /**
-     * Convert month value to 1-12.
+     * Bitmask of values from start to end, inclusive, at the specified increment.
      *
-     * @param monthName name of month (January)
-     * @return integer representation of month
-     * @throws IllegalArgumentException
-     */
-    private static int parseMonth(final String monthName) throws IllegalArgumentException {
-        String month = monthName;
-        if (month.length() < 3) {
-            try {
-                return Integer.parseInt(month);
-            } catch (NumberFormatException x) {
-                throw new IllegalArgumentException("month: " + month, x);
-            }
+     * @param start     first value.
+     * @param end       last value, which is no greater than 63.
+     * @param increment positive increment between values.
+     * @return bitmask with a bit set for each value.
+     */
+    private static long range(final int start, final int end, final int increment) {
+        long mask = 0L;
+        for (long val = start; val <= end; val += increment) {
+            mask |= 1L << val;
         }
-        month = month.toUpperCase();
-        Integer m = MONTHS.get(month);
-        return m == null ? Month.valueOf(month).getValue() : m;
+        return mask;
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * CapturedContext that applies context with an executor from
+ * {@link ContextService#currentContextExecutor()}, which runs tasks inline.
+ */
+final class ExecutorCapturedContext implements CapturedContext {
+    private final Executor executor;
+
+    ExecutorCapturedContext(final Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public <R> R call(final Callable<R> callable) throws Exception {
+        Invocation<R> invocation = new Invocation<R>(callable);
+        executor.execute(invocation);
+        if (invocation.failure != null) {
+            throw invocation.failure;
+        }
+        return invocation.result;
+    }
+
+    @Override
+    public void run(final Runnable runnable) {
+        executor.execute(runnable::run);
+    }
+
+    /**
+     * Runs a Callable, retaining its result or exception.
+     *
+     * @param <R> result type.
+     */
+    private static final class Invocation<R> implements Runnable {
+        private final Callable<R> callable;
+        private R result;
+        private Exception failure;
+
+        private Invocation(final Callable<R> callable) {
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result = callable.call();
+            } catch (Exception x) {
+                failure = x;
+            }
+        }
+    }
+}
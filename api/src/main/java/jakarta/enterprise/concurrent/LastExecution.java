@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,6 +19,7 @@ package jakarta.enterprise.concurrent;
 
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Date;
 
 /**
@@ -121,4 +123,57 @@ public interface LastExecution {
     * @since 3.0
     */
    public ZonedDateTime getRunEnd(ZoneId zone);
+
+   /**
+    * The time at which the most recent execution of the task was expected
+    * to start, per its schedule, as milliseconds from the epoch of
+    * 1970-01-01T00:00:00Z.
+    * <p>
+    * This method allows a {@link ZonedTrigger} to compute the next run time
+    * without obtaining a <code>ZonedDateTime</code>. Implementations that
+    * record times as primitive values should override this method.
+    * The default implementation delegates to the method signature that
+    * accepts a <code>ZoneId</code>.
+    *
+    * @return the time at which the most recent execution of the task was
+    *         expected to start, as milliseconds from the epoch.
+    * @since 3.2
+    */
+   public default long getScheduledStartEpochMilli() {
+       return getScheduledStart(ZoneOffset.UTC).toInstant().toEpochMilli();
+   }
+
+   /**
+    * The time at which the most recent execution of the task started running,
+    * as milliseconds from the epoch of 1970-01-01T00:00:00Z.
+    * <p>
+    * The default implementation delegates to the method signature that
+    * accepts a <code>ZoneId</code>.
+    *
+    * @return the time at which the most recent execution of the task started
+    *         running, as milliseconds from the epoch, or {@link Long#MIN_VALUE}
+    *         if the task was canceled before it was started.
+    * @since 3.2
+    */
+   public default long getRunStartEpochMilli() {
+       ZonedDateTime runStart = getRunStart(ZoneOffset.UTC);
+       return runStart == null ? Long.MIN_VALUE : runStart.toInstant().toEpochMilli();
+   }
+
+   /**
+    * The time at which the most recent execution of the task completed running,
+    * as milliseconds from the epoch of 1970-01-01T00:00:00Z.
+    * <p>
+    * The default implementation delegates to the method signature that
+    * accepts a <code>ZoneId</code>.
+    *
+    * @return the time at which the most recent execution of the task completed,
+    *         as milliseconds from the epoch, or {@link Long#MIN_VALUE}
+    *         if the task was canceled before it was completed.
+    * @since 3.2
+    */
+   public default long getRunEndEpochMilli() {
+       ZonedDateTime runEnd = getRunEnd(ZoneOffset.UTC);
+       return runEnd == null ? Long.MIN_VALUE : runEnd.toInstant().toEpochMilli();
+   }
 }
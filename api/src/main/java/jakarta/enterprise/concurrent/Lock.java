@@ -45,9 +45,15 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * If neither the bean method nor the bean class are annotated {@code Lock},
  * then invocation of the method does not require a lock to be obtained.</p>
  *
+ * <p>A bean method can designate one of its parameters as a {@link LockKey},
+ * in which case the lock is obtained per key rather than for the entire
+ * bean instance.</p>
+ *
  * <p>The Jakarta EE Product Provider must assign the {@code @Lock} interceptor
  * a priority of {@link jakarta.interceptor.Interceptor.Priority#PLATFORM_BEFORE}
- * {@code + 100}.</p>
+ * {@code + 100}. The interceptor can delegate to a
+ * {@link jakarta.enterprise.concurrent.spi.LockEngine LockEngine} for each
+ * bean instance.</p>
  *
  * @since 3.2
  */
@@ -58,7 +64,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public @interface Lock {
 
     /**
-     * Designates the type of lock to be {@link READ} or {@link WRITE}.
+     * Designates the type of lock to be {@link READ}, {@link WRITE},
+     * or {@link OPTIMISTIC_READ}.
      */
     enum Type {
         /**
@@ -82,7 +89,30 @@ public @interface Lock {
          * under the same lock rather than acquiring an additional lock on
          * the bean.
          */
-        WRITE
+        WRITE,
+
+        /**
+         * For read-only operations that are idempotent. The bean method
+         * runs without obtaining a lock, unless a thread currently holds a
+         * <code>WRITE</code> lock on the bean. If a <code>WRITE</code> lock is
+         * obtained on the bean while the bean method runs, the result of the
+         * bean method, including any exception that it raises, is discarded,
+         * and the bean method runs again under a <code>READ</code> lock.
+         * <p>
+         * Because the bean method can observe the state of the bean while it
+         * is being written, the bean method must tolerate inconsistent state,
+         * must not have side effects, and must not wait for other threads.
+         * Read-dominant beans with short read methods benefit the most, because
+         * concurrent invocations of <code>OPTIMISTIC_READ</code> methods do not
+         * contend with each other.
+         * <p>
+         * A thread that already holds a {@code READ} or {@code WRITE} lock
+         * on the bean runs an {@code OPTIMISTIC_READ} method under that lock.
+         * A thread that is running an {@code OPTIMISTIC_READ} method does not
+         * upgrade to a {@code WRITE} lock on the bean. Instead, the bean method
+         * raises {@link IllegalStateException} to the caller.
+         */
+        OPTIMISTIC_READ
     }
 
     /**
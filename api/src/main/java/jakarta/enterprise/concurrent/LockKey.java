@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>Designates a parameter of a {@link Lock} method as the key under which
+ * to obtain the lock, such that invocations with keys that are not equal
+ * can proceed in parallel, even when one or more of them require a
+ * {@linkplain Lock.Type#WRITE WRITE} lock.</p>
+ *
+ * <p>For example, in a bean that caches values,</p>
+ * <pre>
+ * &#64;ApplicationScoped
+ * &#64;Lock(type = Lock.Type.READ)
+ * public class PriceCache {
+ *     &#64;Lock(type = Lock.Type.WRITE, accessTimeout = 5)
+ *     public void refresh(&#64;LockKey String sku) {
+ *         ...
+ *     }
+ *
+ *     public Price lookup(&#64;LockKey String sku) {
+ *         ...
+ *     }
+ *
+ *     &#64;Lock(type = Lock.Type.WRITE)
+ *     public void clear() {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Invocations of {@code refresh} for different SKUs run in parallel,
+ * whereas an invocation of {@code refresh} excludes invocations of {@code refresh}
+ * and {@code lookup} for the same SKU. The {@code clear} method, which has no key,
+ * obtains the lock for the entire bean instance, excluding all other invocations.
+ * Invocations with a key hold the lock for the entire bean instance in
+ * {@linkplain Lock.Type#READ shared} mode in addition to the lock for the key.</p>
+ *
+ * <p>Keys are assigned to a fixed number of stripes by their {@code hashCode},
+ * such that keys that are not equal might share a stripe and exclude each other.
+ * The {@link Lock#accessTimeout() accessTimeout} applies to obtaining the lock for
+ * the key. If it is not obtained in time, {@link LockTimeoutException} is raised.
+ * The rules for invoking methods of the bean from methods of the bean apply per stripe:
+ * a thread that holds a {@code WRITE} lock for a key runs under that lock when it
+ * invokes a bean method for a key of the same stripe, and a thread that holds a
+ * {@code READ} lock for a key cannot upgrade to a {@code WRITE} lock for a key of the
+ * same stripe, which raises {@link IllegalStateException}. Because keys that are not
+ * equal can share a stripe, a method that holds a {@code READ} lock for a key should
+ * not invoke a {@code WRITE} method of the bean for a different key.</p>
+ *
+ * <p>At most one parameter of a method can be annotated {@code LockKey}.
+ * The annotation has no effect on methods that do not require a lock.</p>
+ *
+ * @since 3.2
+ */
+@Documented
+@Target(PARAMETER)
+@Retention(RUNTIME)
+public @interface LockKey {
+
+    /**
+     * Default number of stripes.
+     */
+    int DEFAULT_STRIPES = 64;
+
+    /**
+     * <p>The number of stripes among which to distribute keys.
+     * A larger number permits more parallelism at the cost of
+     * memory for each bean instance.</p>
+     *
+     * <p>Invocations for all methods of the bean instance share the same
+     * stripes. If methods of the bean specify different values, the Jakarta EE
+     * Product Provider uses the largest. The Jakarta EE Product Provider
+     * may round up the number of stripes, such as to a power of 2.</p>
+     *
+     * @return the number of stripes.
+     */
+    int stripes() default DEFAULT_STRIPES;
+}
@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -407,4 +408,31 @@ public interface ManagedExecutorService extends ExecutorService {
      * @since 3.0
      */
     <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier);
+
+    /**
+     * <p>Returns a new {@link ManagedTaskScope} that is owned by the current thread
+     * and runs its subtasks on this executor, with the thread context that this
+     * executor propagates to tasks that are submitted to it.</p>
+     *
+     * <p>For example, to fan out a request to several services and stop waiting,
+     * cancelling the others, as soon as one of them fails,</p>
+     *
+     * <pre>
+     * try (ManagedTaskScope&lt;Object&gt; scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_FAILURE)) {
+     *     Future&lt;Object&gt; account = scope.fork(() -&gt; accounts.find(id));
+     *     Future&lt;Object&gt; orders = scope.fork(() -&gt; orderHistory.find(id));
+     *     scope.join().throwIfFailed();
+     *     return new Summary(account.resultNow(), orders.resultNow());
+     * }
+     * </pre>
+     *
+     * @param <T> result type of the subtasks.
+     * @param policy determines whether the scope shuts down upon the first subtask
+     *               to fail or the first subtask to succeed.
+     * @return the new task scope, which must be closed by the current thread.
+     * @since 3.2
+     */
+    default <T> ManagedTaskScope<T> newTaskScope(final ManagedTaskScope.Policy policy) {
+        return new ManagedTaskScope<T>(this, policy);
+    }
 }
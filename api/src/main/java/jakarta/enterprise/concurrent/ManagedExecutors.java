@@ -17,9 +17,19 @@
 
 package jakarta.enterprise.concurrent;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Utility methods for classes defined in this package.
@@ -109,6 +119,9 @@ public final class ManagedExecutors {
      * specified in both.
      * After the method is called, further changes to the {@code Map}
      * object will not be reflected in the {@code Runnable} returned by this method.
+     * A {@code Map} that is obtained from {@code Map.of} or {@code Map.copyOf}, or from the
+     * execution properties of another task that is returned by this method, is not copied.
+     * The execution properties of the {@code Runnable} returned by this method are unmodifiable.
      * @return a Runnable object
      * @throws IllegalArgumentException if {@code task} is {@code null}
      */
@@ -166,6 +179,9 @@ public final class ManagedExecutors {
      * specified in both.
      * After the method is called, further changes to the {@code Map}
      * object will not be reflected in the {@code Callable} returned by this method.
+     * A {@code Map} that is obtained from {@code Map.of} or {@code Map.copyOf}, or from the
+     * execution properties of another task that is returned by this method, is not copied.
+     * The execution properties of the {@code Callable} returned by this method are unmodifiable.
      * @return a Callable object
      * @throws IllegalArgumentException if {@code task} is {@code null}
      */
@@ -177,7 +193,397 @@ public final class ManagedExecutors {
         }
         return new CallableAdapter(task, executionProperties, taskListener);
     }
-    
+
+    /**
+     * Returns a {@link ManagedTaskListener} that notifies each of the specified
+     * listeners in turn. Composite listeners among the specified listeners are
+     * flattened, and listeners that extend {@link ListenerAdapter} are not notified
+     * of events for which they rely on its implementation, which does nothing.
+     * An exception that is raised by one listener does not prevent notification of
+     * the others, and is raised after all listeners are notified, with exceptions
+     * from subsequent listeners added as {@linkplain Throwable#getSuppressed() suppressed}.
+     * <p>
+     * Example:
+     * <pre>
+     * Runnable task = ManagedExecutors.managedTask(runnable,
+     *     ManagedExecutors.listeners(metricsListener, tracingListener, auditListener));
+     * </pre>
+     *
+     * @param taskListeners the listeners, of which {@code null} elements are ignored.
+     * @return a listener that notifies each of the listeners, or the listener itself if
+     * only one is specified, or {@code null} if none are specified.
+     * @since 3.2
+     */
+    public static ManagedTaskListener listeners(final ManagedTaskListener... taskListeners) {
+        List<ManagedTaskListener> flattened = new ArrayList<ManagedTaskListener>(taskListeners.length);
+        for (ManagedTaskListener listener : taskListeners) {
+            if (listener instanceof CompositeListener) {
+                Collections.addAll(flattened, ((CompositeListener) listener).listeners);
+            } else if (listener != null) {
+                flattened.add(listener);
+            }
+        }
+        if (flattened.size() <= 1) {
+            return flattened.isEmpty() ? null : flattened.get(0);
+        }
+        return new CompositeListener(flattened.toArray(new ManagedTaskListener[flattened.size()]));
+    }
+
+    /**
+     * Returns a {@link ManagedTaskListener} that delivers notifications to the
+     * specified listener on a dedicated thread, in batches, rather than on the
+     * threads that submit and run tasks. Notifications are written to a bounded,
+     * lock-free buffer without allocating objects.
+     * <p>
+     * Example:
+     * <pre>
+     * AsyncManagedTaskListener auditListener = ManagedExecutors.asyncListener(
+     *     new AuditListener(), 4096, AsyncManagedTaskListener.Overflow.DISCARD, managedThreadFactory);
+     * ...
+     * executor.submit(ManagedExecutors.managedTask(task, auditListener));
+     * ...
+     * auditListener.close();
+     * </pre>
+     *
+     * @param taskListener  the {@code ManagedTaskListener} to which to deliver notifications.
+     * @param capacity      number of notifications that the buffer can hold,
+     *                      which is rounded up to a power of 2 that is at least 2.
+     * @param overflow      policy for notifications that occur when the buffer is full.
+     * @param threadFactory creates the dedicated thread, such as a {@link ManagedThreadFactory}.
+     * @return a listener that must be closed when no longer needed to stop the dedicated thread.
+     * @throws IllegalArgumentException if the capacity is less than 1 or greater than 2<sup>30</sup>,
+     * or if any other argument is {@code null}.
+     * @throws IllegalStateException if the thread factory does not create a thread.
+     * @since 3.2
+     */
+    public static AsyncManagedTaskListener asyncListener(final ManagedTaskListener taskListener, final int capacity,
+                                                         final AsyncManagedTaskListener.Overflow overflow,
+                                                         final ThreadFactory threadFactory) {
+        if (taskListener == null || overflow == null || threadFactory == null) {
+            throw new IllegalArgumentException(taskListener == null ? "taskListener"
+                    : overflow == null ? "overflow" : "threadFactory");
+        }
+        return new AsyncManagedTaskListener(taskListener, capacity, overflow, threadFactory);
+    }
+
+    /**
+     * Returns a reusable {@link Template} that associates the same execution
+     * properties and {@link ManagedTaskListener} with each task that it wraps,
+     * as {@link #managedTask(Runnable, Map, ManagedTaskListener) managedTask} does.
+     * The execution properties are snapshotted and resolved once, when the template
+     * is created, such that wrapping each task requires only a single small allocation,
+     * and the typed accessors of each {@link ManagedTask}, such as
+     * {@link ManagedTask#isLongRunning()}, return the resolved values.
+     * <p>
+     * Example:
+     * <pre>
+     * ManagedExecutors.Template orderTasks = ManagedExecutors.template(
+     *     Map.of(ManagedTask.IDENTITY_NAME, "order-processing"), orderListener);
+     * ...
+     * for (Order order : orders)
+     *     executor.submit(orderTasks.managedTask(() -&gt; process(order)));
+     * </pre>
+     *
+     * @param executionProperties (optional) execution properties to provide additional hints
+     * to {@link ManagedExecutorService} or {@link ManagedScheduledExecutorService}
+     * when tasks are submitted.
+     * After the method is called, further changes to the {@code Map}
+     * object will not be reflected in the template.
+     * @param taskListener (optional) the {@code ManagedTaskListener} to receive
+     * lifecycle events notification when tasks are submitted.
+     * @return a reusable template.
+     * @throws IllegalArgumentException if the {@link ManagedTask#TRANSACTION} execution
+     * property has a value that is not valid.
+     * @since 3.2
+     */
+    public static Template template(final Map<String, String> executionProperties,
+                                    final ManagedTaskListener taskListener) {
+        return new Template(executionProperties, taskListener);
+    }
+
+    /**
+     * A {@link ManagedTaskListener} with methods that do nothing, which listeners can extend
+     * to implement only the methods for the events that they handle.
+     * {@link ManagedExecutors#listeners(ManagedTaskListener...) ManagedExecutors.listeners}
+     * does not notify a listener of the events for which it relies on these methods.
+     *
+     * @since 3.2
+     */
+    public abstract static class ListenerAdapter implements ManagedTaskListener {
+        /**
+         * Constructor for subclasses.
+         */
+        protected ListenerAdapter() {
+        }
+
+        @Override
+        public void taskSubmitted(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+        }
+
+        @Override
+        public void taskAborted(final Future<?> future, final ManagedExecutorService executor, final Object task,
+                                final Throwable exception) {
+        }
+
+        @Override
+        public void taskDone(final Future<?> future, final ManagedExecutorService executor, final Object task,
+                             final Throwable exception) {
+        }
+
+        @Override
+        public void taskStarting(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+        }
+    }
+
+    /**
+     * Reusable combination of execution properties and {@link ManagedTaskListener}
+     * that wraps tasks as {@link ManagedTask}. Obtain instances from
+     * {@link ManagedExecutors#template(Map, ManagedTaskListener) ManagedExecutors.template}.
+     * Templates are immutable and can be shared across threads.
+     *
+     * @since 3.2
+     */
+    public static final class Template {
+        private final Map<String, String> executionProperties;
+        private final ManagedTaskListener taskListener;
+        private final String identityName;
+        private final boolean longRunning;
+        private final ManagedTask.TransactionMode transactionMode;
+
+        private Template(final Map<String, String> executionProperties, final ManagedTaskListener taskListener) {
+            this.executionProperties = Adapter.unmodifiable(executionProperties);
+            this.taskListener = taskListener;
+            Map<String, String> props = this.executionProperties == null ? Map.of() : this.executionProperties;
+            identityName = props.get(ManagedTask.IDENTITY_NAME);
+            longRunning = Boolean.parseBoolean(props.get(ManagedTask.LONGRUNNING_HINT));
+            transactionMode = ManagedTask.TransactionMode.of(props.get(ManagedTask.TRANSACTION));
+        }
+
+        /**
+         * Returns the execution properties of the template.
+         *
+         * @return unmodifiable execution properties, or null if none were supplied.
+         */
+        public Map<String, String> getExecutionProperties() {
+            return executionProperties;
+        }
+
+        /**
+         * Returns the value of the {@link ManagedTask#IDENTITY_NAME} execution property.
+         *
+         * @return the identity name, or null if not specified.
+         */
+        public String getIdentityName() {
+            return identityName;
+        }
+
+        /**
+         * Returns the {@code ManagedTaskListener} of the template.
+         *
+         * @return the {@code ManagedTaskListener}, or null if none was supplied.
+         */
+        public ManagedTaskListener getManagedTaskListener() {
+            return taskListener;
+        }
+
+        /**
+         * Returns the value of the {@link ManagedTask#TRANSACTION} execution property.
+         *
+         * @return the transaction mode, which defaults to {@link ManagedTask.TransactionMode#SUSPEND}.
+         */
+        public ManagedTask.TransactionMode getTransactionMode() {
+            return transactionMode;
+        }
+
+        /**
+         * Returns the value of the {@link ManagedTask#LONGRUNNING_HINT} execution property.
+         *
+         * @return true if the hint is "true", ignoring case, otherwise false.
+         */
+        public boolean isLongRunning() {
+            return longRunning;
+        }
+
+        /**
+         * Returns a {@link Runnable} that also implements {@link ManagedTask},
+         * with the execution properties and {@code ManagedTaskListener} of the template.
+         * If {@code task} implements {@code ManagedTask}, the result is the same as for
+         * {@link ManagedExecutors#managedTask(Runnable, Map, ManagedTaskListener) managedTask}.
+         *
+         * @param task the task.
+         * @return a Runnable object
+         * @throws IllegalArgumentException if {@code task} is {@code null}
+         */
+        public Runnable managedTask(final Runnable task) {
+            if (task == null) {
+                throw new IllegalArgumentException(NULL_TASK_ERROR_MSG);
+            }
+            return task instanceof ManagedTask
+                    ? new RunnableAdapter(task, executionProperties, taskListener)
+                    : new RunnableAdapter(task, this);
+        }
+
+        /**
+         * Returns a {@link Callable} that also implements {@link ManagedTask},
+         * with the execution properties and {@code ManagedTaskListener} of the template.
+         * If {@code task} implements {@code ManagedTask}, the result is the same as for
+         * {@link ManagedExecutors#managedTask(Callable, Map, ManagedTaskListener) managedTask}.
+         *
+         * @param <V> the return type of the Callable
+         * @param task the task.
+         * @return a Callable object
+         * @throws IllegalArgumentException if {@code task} is {@code null}
+         */
+        public <V> Callable<V> managedTask(final Callable<V> task) {
+            if (task == null) {
+                throw new IllegalArgumentException(NULL_TASK_ERROR_MSG);
+            }
+            return task instanceof ManagedTask
+                    ? new CallableAdapter<V>(task, executionProperties, taskListener)
+                    : new CallableAdapter<V>(task, this);
+        }
+    }
+
+    /**
+     * ManagedTaskListener that notifies multiple listeners, skipping those that
+     * inherit a method from ListenerAdapter.
+     */
+    static final class CompositeListener implements ManagedTaskListener {
+
+        private final ManagedTaskListener[] listeners;
+        private final ManagedTaskListener[] submitted;
+        private final ManagedTaskListener[] starting;
+        private final ManagedTaskListener[] aborted;
+        private final ManagedTaskListener[] done;
+
+        CompositeListener(final ManagedTaskListener[] listeners) {
+            this.listeners = listeners;
+            submitted = implementing(listeners, "taskSubmitted",
+                                     Future.class, ManagedExecutorService.class, Object.class);
+            starting = implementing(listeners, "taskStarting",
+                                    Future.class, ManagedExecutorService.class, Object.class);
+            aborted = implementing(listeners, "taskAborted",
+                                   Future.class, ManagedExecutorService.class, Object.class, Throwable.class);
+            done = implementing(listeners, "taskDone",
+                                Future.class, ManagedExecutorService.class, Object.class, Throwable.class);
+        }
+
+        @Override
+        public void taskSubmitted(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+            Throwable failure = null;
+            for (ManagedTaskListener listener : submitted) {
+                try {
+                    listener.taskSubmitted(future, executor, task);
+                } catch (RuntimeException | Error x) {
+                    failure = failure(failure, x);
+                }
+            }
+            if (failure != null) {
+                raise(failure);
+            }
+        }
+
+        @Override
+        public void taskAborted(final Future<?> future, final ManagedExecutorService executor, final Object task,
+                                final Throwable exception) {
+            Throwable failure = null;
+            for (ManagedTaskListener listener : aborted) {
+                try {
+                    listener.taskAborted(future, executor, task, exception);
+                } catch (RuntimeException | Error x) {
+                    failure = failure(failure, x);
+                }
+            }
+            if (failure != null) {
+                raise(failure);
+            }
+        }
+
+        @Override
+        public void taskDone(final Future<?> future, final ManagedExecutorService executor, final Object task,
+                             final Throwable exception) {
+            Throwable failure = null;
+            for (ManagedTaskListener listener : done) {
+                try {
+                    listener.taskDone(future, executor, task, exception);
+                } catch (RuntimeException | Error x) {
+                    failure = failure(failure, x);
+                }
+            }
+            if (failure != null) {
+                raise(failure);
+            }
+        }
+
+        @Override
+        public void taskStarting(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+            Throwable failure = null;
+            for (ManagedTaskListener listener : starting) {
+                try {
+                    listener.taskStarting(future, executor, task);
+                } catch (RuntimeException | Error x) {
+                    failure = failure(failure, x);
+                }
+            }
+            if (failure != null) {
+                raise(failure);
+            }
+        }
+
+        /**
+         * Records a failure of a listener.
+         *
+         * @param first the first failure, or null if none.
+         * @param x     the failure.
+         * @return the first failure, to which subsequent failures are added as suppressed.
+         */
+        private static Throwable failure(final Throwable first, final Throwable x) {
+            if (first == null) {
+                return x;
+            }
+            first.addSuppressed(x);
+            return first;
+        }
+
+        /**
+         * Raises the first failure of a listener after all listeners are notified.
+         *
+         * @param failure a RuntimeException or Error.
+         */
+        private static void raise(final Throwable failure) {
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw (RuntimeException) failure;
+        }
+
+        /**
+         * Selects the listeners that implement a method rather than inheriting it from ListenerAdapter.
+         *
+         * @param listeners  the listeners.
+         * @param methodName name of a ManagedTaskListener method.
+         * @param paramTypes parameter types of the method.
+         * @return the listeners that implement the method.
+         */
+        private static ManagedTaskListener[] implementing(final ManagedTaskListener[] listeners,
+                                                          final String methodName, final Class<?>... paramTypes) {
+            List<ManagedTaskListener> selected = new ArrayList<ManagedTaskListener>(listeners.length);
+            for (ManagedTaskListener listener : listeners) {
+                boolean implemented;
+                try {
+                    implemented = listener.getClass().getMethod(methodName, paramTypes).getDeclaringClass()
+                            != ListenerAdapter.class;
+                } catch (NoSuchMethodException | SecurityException x) {
+                    implemented = true;
+                }
+                if (implemented) {
+                    selected.add(listener);
+                }
+            }
+            return selected.toArray(new ManagedTaskListener[selected.size()]);
+        }
+    }
+
     /**
      * Adapter for Runnable to include ManagedTask interface methods.
      */
@@ -191,6 +597,11 @@ public final class ManagedExecutors {
                     task instanceof ManagedTask ? (ManagedTask) task : null);
             this.task = task;
         }
+
+        RunnableAdapter(final Runnable task, final Template template) {
+            super(template);
+            this.task = task;
+        }
         
         @Override
         public void run() {
@@ -212,6 +623,11 @@ public final class ManagedExecutors {
                     task instanceof ManagedTask ? (ManagedTask) task : null);
             this.task = task;
         }
+
+        CallableAdapter(final Callable<V> task, final Template template) {
+            super(template);
+            this.task = task;
+        }
         
         @Override
         public V call() throws Exception {
@@ -222,6 +638,10 @@ public final class ManagedExecutors {
     
     static class Adapter implements ManagedTask {
 
+        // Classes of the immutable maps of Map.of and Map.copyOf, which are used without copying.
+        private static final Set<Class<?>> IMMUTABLE_MAPS = Set.copyOf(List.of(
+                Map.of().getClass(), Map.of("", "").getClass(), Map.of("", "", " ", "").getClass()));
+
         private final ManagedTaskListener taskListener;
         private final Map<String, String> executionProperties;
         // If the Runnable or Callable to be wrapped also implements the
@@ -229,6 +649,12 @@ public final class ManagedExecutors {
         // that are not supplied by the provided ManagedTaskListener or
         // executionProperties.
         private final ManagedTask managedTask;
+        // Values of execution properties, which are resolved once rather than upon each use.
+        private final String identityName;
+        private final boolean longRunning;
+        // null if the TRANSACTION execution property is not valid, in which case
+        // transactionMode raises IllegalArgumentException when invoked.
+        private final TransactionMode transactionMode;
 
         public Adapter(final ManagedTaskListener taskListener, final Map<String, String> executionProperties,
                        final ManagedTask managedTask) {
@@ -237,6 +663,24 @@ public final class ManagedExecutors {
             this.executionProperties =
                initExecutionProperties(managedTask == null ? null : managedTask.getExecutionProperties(),
                                        executionProperties);
+            this.identityName = ManagedTask.super.identityName();
+            this.longRunning = ManagedTask.super.isLongRunning();
+            TransactionMode mode;
+            try {
+                mode = ManagedTask.super.transactionMode();
+            } catch (IllegalArgumentException x) {
+                mode = null;
+            }
+            this.transactionMode = mode;
+        }
+
+        Adapter(final Template template) {
+            this.taskListener = template.taskListener;
+            this.managedTask = null;
+            this.executionProperties = template.executionProperties;
+            this.identityName = template.identityName;
+            this.longRunning = template.longRunning;
+            this.transactionMode = template.transactionMode;
         }
         
         @Override
@@ -257,21 +701,253 @@ public final class ManagedExecutors {
             }
             return null;
         }
+
+        @Override
+        public String identityName() {
+            return identityName;
+        }
+
+        @Override
+        public boolean isLongRunning() {
+            return longRunning;
+        }
+
+        @Override
+        public TransactionMode transactionMode() {
+            return transactionMode == null ? ManagedTask.super.transactionMode() : transactionMode;
+        }
         
         private Map<String, String> initExecutionProperties(final Map<String, String> base,
                                                             final Map<String, String> override) {
-            if (base == null && override == null) {
+            if (base == null || (base.isEmpty() && override != null)) {
+                return unmodifiable(override);
+            }
+            if (override == null || override.isEmpty()) {
+                return unmodifiable(base);
+            }
+            if (!isImmutable(base) && !isImmutable(override)) {
+                // a single copy of both maps allocates less than a copy of each
+                Map<String, String> merged = new HashMap<String, String>(base);
+                merged.putAll(override);
+                return new NullTolerantProperties(Collections.unmodifiableMap(merged));
+            }
+            return new LayeredProperties(snapshot(base), snapshot(override));
+        }
+
+        /**
+         * Determines whether execution properties can be used without copying them
+         * because they are immutable, either from Map.of or Map.copyOf, or as
+         * obtained from another Adapter.
+         *
+         * @param props execution properties.
+         * @return true if immutable, otherwise false.
+         */
+        private static boolean isImmutable(final Map<String, String> props) {
+            return props instanceof LayeredProperties || props instanceof NullTolerantProperties
+                   || IMMUTABLE_MAPS.contains(props.getClass());
+        }
+
+        /**
+         * Obtains an immutable snapshot of execution properties, copying them
+         * only if they are not already immutable.
+         *
+         * @param props execution properties.
+         * @return immutable execution properties, which might reject null as a key.
+         */
+        private static Map<String, String> snapshot(final Map<String, String> props) {
+            return isImmutable(props) ? props : Collections.unmodifiableMap(new HashMap<String, String>(props));
+        }
+
+        /**
+         * Obtains an unmodifiable snapshot of execution properties, copying them
+         * only if they are not already immutable. As with a HashMap, the snapshot
+         * permits null to be supplied as a key to its methods.
+         *
+         * @param props execution properties, or null.
+         * @return unmodifiable execution properties, or null.
+         */
+        static Map<String, String> unmodifiable(final Map<String, String> props) {
+            if (props == null || props instanceof LayeredProperties || props instanceof NullTolerantProperties) {
+                return props;
+            }
+            return new NullTolerantProperties(snapshot(props));
+        }
+
+    }
+
+    /**
+     * Unmodifiable view of an immutable snapshot of execution properties, which
+     * permits null to be supplied as a key to its methods, as a HashMap does,
+     * even if the snapshot is from Map.copyOf, which rejects null keys.
+     */
+    static final class NullTolerantProperties extends AbstractMap<String, String> {
+        private final Map<String, String> map;
+
+        /**
+         * Constructs a view of an immutable map.
+         *
+         * @param map execution properties that no other code can modify.
+         */
+        NullTolerantProperties(final Map<String, String> map) {
+            this.map = map;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            try {
+                return map.containsKey(key);
+            } catch (NullPointerException x) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean containsValue(final Object value) {
+            try {
+                return map.containsValue(value);
+            } catch (NullPointerException x) {
+                return false;
+            }
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return map.entrySet();
+        }
+
+        @Override
+        public String get(final Object key) {
+            try {
+                return map.get(key);
+            } catch (NullPointerException x) {
                 return null;
             }
-            Map<String, String> props = new HashMap<String, String>();
-            if (base != null) {
-                props.putAll(base);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * Unmodifiable view of execution properties that overlays one unmodifiable map
+     * onto another, rather than copying both into a new map.
+     */
+    static final class LayeredProperties extends AbstractMap<String, String> {
+        private final Map<String, String> base;
+        private final Map<String, String> override;
+        private int size = -1;
+
+        /**
+         * Constructs a view of two unmodifiable maps.
+         *
+         * @param base     execution properties that are overridden.
+         * @param override execution properties that take precedence.
+         */
+        LayeredProperties(final Map<String, String> base, final Map<String, String> override) {
+            this.base = base;
+            this.override = override;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return contains(override, key) || contains(base, key);
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return LayeredProperties.this.size();
+                }
+            };
+        }
+
+        @Override
+        public String get(final Object key) {
+            if (contains(override, key)) {
+                return override.get(key);
+            }
+            if (contains(base, key)) {
+                return base.get(key);
             }
-            if (override != null) {
-                props.putAll(override);
+            return null;
+        }
+
+        @Override
+        public int size() {
+            int count = size;
+            if (count < 0) {
+                count = override.size();
+                for (String key : base.keySet()) {
+                    if (!contains(override, key)) {
+                        count++;
+                    }
+                }
+                size = count;
+            }
+            return count;
+        }
+
+        /**
+         * Determines whether a map contains a key, tolerating maps that reject null keys.
+         *
+         * @param map the map.
+         * @param key the key.
+         * @return true if the map contains the key, otherwise false.
+         */
+        private static boolean contains(final Map<String, String> map, final Object key) {
+            try {
+                return map.containsKey(key);
+            } catch (NullPointerException | ClassCastException x) {
+                return false;
+            }
+        }
+
+        /**
+         * Iterates the entries of the overriding map, followed by the entries
+         * of the base map that are not overridden. The entries of unmodifiable
+         * maps are themselves unmodifiable.
+         */
+        private final class EntryIterator implements Iterator<Entry<String, String>> {
+            private Iterator<Entry<String, String>> entries = override.entrySet().iterator();
+            private boolean iteratingBase;
+            private Entry<String, String> pending;
+
+            @Override
+            public boolean hasNext() {
+                while (pending == null) {
+                    if (entries.hasNext()) {
+                        Entry<String, String> entry = entries.next();
+                        if (!iteratingBase || !contains(override, entry.getKey())) {
+                            pending = entry;
+                        }
+                    } else if (iteratingBase) {
+                        return false;
+                    } else {
+                        entries = base.entrySet().iterator();
+                        iteratingBase = true;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Entry<String, String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Entry<String, String> entry = pending;
+                pending = null;
+                return entry;
             }
-            return props;
         }
-        
     }
 }
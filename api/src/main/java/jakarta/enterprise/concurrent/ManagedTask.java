@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -95,6 +96,23 @@ public interface ManagedTask {
    * readily-available instance data to identify the task.
    */
   public static final String IDENTITY_NAME = "jakarta.enterprise.concurrent.IDENTITY_NAME";
+
+  /**
+   * Execution property to be returned in {@link #getExecutionProperties()}
+   * by a task that is submitted to a {@link ManagedScheduledExecutorService}
+   * to provide a hint about how many milliseconds after its scheduled time
+   * each execution of the task is permitted to start.
+   * Jakarta&trade; EE Product Providers may make use of this hint value to
+   * run executions of tasks that are scheduled for around the same time
+   * upon a single timer wakeup, or to spread executions of tasks that are scheduled
+   * for the same time, such as the top of the hour, to avoid spikes in load.
+   * Valid values are non-negative integers, such as "1000" for one second.
+   * The default is "0", which requests that the task start as close
+   * to its scheduled time as possible.
+   *
+   * @since 3.2
+   */
+  public static final String TIMER_TOLERANCE = "jakarta.enterprise.concurrent.TIMER_TOLERANCE";
   
   /**
    * The {@link ManagedTaskListener} to receive notification of lifecycle
@@ -118,4 +136,82 @@ public interface ManagedTask {
    * null if no additional information is provided for this task.
    */
   public Map<String, String> getExecutionProperties();
+
+  /**
+   * Returns the value of the {@link #IDENTITY_NAME} execution property.
+   * Implementations, such as the tasks that are returned by
+   * {@link ManagedExecutors#template(Map, ManagedTaskListener) ManagedExecutors.template},
+   * can override this method to return a value that is computed once,
+   * sparing the Jakarta EE Product Provider from looking it up for each task.
+   *
+   * @return the identity name, or null if not specified.
+   * @since 3.2
+   */
+  public default String identityName() {
+    Map<String, String> props = getExecutionProperties();
+    return props == null ? null : props.get(IDENTITY_NAME);
+  }
+
+  /**
+   * Returns whether the {@link #LONGRUNNING_HINT} execution property is "true",
+   * ignoring case. Jakarta EE Product Providers can use this method to route
+   * long-running tasks to separate threads without parsing the execution
+   * properties of each task. Implementations can override this method to
+   * return a value that is computed once.
+   *
+   * @return true if the task is hinted to be long-running, otherwise false.
+   * @since 3.2
+   */
+  public default boolean isLongRunning() {
+    Map<String, String> props = getExecutionProperties();
+    return props != null && Boolean.parseBoolean(props.get(LONGRUNNING_HINT));
+  }
+
+  /**
+   * Returns the value of the {@link #TRANSACTION} execution property.
+   * Implementations can override this method to return a value that is computed once.
+   *
+   * @return the transaction mode, which is {@link TransactionMode#SUSPEND} if unspecified.
+   * @throws IllegalArgumentException if the execution property has a value that is not valid.
+   * @since 3.2
+   */
+  public default TransactionMode transactionMode() {
+    Map<String, String> props = getExecutionProperties();
+    return TransactionMode.of(props == null ? null : props.get(TRANSACTION));
+  }
+
+  /**
+   * Valid values of the {@link ManagedTask#TRANSACTION} execution property.
+   *
+   * @since 3.2
+   */
+  public static enum TransactionMode {
+    /**
+     * The {@link ManagedTask#SUSPEND} value of the TRANSACTION execution property.
+     */
+    SUSPEND,
+
+    /**
+     * The {@link ManagedTask#USE_TRANSACTION_OF_EXECUTION_THREAD} value of the
+     * TRANSACTION execution property.
+     */
+    USE_TRANSACTION_OF_EXECUTION_THREAD;
+
+    /**
+     * Obtains the transaction mode for a value of the TRANSACTION execution property.
+     *
+     * @param value value of the execution property, or null if unspecified.
+     * @return the transaction mode, which is {@link #SUSPEND} if unspecified.
+     * @throws IllegalArgumentException if the value is not valid.
+     */
+    public static TransactionMode of(final String value) {
+      if (value == null || ManagedTask.SUSPEND.equals(value)) {
+        return SUSPEND;
+      } else if (ManagedTask.USE_TRANSACTION_OF_EXECUTION_THREAD.equals(value)) {
+        return USE_TRANSACTION_OF_EXECUTION_THREAD;
+      } else {
+        throw new IllegalArgumentException(TRANSACTION + ": " + value);
+      }
+    }
+  }
 }
@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A scope for running a group of subtasks concurrently on a {@link ManagedExecutorService},
+ * in the style of structured concurrency, where the subtasks are forked and joined
+ * by the same thread, which is the owner of the scope, and none of them outlive the scope.
+ * Obtain instances from
+ * {@link ManagedExecutorService#newTaskScope(Policy) ManagedExecutorService.newTaskScope}.
+ * <p>
+ * Each subtask is submitted to the executor, and therefore runs with the thread context
+ * that the executor propagates from the owner thread, on a thread of the executor, which
+ * is a virtual thread if the executor is configured to use virtual threads.
+ * The {@link Policy} of the scope determines whether the scope shuts down upon the
+ * first failed or first successful subtask. Shutting down the scope cancels the subtasks
+ * that have not completed, interrupting those that are running, and causes {@link #join()}
+ * to return without waiting for them. Closing the scope shuts it down and waits for
+ * the subtasks that are running to return, such that no subtask runs after the scope closes.
+ * <p>
+ * For example, to fail a request as soon as any of its subrequests fails,
+ * <pre>
+ * try (ManagedTaskScope&lt;Quote&gt; scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_FAILURE)) {
+ *     List&lt;Future&lt;Quote&gt;&gt; quotes = new ArrayList&lt;&gt;();
+ *     for (Supplier supplier : suppliers) {
+ *         quotes.add(scope.fork(() -&gt; supplier.quote(item)));
+ *     }
+ *     scope.join().throwIfFailed();
+ *     return quotes.stream().map(Future::resultNow).min(Quote::compareTo).orElseThrow();
+ * }
+ * </pre>
+ * And to use the first of several replicas to respond,
+ * <pre>
+ * try (ManagedTaskScope&lt;Price&gt; scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_SUCCESS)) {
+ *     for (Replica replica : replicas) {
+ *         scope.fork(() -&gt; replica.price(item));
+ *     }
+ *     return scope.join().result();
+ * }
+ * </pre>
+ * Methods other than {@link #shutdown()} must be invoked by the owner thread,
+ * otherwise {@link WrongThreadException} is raised.
+ *
+ * @param <T> result type of the subtasks.
+ * @since 3.2
+ */
+public final class ManagedTaskScope<T> implements AutoCloseable {
+    /**
+     * Determines when the scope shuts down on its own.
+     */
+    public static enum Policy {
+        /**
+         * The scope shuts down when any subtask fails, such that {@link ManagedTaskScope#join() join}
+         * returns as soon as all subtasks succeed or one of them fails.
+         * {@link ManagedTaskScope#throwIfFailed() throwIfFailed} raises the first failure.
+         */
+        SHUTDOWN_ON_FAILURE,
+
+        /**
+         * The scope shuts down when any subtask succeeds, such that {@link ManagedTaskScope#join() join}
+         * returns as soon as one subtask succeeds or all of them fail.
+         * {@link ManagedTaskScope#result() result} returns the result of the first subtask to succeed.
+         */
+        SHUTDOWN_ON_SUCCESS,
+
+        /**
+         * The scope shuts down only when {@link ManagedTaskScope#shutdown() shutdown}
+         * or {@link ManagedTaskScope#close() close} is invoked, such that
+         * {@link ManagedTaskScope#join() join} waits for all subtasks.
+         */
+        WAIT_FOR_ALL
+    }
+
+    private final ManagedExecutorService executor;
+
+    private final Policy policy;
+
+    private final Thread owner;
+
+    /**
+     * Guards the state of the scope, and is notified when a subtask completes or the scope shuts down.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Subtasks that have been forked. Guarded by the lock.
+     */
+    private final List<Future<T>> subtasks = new ArrayList<Future<T>>();
+
+    /**
+     * Number of subtasks that are running or have not started. Guarded by the lock.
+     */
+    private int pending;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Indicates that the owner joined after forking the most recent subtask.
+     */
+    private boolean joined;
+
+    /**
+     * The first failure of a subtask, if any. Guarded by the lock.
+     */
+    private Throwable failure;
+
+    /**
+     * Indicates that a subtask succeeded, for the SHUTDOWN_ON_SUCCESS policy. Guarded by the lock.
+     */
+    private boolean succeeded;
+
+    /**
+     * Result of the first subtask to succeed, for the SHUTDOWN_ON_SUCCESS policy. Guarded by the lock.
+     */
+    private T result;
+
+    /**
+     * Constructs a scope that is owned by the current thread.
+     *
+     * @param executor executor on which to run subtasks.
+     * @param policy   policy of the scope.
+     */
+    ManagedTaskScope(final ManagedExecutorService executor, final Policy policy) {
+        if (executor == null || policy == null) {
+            throw new IllegalArgumentException(executor == null ? "executor" : "policy");
+        }
+        this.executor = executor;
+        this.policy = policy;
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Shuts down the scope and waits for all subtasks to finish running. Subtasks that are
+     * cancelled before they start, including those that the executor accepts but never runs,
+     * do not need to finish. Subtasks that are running when the scope shuts down are interrupted,
+     * and this method waits for them to return. If interrupted while waiting, the thread's
+     * interrupt status is set after all subtasks finish.
+     *
+     * @throws WrongThreadException if the current thread is not the owner.
+     */
+    @Override
+    public void close() {
+        checkOwner();
+        shutdown();
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (pending > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException x) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a subtask by submitting it to the executor. If the scope is shut down,
+     * the subtask does not run and the returned future is cancelled.
+     *
+     * @param task the subtask.
+     * @return a future for the subtask.
+     * @throws WrongThreadException if the current thread is not the owner.
+     * @throws java.util.concurrent.RejectedExecutionException if the executor rejects the subtask.
+     */
+    public Future<T> fork(final Callable<? extends T> task) {
+        checkOwner();
+        Subtask subtask = new Subtask(task);
+        synchronized (lock) {
+            joined = false;
+            if (shutdown) {
+                subtask.cancel(false);
+                return subtask;
+            }
+            subtasks.add(subtask);
+            subtask.tracked = true;
+            pending++;
+        }
+        try {
+            executor.execute(subtask);
+        } catch (RuntimeException | Error x) {
+            subtask.cancel(false);
+            throw x;
+        }
+        return subtask;
+    }
+
+    /**
+     * Waits for all subtasks to complete or for the scope to shut down.
+     *
+     * @return this scope.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws WrongThreadException if the current thread is not the owner.
+     */
+    public ManagedTaskScope<T> join() throws InterruptedException {
+        checkOwner();
+        synchronized (lock) {
+            while (pending > 0 && !shutdown) {
+                lock.wait();
+            }
+            joined = true;
+        }
+        return this;
+    }
+
+    /**
+     * Waits, up to a time limit, for all subtasks to complete or for the scope to shut down.
+     * The scope is not shut down if the time limit is reached.
+     *
+     * @param timeout maximum amount of time to wait.
+     * @param unit    unit of the timeout.
+     * @return this scope.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws TimeoutException if the time limit is reached.
+     * @throws WrongThreadException if the current thread is not the owner.
+     */
+    public ManagedTaskScope<T> join(final long timeout, final TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        checkOwner();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (pending > 0 && !shutdown) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    throw new TimeoutException();
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            joined = true;
+        }
+        return this;
+    }
+
+    /**
+     * Indicates whether the scope is shut down.
+     *
+     * @return {@code true} if shut down, otherwise {@code false}.
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Returns the result of the first subtask to succeed. Applies to the
+     * {@link Policy#SHUTDOWN_ON_SUCCESS SHUTDOWN_ON_SUCCESS} policy.
+     *
+     * @return the result of the first subtask to succeed.
+     * @throws ExecutionException if no subtask succeeded and a subtask failed,
+     *         chained to the first failure.
+     * @throws IllegalStateException if the policy is not {@code SHUTDOWN_ON_SUCCESS},
+     *         the owner did not join after forking, or no subtask completed.
+     * @throws WrongThreadException if the current thread is not the owner.
+     */
+    public T result() throws ExecutionException {
+        checkOwner();
+        synchronized (lock) {
+            if (policy != Policy.SHUTDOWN_ON_SUCCESS) {
+                throw new IllegalStateException(policy.name());
+            }
+            checkJoined();
+            if (succeeded) {
+                return result;
+            } else if (failure != null) {
+                throw new ExecutionException(failure);
+            } else {
+                throw new IllegalStateException("No subtasks completed");
+            }
+        }
+    }
+
+    /**
+     * Shuts down the scope, which cancels the subtasks that have not completed,
+     * interrupting those that are running, prevents subsequent subtasks from running,
+     * and wakes the owner if it is waiting in {@link #join()}.
+     * This method can be invoked by any thread, including by subtasks.
+     */
+    public void shutdown() {
+        List<Future<T>> incomplete;
+        synchronized (lock) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            incomplete = new ArrayList<Future<T>>(subtasks);
+            lock.notifyAll();
+        }
+        for (Future<T> subtask : incomplete) {
+            if (!subtask.isDone()) {
+                subtask.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Raises the first failure of a subtask, if any, which is the failure that shut down the
+     * scope for the {@link Policy#SHUTDOWN_ON_FAILURE SHUTDOWN_ON_FAILURE} policy.
+     * Cancelled subtasks are not considered to have failed.
+     *
+     * @throws ExecutionException chained to the first failure of a subtask.
+     * @throws IllegalStateException if the owner did not join after forking.
+     * @throws WrongThreadException if the current thread is not the owner.
+     */
+    public void throwIfFailed() throws ExecutionException {
+        checkOwner();
+        synchronized (lock) {
+            checkJoined();
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ManagedTaskScope@" + Integer.toHexString(hashCode()) + "[" + policy
+                + (shutdown ? ", shut down" : "") + "]";
+    }
+
+    /**
+     * Raises IllegalStateException unless the owner joined after forking the most recent subtask.
+     * Invoked while holding the lock.
+     */
+    private void checkJoined() {
+        if (!joined) {
+            throw new IllegalStateException("Not joined");
+        }
+    }
+
+    /**
+     * Raises WrongThreadException unless the current thread is the owner.
+     */
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new WrongThreadException(owner.toString());
+        }
+    }
+
+    /**
+     * Records the outcome of a subtask and shuts down the scope if the policy requires it.
+     * A subtask that is cancelled while running completes before it stops running.
+     *
+     * @param subtask a subtask that completed or was cancelled.
+     */
+    private void completed(final Subtask subtask) {
+        boolean shutDown = false;
+        synchronized (lock) {
+            if (!subtask.tracked) {
+                return;
+            }
+            if (!subtask.isCancelled()) {
+                if (subtask.state() == Future.State.FAILED) {
+                    if (failure == null) {
+                        failure = subtask.exceptionNow();
+                    }
+                    shutDown = policy == Policy.SHUTDOWN_ON_FAILURE;
+                } else if (policy == Policy.SHUTDOWN_ON_SUCCESS && !succeeded) {
+                    succeeded = true;
+                    result = subtask.resultNow();
+                    shutDown = true;
+                }
+            }
+        }
+        if (shutDown) {
+            shutdown();
+        }
+    }
+
+    /**
+     * Stops counting a subtask as pending, after it finishes running or is cancelled before it starts.
+     *
+     * @param subtask the subtask.
+     */
+    private void finished(final Subtask subtask) {
+        synchronized (lock) {
+            if (subtask.tracked) {
+                pending--;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * A subtask, which reports its completion to the scope.
+     */
+    private final class Subtask extends FutureTask<T> {
+        /**
+         * Indicates that the subtask is counted as pending by the scope. Guarded by the lock.
+         */
+        private boolean tracked;
+
+        /**
+         * Set by whichever happens first, running the subtask or cancelling it before it starts.
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        @SuppressWarnings("unchecked")
+        private Subtask(final Callable<? extends T> task) {
+            super((Callable<T>) task);
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && claimed.compareAndSet(false, true)) {
+                // never started, and now never will, even if the executor runs it later
+                finished(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            completed(this);
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    super.run();
+                } finally {
+                    finished(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,742 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ManagedTaskListener} that records statistics about the tasks that it is
+ * notified of, per {@link ManagedExecutorService} and per {@link ManagedTask#IDENTITY_NAME}.
+ * The statistics include histograms of the time that tasks wait to start after they are
+ * submitted and of the time that tasks run, counts of submitted, started, done, aborted,
+ * cancelled, and failed tasks, and the numbers of tasks that are currently queued and running.
+ * For example,
+ * <pre>
+ * MetricsManagedTaskListener metrics = new MetricsManagedTaskListener();
+ * executor.submit(ManagedExecutors.managedTask(task, metrics));
+ * ...
+ * MetricsManagedTaskListener.Statistics stats =
+ *     metrics.snapshot().getTaskStatistics().get("order-processing");
+ * long p99 = stats.getQueueWait().getValueAtPercentile(99.0);
+ * </pre>
+ * <p>
+ * Statistics are recorded with striped counters and without allocating objects, except
+ * upon the first notification for each executor and identity name. The time at which each
+ * task is submitted and starts is held in a table of fixed capacity until the next
+ * notification for the task. Tasks that are notified when the table is full are counted,
+ * but their times are not recorded. Histograms have buckets with boundaries that are
+ * spaced logarithmically, with 8 buckets per power of 2, such that values are recorded
+ * with a precision of 12.5%.
+ * <p>
+ * A single listener can be used with multiple executors and tasks concurrently.
+ * The listener holds a reference to each executor for which it records statistics
+ * until the executor is {@linkplain #remove(ManagedExecutorService) removed}. A listener
+ * that is shared across applications must remove the executors of an application when
+ * the application stops, so that the application can be unloaded. Statistics are recorded
+ * separately for up to {@link #MAX_IDENTITY_NAMES} identity names. Tasks with other identity
+ * names are recorded together, as {@linkplain Snapshot#getOtherTaskStatistics() other tasks},
+ * so that identity names that include a request or entity identifier do not cause the
+ * statistics to grow without bound.
+ *
+ * @since 3.2
+ */
+public final class MetricsManagedTaskListener implements ManagedTaskListener {
+    /**
+     * Default number of tasks for which times can be tracked at once.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Maximum number of identity names for which statistics are recorded separately.
+     */
+    public static final int MAX_IDENTITY_NAMES = 1024;
+
+    /**
+     * Number of slots of the time table to search for a task.
+     */
+    private static final int PROBES = 16;
+
+    /**
+     * Indexes of the counters of a Recorder.
+     */
+    private static final int SUBMITTED = 0;
+    private static final int STARTED = 1;
+    private static final int DONE = 2;
+    private static final int ABORTED = 3;
+    private static final int CANCELLED = 4;
+    private static final int FAILED = 5;
+    private static final int QUEUED = 6;
+    private static final int RUNNING = 7;
+    private static final int COUNTERS = 8;
+
+    /**
+     * Number of stripes of each histogram, which must be a power of 2.
+     */
+    private static final int STRIPES = 4;
+
+    /**
+     * Statistics per executor.
+     */
+    private final ConcurrentHashMap<ManagedExecutorService, Recorder> executors =
+            new ConcurrentHashMap<ManagedExecutorService, Recorder>();
+
+    /**
+     * Statistics per identity name.
+     */
+    private final ConcurrentHashMap<String, Recorder> names = new ConcurrentHashMap<String, Recorder>();
+
+    /**
+     * Statistics of tasks with identity names beyond the maximum number of identity names.
+     */
+    private final Recorder otherNames = new Recorder();
+
+    /**
+     * Statistics of tasks that are notified with a null executor.
+     */
+    private final Recorder noExecutor = new Recorder();
+
+    /**
+     * Futures of tasks that are queued or running, by slot of the time table.
+     */
+    private final AtomicReferenceArray<Object> futures;
+
+    /**
+     * Times at which the tasks in the corresponding slots were submitted or started.
+     */
+    private final AtomicLongArray times;
+
+    /**
+     * Indicates which slots of the time table hold tasks that started, with 1 for started.
+     */
+    private final AtomicLongArray started;
+
+    private final int mask;
+
+    /**
+     * Tasks whose times were not recorded because the time table was full.
+     */
+    private final LongAdder untracked = new LongAdder();
+
+    /**
+     * Constructs a listener that can track the times of up to
+     * {@link #DEFAULT_CAPACITY} queued and running tasks at once.
+     */
+    public MetricsManagedTaskListener() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a listener that can track the times of up to the specified number
+     * of queued and running tasks at once.
+     *
+     * @param capacity number of tasks, which is rounded up to a power of 2.
+     * @throws IllegalArgumentException if the capacity is less than 1 or greater than 2<sup>24</sup>.
+     */
+    public MetricsManagedTaskListener(final int capacity) {
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int length = Math.max(PROBES, Integer.highestOneBit(capacity - 1) << 1);
+        futures = new AtomicReferenceArray<Object>(length);
+        times = new AtomicLongArray(length);
+        started = new AtomicLongArray(length);
+        mask = length - 1;
+    }
+
+    /**
+     * Returns the number of tasks whose times were not recorded because too many tasks
+     * were queued or running at once.
+     *
+     * @return the number of untracked tasks.
+     */
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    /**
+     * Stops holding the statistics of an executor, such as when the executor or the
+     * application that defines it stops. If the listener is subsequently notified of
+     * tasks of the executor, statistics are recorded for it again, starting from zero.
+     *
+     * @param executor the executor.
+     * @return the final statistics of the executor, or null if none were recorded.
+     */
+    public Statistics remove(final ManagedExecutorService executor) {
+        Recorder recorder = executor == null ? null : executors.remove(executor);
+        return recorder == null ? null : recorder.snapshot();
+    }
+
+    /**
+     * Captures the statistics that are recorded so far.
+     *
+     * @return the statistics.
+     */
+    public Snapshot snapshot() {
+        Map<ManagedExecutorService, Statistics> byExecutor = new IdentityHashMap<ManagedExecutorService, Statistics>();
+        for (Map.Entry<ManagedExecutorService, Recorder> entry : executors.entrySet()) {
+            byExecutor.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        Map<String, Statistics> byName = new TreeMap<String, Statistics>();
+        for (Map.Entry<String, Recorder> entry : names.entrySet()) {
+            byName.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new Snapshot(Collections.unmodifiableMap(byExecutor), Collections.unmodifiableMap(byName),
+                            otherNames.snapshot(), noExecutor.snapshot());
+    }
+
+    @Override
+    public void taskAborted(final Future<?> future, final ManagedExecutorService executor,
+                            final Object task, final Throwable exception) {
+        Recorder byExecutor = executorRecorder(executor);
+        Recorder byName = nameRecorder(task);
+        boolean cancelled = exception instanceof CancellationException;
+        byExecutor.aborted(cancelled);
+        if (byName != null) {
+            byName.aborted(cancelled);
+        }
+    }
+
+    @Override
+    public void taskDone(final Future<?> future, final ManagedExecutorService executor,
+                         final Object task, final Throwable exception) {
+        long now = System.nanoTime();
+        Recorder byExecutor = executorRecorder(executor);
+        Recorder byName = nameRecorder(task);
+        int slot = future == null ? -1 : find(future);
+        long elapsed = slot < 0 ? -1L : now - times.get(slot);
+        boolean ran = slot >= 0 && started.get(slot) == 1L;
+        if (slot >= 0) {
+            futures.set(slot, null);
+        }
+        byExecutor.done(slot >= 0, ran, elapsed, exception);
+        if (byName != null) {
+            byName.done(slot >= 0, ran, elapsed, exception);
+        }
+    }
+
+    @Override
+    public void taskStarting(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+        long now = System.nanoTime();
+        Recorder byExecutor = executorRecorder(executor);
+        Recorder byName = nameRecorder(task);
+        int slot = future == null ? -1 : find(future);
+        if (slot >= 0 && started.get(slot) == 0L) {
+            long waited = now - times.get(slot);
+            times.set(slot, now);
+            started.set(slot, 1L);
+            byExecutor.starting(true, waited);
+            if (byName != null) {
+                byName.starting(true, waited);
+            }
+        } else {
+            byExecutor.starting(false, -1L);
+            if (byName != null) {
+                byName.starting(false, -1L);
+            }
+        }
+    }
+
+    @Override
+    public void taskSubmitted(final Future<?> future, final ManagedExecutorService executor, final Object task) {
+        Recorder byExecutor = executorRecorder(executor);
+        Recorder byName = nameRecorder(task);
+        boolean tracked = future != null && track(future, System.nanoTime());
+        if (!tracked) {
+            untracked.increment();
+        }
+        byExecutor.submitted(tracked);
+        if (byName != null) {
+            byName.submitted(tracked);
+        }
+    }
+
+    /**
+     * Finds the slot of the time table that holds a future.
+     *
+     * @param future the future.
+     * @return the slot, or -1 if not found.
+     */
+    private int find(final Future<?> future) {
+        int start = System.identityHashCode(future) * 0x9E3779B9;
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (futures.get(slot) == future) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the statistics for the identity name of a task, if it has one.
+     *
+     * @param task the task.
+     * @return the statistics, or null if the task does not have an identity name.
+     */
+    private Recorder nameRecorder(final Object task) {
+        String name = task instanceof ManagedTask ? ((ManagedTask) task).identityName() : null;
+        if (name == null) {
+            return null;
+        }
+        Recorder recorder = names.get(name);
+        if (recorder == null) {
+            // concurrent notifications for new identity names can exceed the maximum slightly
+            recorder = names.size() < MAX_IDENTITY_NAMES
+                    ? names.computeIfAbsent(name, n -> new Recorder())
+                    : otherNames;
+        }
+        return recorder;
+    }
+
+    /**
+     * Returns the statistics for an executor.
+     *
+     * @param executor the executor.
+     * @return the statistics.
+     */
+    private Recorder executorRecorder(final ManagedExecutorService executor) {
+        if (executor == null) {
+            return noExecutor;
+        }
+        Recorder recorder = executors.get(executor);
+        return recorder == null ? executors.computeIfAbsent(executor, e -> new Recorder()) : recorder;
+    }
+
+    /**
+     * Claims a slot of the time table for a future.
+     *
+     * @param future the future.
+     * @param now    the time at which the task was submitted.
+     * @return true if a slot was claimed, false if the table is full.
+     */
+    private boolean track(final Future<?> future, final long now) {
+        int start = System.identityHashCode(future) * 0x9E3779B9;
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (futures.get(slot) == null && futures.compareAndSet(slot, null, future)) {
+                // other notifications for the task happen after this one
+                times.set(slot, now);
+                started.set(slot, 0L);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Captured statistics.
+     */
+    public static final class Snapshot {
+        private final Map<ManagedExecutorService, Statistics> byExecutor;
+        private final Map<String, Statistics> byName;
+        private final Statistics otherNames;
+        private final Statistics noExecutor;
+
+        private Snapshot(final Map<ManagedExecutorService, Statistics> byExecutor,
+                         final Map<String, Statistics> byName, final Statistics otherNames,
+                         final Statistics noExecutor) {
+            this.byExecutor = byExecutor;
+            this.byName = byName;
+            this.otherNames = otherNames;
+            this.noExecutor = noExecutor;
+        }
+
+        /**
+         * Returns the statistics of tasks per executor.
+         *
+         * @return unmodifiable map of executor to statistics.
+         */
+        public Map<ManagedExecutorService, Statistics> getExecutorStatistics() {
+            return byExecutor;
+        }
+
+        /**
+         * Returns the statistics of tasks that were notified without an executor.
+         *
+         * @return the statistics.
+         */
+        public Statistics getStatisticsWithoutExecutor() {
+            return noExecutor;
+        }
+
+        /**
+         * Returns the statistics of tasks with identity names that were first notified after
+         * statistics were already recorded for {@link #MAX_IDENTITY_NAMES} identity names.
+         *
+         * @return the statistics.
+         */
+        public Statistics getOtherTaskStatistics() {
+            return otherNames;
+        }
+
+        /**
+         * Returns the statistics of tasks per {@link ManagedTask#IDENTITY_NAME}.
+         * Tasks without an identity name are not included, and neither are
+         * {@linkplain #getOtherTaskStatistics() other tasks}.
+         *
+         * @return unmodifiable map of identity name to statistics, sorted by identity name.
+         */
+        public Map<String, Statistics> getTaskStatistics() {
+            return byName;
+        }
+    }
+
+    /**
+     * Captured statistics of the tasks of an executor or of the tasks with an identity name.
+     */
+    public static final class Statistics {
+        private final long submitted;
+        private final long started;
+        private final long done;
+        private final long aborted;
+        private final long cancelled;
+        private final long failed;
+        private final long queued;
+        private final long running;
+        private final Histogram queueWait;
+        private final Histogram executionTime;
+
+        private Statistics(final long[] counts, final Histogram queueWait, final Histogram executionTime) {
+            submitted = counts[SUBMITTED];
+            started = counts[STARTED];
+            done = counts[DONE];
+            aborted = counts[ABORTED];
+            cancelled = counts[CANCELLED];
+            failed = counts[FAILED];
+            queued = Math.max(0L, counts[QUEUED]);
+            running = Math.max(0L, counts[RUNNING]);
+            this.queueWait = queueWait;
+            this.executionTime = executionTime;
+        }
+
+        /**
+         * Returns the number of taskAborted notifications, including cancellations.
+         *
+         * @return the number of aborted tasks.
+         */
+        public long getAbortedCount() {
+            return aborted;
+        }
+
+        /**
+         * Returns the number of taskAborted notifications with a {@link CancellationException}.
+         *
+         * @return the number of cancelled tasks.
+         */
+        public long getCancelledCount() {
+            return cancelled;
+        }
+
+        /**
+         * Returns the number of taskDone notifications.
+         *
+         * @return the number of done tasks.
+         */
+        public long getDoneCount() {
+            return done;
+        }
+
+        /**
+         * Returns the histogram of the time that tasks ran, from taskStarting to taskDone.
+         *
+         * @return the histogram.
+         */
+        public Histogram getExecutionTime() {
+            return executionTime;
+        }
+
+        /**
+         * Returns the number of taskDone notifications with an exception.
+         *
+         * @return the number of failed tasks.
+         */
+        public long getFailedCount() {
+            return failed;
+        }
+
+        /**
+         * Returns the number of tracked tasks that were submitted but had not started or completed.
+         *
+         * @return the number of queued tasks.
+         */
+        public long getQueuedCount() {
+            return queued;
+        }
+
+        /**
+         * Returns the histogram of the time that tasks waited, from taskSubmitted to taskStarting.
+         *
+         * @return the histogram.
+         */
+        public Histogram getQueueWait() {
+            return queueWait;
+        }
+
+        /**
+         * Returns the number of tracked tasks that had started but not completed.
+         *
+         * @return the number of running tasks.
+         */
+        public long getRunningCount() {
+            return running;
+        }
+
+        /**
+         * Returns the number of taskStarting notifications.
+         *
+         * @return the number of started tasks.
+         */
+        public long getStartedCount() {
+            return started;
+        }
+
+        /**
+         * Returns the number of taskSubmitted notifications.
+         *
+         * @return the number of submitted tasks.
+         */
+        public long getSubmittedCount() {
+            return submitted;
+        }
+    }
+
+    /**
+     * Captured histogram of durations in nanoseconds.
+     */
+    public static final class Histogram {
+        /**
+         * Number of buckets. Values less than 16 nanoseconds have a bucket each.
+         * Larger values have 8 buckets per power of 2, up to 2<sup>43</sup> nanoseconds,
+         * which is about 2.4 hours. The final bucket also counts all larger values.
+         */
+        public static final int BUCKETS = 16 + 39 * 8;
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        private Histogram(final long[] counts, final long totalNanos) {
+            this.counts = counts;
+            long sum = 0L;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.count = sum;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * Returns the number of recorded values.
+         *
+         * @return the number of recorded values.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the numbers of values that were recorded in each bucket.
+         *
+         * @return array of length {@link #BUCKETS}.
+         */
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        /**
+         * Returns the mean of the recorded values.
+         *
+         * @return the mean in nanoseconds, or 0 if no values were recorded.
+         */
+        public double getMeanNanos() {
+            return count == 0L ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Returns the sum of the recorded values.
+         *
+         * @return the total in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Returns the largest value in the bucket that contains the specified percentile
+         * of recorded values.
+         *
+         * @param percentile percentile from 0.0 to 100.0.
+         * @return the value in nanoseconds, or 0 if no values were recorded.
+         * @throws IllegalArgumentException if the percentile is not from 0.0 to 100.0.
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (!(percentile >= 0.0 && percentile <= 100.0)) {
+                throw new IllegalArgumentException("percentile: " + percentile);
+            }
+            long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBoundNanos(i) - 1L;
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * Returns the smallest value that is counted in a bucket.
+         *
+         * @param bucket index of the bucket.
+         * @return the lower bound in nanoseconds, inclusive.
+         * @throws IndexOutOfBoundsException if the index is not a valid bucket.
+         */
+        public static long lowerBoundNanos(final int bucket) {
+            if (bucket < 0 || bucket >= BUCKETS) {
+                throw new IndexOutOfBoundsException(bucket);
+            }
+            if (bucket < 16) {
+                return bucket;
+            }
+            int exponent = 4 + (bucket - 16) / 8;
+            return (8L + (bucket - 16) % 8) << (exponent - 3);
+        }
+
+        /**
+         * Returns the smallest value that is counted in the next bucket.
+         *
+         * @param bucket index of the bucket.
+         * @return the upper bound in nanoseconds, exclusive,
+         *         or <code>Long.MAX_VALUE</code> for the final bucket.
+         * @throws IndexOutOfBoundsException if the index is not a valid bucket.
+         */
+        public static long upperBoundNanos(final int bucket) {
+            return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBoundNanos(bucket + 1);
+        }
+
+        /**
+         * Determines the bucket for a duration.
+         *
+         * @param nanos the duration.
+         * @return index of the bucket.
+         */
+        static int bucketOf(final long nanos) {
+            if (nanos < 16L) {
+                return nanos < 0L ? 0 : (int) nanos;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            int bucket = 16 + (exponent - 4) * 8 + (int) ((nanos >>> (exponent - 3)) & 7);
+            return Math.min(bucket, BUCKETS - 1);
+        }
+    }
+
+    /**
+     * Records the statistics of the tasks of an executor or of the tasks with an identity name.
+     */
+    private static final class Recorder {
+        private final LongAdder[] counters = new LongAdder[COUNTERS];
+
+        /**
+         * Queue wait histogram, striped by thread.
+         */
+        private final AtomicLongArray queueWait = new AtomicLongArray(STRIPES * Histogram.BUCKETS);
+        private final LongAdder queueWaitNanos = new LongAdder();
+
+        /**
+         * Execution time histogram, striped by thread.
+         */
+        private final AtomicLongArray executionTime = new AtomicLongArray(STRIPES * Histogram.BUCKETS);
+        private final LongAdder executionNanos = new LongAdder();
+
+        private Recorder() {
+            for (int i = 0; i < COUNTERS; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        private void aborted(final boolean cancelled) {
+            counters[ABORTED].increment();
+            if (cancelled) {
+                counters[CANCELLED].increment();
+            }
+        }
+
+        private void done(final boolean tracked, final boolean ran, final long elapsed, final Throwable exception) {
+            counters[DONE].increment();
+            if (exception != null) {
+                counters[FAILED].increment();
+            }
+            if (ran) {
+                counters[RUNNING].decrement();
+                record(executionTime, executionNanos, elapsed);
+            } else if (tracked) {
+                counters[QUEUED].decrement();
+            }
+        }
+
+        private void starting(final boolean tracked, final long waited) {
+            counters[STARTED].increment();
+            if (tracked) {
+                counters[QUEUED].decrement();
+                counters[RUNNING].increment();
+                record(queueWait, queueWaitNanos, waited);
+            }
+        }
+
+        private void submitted(final boolean tracked) {
+            counters[SUBMITTED].increment();
+            if (tracked) {
+                counters[QUEUED].increment();
+            }
+        }
+
+        private static void record(final AtomicLongArray histogram, final LongAdder total, final long nanos) {
+            int hash = Thread.currentThread().hashCode();
+            int stripe = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+            histogram.getAndIncrement(stripe * Histogram.BUCKETS + Histogram.bucketOf(nanos));
+            total.add(nanos);
+        }
+
+        private Statistics snapshot() {
+            long[] counts = new long[COUNTERS];
+            for (int i = 0; i < COUNTERS; i++) {
+                counts[i] = counters[i].sum();
+            }
+            return new Statistics(counts, histogram(queueWait, queueWaitNanos),
+                                  histogram(executionTime, executionNanos));
+        }
+
+        private static Histogram histogram(final AtomicLongArray histogram, final LongAdder total) {
+            long[] counts = new long[Histogram.BUCKETS];
+            for (int s = 0; s < STRIPES; s++) {
+                for (int i = 0; i < Histogram.BUCKETS; i++) {
+                    counts[i] += histogram.get(s * Histogram.BUCKETS + i);
+                }
+            }
+            return new Histogram(counts, total.sum());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,7 @@
 
 package jakarta.enterprise.concurrent;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
 import java.util.Date;
@@ -89,7 +90,8 @@ public interface ZonedTrigger extends Trigger {
      * <P>
      * This method is provided to maintain compatibility with {@link Trigger} and should not be
      * implemented. The default implementation delegates to the method signature that
-     * accepts and returns <code>ZonedDateTime</code>.
+     * accepts and returns milliseconds from the epoch, which by default delegates
+     * to the method signature that accepts and returns <code>ZonedDateTime</code>.
      *
      * @param lastExecutionInfo information about the last execution of the task.
      *                          This value will be null if the task has not yet run.
@@ -100,8 +102,40 @@ public interface ZonedTrigger extends Trigger {
      * @throws IllegalArgumentException if the next run time is too large to represent as a <code>Date</code>.
      */
     public default Date getNextRunTime(final LastExecution lastExecutionInfo, final Date taskScheduledTime) {
-        ZonedDateTime nextTime = getNextRunTime(lastExecutionInfo, taskScheduledTime.toInstant().atZone(getZoneId()));
-        return nextTime == null ? null : Date.from(nextTime.toInstant());
+        long nextTime;
+        try {
+            nextTime = getNextRunTime(lastExecutionInfo, taskScheduledTime.getTime());
+        } catch (ArithmeticException x) {
+            throw new IllegalArgumentException(x);
+        }
+        return nextTime == Long.MIN_VALUE ? null : new Date(nextTime);
+    }
+
+    /**
+     * Retrieve the next time that the task should run after, as milliseconds
+     * from the epoch of 1970-01-01T00:00:00Z.
+     * <P>
+     * This method allows the next run time to be computed without creating
+     * date/time objects. Implementations that can compute the next run time
+     * from primitive values, such as {@link CronTrigger}, should override this method
+     * to be consistent with the method signature that accepts and returns
+     * <code>ZonedDateTime</code>. The default implementation delegates to the
+     * method signature that accepts and returns <code>ZonedDateTime</code>.
+     *
+     * @param lastExecutionInfo information about the last execution of the task.
+     *                          This value will be null if the task has not yet run.
+     * @param taskScheduledTime the time, as milliseconds from the epoch, at which the
+     *                          {@code ManagedScheduledExecutorService.schedule}
+     *                          method was invoked to schedule the task.
+     * @return the time, as milliseconds from the epoch, after which the next execution
+     *         of the task should start, or {@link Long#MIN_VALUE} if the task
+     *         should not run again.
+     * @throws ArithmeticException if the next run time is too large to represent as milliseconds.
+     * @since 3.2
+     */
+    public default long getNextRunTime(final LastExecution lastExecutionInfo, final long taskScheduledTime) {
+        ZonedDateTime nextTime = getNextRunTime(lastExecutionInfo, Instant.ofEpochMilli(taskScheduledTime).atZone(getZoneId()));
+        return nextTime == null ? Long.MIN_VALUE : nextTime.toInstant().toEpochMilli();
     }
 
     /**
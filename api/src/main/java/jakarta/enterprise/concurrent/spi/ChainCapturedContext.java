@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import jakarta.enterprise.concurrent.CapturedContext;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * CapturedContext that applies snapshots with a {@link ThreadContextChain}.
+ * Contextual actions hold only a reference to this instance and to the action.
+ */
+final class ChainCapturedContext implements CapturedContext {
+    private final ThreadContextChain chain;
+    private final ThreadContextSnapshot[] snapshots;
+
+    ChainCapturedContext(final ThreadContextChain chain, final ThreadContextSnapshot[] snapshots) {
+        this.chain = chain;
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public <R> R call(final Callable<R> callable) throws Exception {
+        ThreadContextRestorer[] restorers = chain.begin(snapshots);
+        try {
+            return callable.call();
+        } finally {
+            chain.endContext(restorers);
+        }
+    }
+
+    @Override
+    public <T, U> BiConsumer<T, U> contextualConsumer(final BiConsumer<T, U> consumer) {
+        return (t, u) -> {
+            ThreadContextRestorer[] restorers = chain.begin(snapshots);
+            try {
+                consumer.accept(t, u);
+            } finally {
+                chain.endContext(restorers);
+            }
+        };
+    }
+
+    @Override
+    public <T> Consumer<T> contextualConsumer(final Consumer<T> consumer) {
+        return t -> {
+            ThreadContextRestorer[] restorers = chain.begin(snapshots);
+            try {
+                consumer.accept(t);
+            } finally {
+                chain.endContext(restorers);
+            }
+        };
+    }
+
+    @Override
+    public <T, U, R> BiFunction<T, U, R> contextualFunction(final BiFunction<T, U, R> function) {
+        return (t, u) -> {
+            ThreadContextRestorer[] restorers = chain.begin(snapshots);
+            try {
+                return function.apply(t, u);
+            } finally {
+                chain.endContext(restorers);
+            }
+        };
+    }
+
+    @Override
+    public <T, R> Function<T, R> contextualFunction(final Function<T, R> function) {
+        return t -> {
+            ThreadContextRestorer[] restorers = chain.begin(snapshots);
+            try {
+                return function.apply(t);
+            } finally {
+                chain.endContext(restorers);
+            }
+        };
+    }
+
+    @Override
+    public void run(final Runnable runnable) {
+        ThreadContextRestorer[] restorers = chain.begin(snapshots);
+        try {
+            runnable.run();
+        } finally {
+            chain.endContext(restorers);
+        }
+    }
+
+    @Override
+    public <R> R supply(final Supplier<R> supplier) {
+        ThreadContextRestorer[] restorers = chain.begin(snapshots);
+        try {
+            return supplier.get();
+        } finally {
+            chain.endContext(restorers);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CapturedContext[" + chain + "]";
+    }
+}
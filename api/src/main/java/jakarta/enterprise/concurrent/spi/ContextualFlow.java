@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Flow;
+
+/**
+ * Contextual {@link Flow.Subscriber subscribers} and {@link Flow.Processor processors}
+ * that apply context once for each run of signals rather than once for each signal,
+ * for Jakarta EE Product Providers to use in implementing
+ * {@link jakarta.enterprise.concurrent.ContextService#contextualSubscriber ContextService.contextualSubscriber}
+ * and {@link jakarta.enterprise.concurrent.ContextService#contextualProcessor ContextService.contextualProcessor}.
+ * <p>
+ * A publisher commonly delivers items synchronously from within
+ * {@link Flow.Subscription#request request}, which the subscriber invokes from
+ * {@link Flow.Subscriber#onNext onNext} or {@link Flow.Subscriber#onSubscribe onSubscribe}.
+ * When a contextual subscriber receives a signal while it is already delivering a signal on the
+ * same thread, it holds the signal until the outer signal completes and then delivers it
+ * under the context that is already applied, such that the context is applied once for all of
+ * the items that the publisher delivers for the batch of requests. Only this synchronous,
+ * re-entrant delivery is amortized. A publisher that delivers items from its own drain loop,
+ * such as {@link java.util.concurrent.SubmissionPublisher SubmissionPublisher}, invokes
+ * {@code onNext} for each item after the previous signal returns, in which case the context
+ * is applied and restored for each item, because the contextual subscriber cannot tell when
+ * the publisher's loop ends. Signals are delivered
+ * in the order in which they are received, each with the captured context on the thread,
+ * and the previous context of the thread is restored before control returns to the
+ * publisher from the outermost signal. As permitted by the Reactive Streams
+ * specification, to which {@code java.util.concurrent.Flow} conforms, signals are
+ * not delivered concurrently, and therefore the subscriber does not synchronize.
+ * If the subscriber raises an exception, which the Reactive Streams specification does
+ * not permit, the contextual subscriber discards the signals that it holds, cancels the
+ * subscription, and ignores subsequent signals, such that signals are never delivered
+ * out of order or after a terminal signal.
+ *
+ * @since 3.2
+ */
+public final class ContextualFlow {
+    private static final int SUBSCRIBE = 0;
+    private static final int ERROR = 1;
+    private static final int COMPLETE = 2;
+
+    private ContextualFlow() {
+    }
+
+    /**
+     * Returns a contextual subscriber.
+     *
+     * @param <T>        type of items.
+     * @param subscriber the subscriber to which to deliver signals.
+     * @param chain      the chain of thread context providers that captured the snapshots.
+     * @param snapshots  the captured context.
+     * @return the contextual subscriber.
+     * @throws IllegalArgumentException if the number of snapshots does not match the size of the chain.
+     */
+    public static <T> Flow.Subscriber<T> subscriber(final Flow.Subscriber<T> subscriber,
+                                                    final ThreadContextChain chain,
+                                                    final ThreadContextSnapshot[] snapshots) {
+        return new FusedSubscriber<T>(subscriber, chain, snapshots);
+    }
+
+    /**
+     * Returns a contextual processor. In addition to the signals that the processor receives
+     * as a subscriber, subscribing to the processor runs with the captured context.
+     *
+     * @param <T>       type of items that the processor receives.
+     * @param <R>       type of items that the processor publishes.
+     * @param processor the processor to which to delegate.
+     * @param chain     the chain of thread context providers that captured the snapshots.
+     * @param snapshots the captured context.
+     * @return the contextual processor.
+     * @throws IllegalArgumentException if the number of snapshots does not match the size of the chain.
+     */
+    public static <T, R> Flow.Processor<T, R> processor(final Flow.Processor<T, R> processor,
+                                                        final ThreadContextChain chain,
+                                                        final ThreadContextSnapshot[] snapshots) {
+        return new FusedProcessor<T, R>(processor, chain, snapshots);
+    }
+
+    /**
+     * A signal other than onNext, which is held while another signal is being delivered.
+     */
+    private static final class Signal {
+        private final int type;
+        private final Object value;
+
+        private Signal(final int type, final Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Subscriber that delivers signals with context, applying the context once
+     * for signals that are received while delivering another signal.
+     *
+     * @param <T> type of items.
+     */
+    static class FusedSubscriber<T> implements Flow.Subscriber<T> {
+        private final Flow.Subscriber<T> subscriber;
+        private final ThreadContextChain chain;
+        private final ThreadContextSnapshot[] snapshots;
+
+        /**
+         * Indicates that a signal is being delivered, with the context applied.
+         */
+        private boolean delivering;
+
+        /**
+         * Signals that were received while delivering another signal. Items are held as is,
+         * and other signals as instances of {@link Signal}. Created upon first use.
+         */
+        private ArrayDeque<Object> held;
+
+        /**
+         * The subscription, once delivered to the subscriber.
+         */
+        private Flow.Subscription upstream;
+
+        /**
+         * Indicates that the subscriber raised an exception, after which signals are ignored.
+         */
+        private boolean failed;
+
+        FusedSubscriber(final Flow.Subscriber<T> subscriber, final ThreadContextChain chain,
+                        final ThreadContextSnapshot[] snapshots) {
+            if (snapshots.length != chain.size()) {
+                throw new IllegalArgumentException(snapshots.length + " != " + chain.size());
+            }
+            this.subscriber = subscriber;
+            this.chain = chain;
+            this.snapshots = snapshots;
+        }
+
+        /**
+         * Applies the captured context to the current thread.
+         *
+         * @return restorers for {@link #endContext(ThreadContextRestorer[])}.
+         */
+        final ThreadContextRestorer[] beginContext() {
+            return chain.begin(snapshots);
+        }
+
+        /**
+         * Restores the previous context of the current thread.
+         *
+         * @param restorers restorers from {@link #beginContext()}.
+         */
+        final void endContext(final ThreadContextRestorer[] restorers) {
+            chain.endContext(restorers);
+        }
+
+        @Override
+        public final void onComplete() {
+            receive(new Signal(COMPLETE, null));
+        }
+
+        @Override
+        public final void onError(final Throwable throwable) {
+            receive(new Signal(ERROR, throwable));
+        }
+
+        @Override
+        public final void onNext(final T item) {
+            receive(item);
+        }
+
+        @Override
+        public final void onSubscribe(final Flow.Subscription subscription) {
+            receive(new Signal(SUBSCRIBE, subscription));
+        }
+
+        /**
+         * Delivers a signal to the subscriber.
+         *
+         * @param signal an item or an instance of {@link Signal}.
+         */
+        @SuppressWarnings("unchecked")
+        private void deliver(final Object signal) {
+            if (signal instanceof Signal) {
+                Signal s = (Signal) signal;
+                switch (s.type) {
+                    case SUBSCRIBE:
+                        upstream = (Flow.Subscription) s.value;
+                        subscriber.onSubscribe(upstream);
+                        break;
+                    case ERROR:
+                        subscriber.onError((Throwable) s.value);
+                        break;
+                    default:
+                        subscriber.onComplete();
+                }
+            } else {
+                subscriber.onNext((T) signal);
+            }
+        }
+
+        /**
+         * Delivers a signal with context, or holds it if a signal is already being
+         * delivered, in which case the signal is delivered before the context is removed.
+         *
+         * @param signal an item or an instance of {@link Signal}.
+         */
+        private void receive(final Object signal) {
+            if (failed) {
+                return;
+            }
+            if (delivering) {
+                if (held == null) {
+                    held = new ArrayDeque<Object>();
+                }
+                held.add(signal);
+                return;
+            }
+            delivering = true;
+            ThreadContextRestorer[] restorers = chain.begin(snapshots);
+            try {
+                deliver(signal);
+                if (held != null) {
+                    for (Object next = held.poll(); next != null; next = held.poll()) {
+                        deliver(next);
+                    }
+                }
+            } catch (RuntimeException | Error x) {
+                // held signals would otherwise be delivered after subsequent signals
+                failed = true;
+                if (held != null) {
+                    held.clear();
+                }
+                if (upstream != null) {
+                    try {
+                        upstream.cancel();
+                    } catch (RuntimeException | Error e) {
+                        x.addSuppressed(e);
+                    }
+                }
+                throw x;
+            } finally {
+                delivering = false;
+                chain.endContext(restorers);
+            }
+        }
+    }
+
+    /**
+     * Processor that receives signals as a {@link FusedSubscriber} and subscribes with context.
+     *
+     * @param <T> type of items that the processor receives.
+     * @param <R> type of items that the processor publishes.
+     */
+    static final class FusedProcessor<T, R> extends FusedSubscriber<T> implements Flow.Processor<T, R> {
+        private final Flow.Processor<T, R> processor;
+
+        FusedProcessor(final Flow.Processor<T, R> processor, final ThreadContextChain chain,
+                       final ThreadContextSnapshot[] snapshots) {
+            super(processor, chain, snapshots);
+            this.processor = processor;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super R> subscriber) {
+            ThreadContextRestorer[] restorers = beginContext();
+            try {
+                processor.subscribe(subscriber);
+            } finally {
+                endContext(restorers);
+            }
+        }
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates contextual proxies for a set of interfaces, for Jakarta EE Product Providers
+ * to use in implementing
+ * {@link jakarta.enterprise.concurrent.ContextService#createContextualProxy(Object, Class...)
+ * ContextService.createContextualProxy}.
+ * <p>
+ * Where possible, the factory generates a proxy class that implements each interface
+ * method by applying the captured context with a {@link ThreadContextChain}, invoking the
+ * same method of the proxied instance directly, and then restoring the previous context.
+ * Unlike a {@link Proxy java.lang.reflect.Proxy}, the generated class does not box the
+ * arguments or dispatch reflectively. The class is defined as a
+ * {@linkplain MethodHandles.Lookup#defineHiddenClass hidden class} in the package of one
+ * of the interfaces, or of this class if all of the interfaces are provided by the
+ * platform, such that it is unloaded along with the class loader of the interfaces.
+ * Defining a hidden class requires full-privilege access to the package, which is
+ * not available from a different module, including the unnamed module of a different
+ * class loader, as is usual for applications. For such packages, the factory first
+ * defines a small package-private bridge class in the package, once per class loader
+ * and package, through which it obtains full-privilege access. The bridge class is an
+ * ordinary class, which remains loaded for the life of its class loader, and offers no
+ * access beyond what the package already has. If the package cannot be accessed at all,
+ * such as when it is not open to this module, the factory creates
+ * {@code java.lang.reflect.Proxy} instances.
+ * <p>
+ * Factories are cached per set of interfaces, on the interface in whose package the proxy
+ * class is defined, and are unloaded along with the class loader of that interface.
+ * The methods that are declared by {@link Object} run without context on the proxy
+ * itself, such that proxies are equal only to themselves.
+ *
+ * @since 3.2
+ */
+public final class ContextualProxyFactory {
+    private static final ClassValue<Map<List<Class<?>>, ContextualProxyFactory>> FACTORIES =
+            new ClassValue<Map<List<Class<?>>, ContextualProxyFactory>>() {
+                @Override
+                protected Map<List<Class<?>>, ContextualProxyFactory> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<List<Class<?>>, ContextualProxyFactory>();
+                }
+            };
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(
+            Object.class, Object.class, ThreadContextChain.class, ThreadContextSnapshot[].class);
+
+    /**
+     * Simple name of the bridge class that is defined in application packages.
+     */
+    private static final String BRIDGE = "ContextualProxyFactory$Bridge";
+
+    private final Class<?>[] interfaces;
+
+    /**
+     * Constructor of the generated class, or null if proxies are created with java.lang.reflect.Proxy.
+     */
+    private final MethodHandle constructor;
+
+    private ContextualProxyFactory(final Class<?>[] interfaces, final Class<?> host) {
+        this.interfaces = interfaces;
+        this.constructor = generate(interfaces, host);
+    }
+
+    /**
+     * Returns the factory for a set of interfaces.
+     *
+     * @param interfaces interfaces that the proxies implement.
+     * @return the factory.
+     * @throws IllegalArgumentException if no interfaces are specified or if
+     *         any of the classes is not an interface.
+     */
+    public static ContextualProxyFactory forInterfaces(final Class<?>... interfaces) {
+        if (interfaces.length == 0) {
+            throw new IllegalArgumentException("interfaces");
+        }
+        for (Class<?> intf : interfaces) {
+            if (!intf.isInterface()) {
+                throw new IllegalArgumentException(intf.getName());
+            }
+        }
+        Class<?>[] copy = interfaces.clone();
+        Class<?> host = host(copy);
+        // cache on the interface whose class loader defines the proxy class, such that the cache
+        // entry does not keep that class loader reachable from a class of a parent class loader
+        Class<?> key = host;
+        for (int i = 0; key == null && i < copy.length; i++) {
+            if (copy[i].getClassLoader() != null) {
+                key = copy[i];
+            }
+        }
+        return FACTORIES.get(key == null ? copy[0] : key)
+                .computeIfAbsent(Arrays.asList(copy), k -> new ContextualProxyFactory(copy, host));
+    }
+
+    /**
+     * Returns the interfaces that the proxies implement.
+     *
+     * @return the interfaces.
+     */
+    public Class<?>[] getInterfaces() {
+        return interfaces.clone();
+    }
+
+    /**
+     * Indicates whether the factory creates instances of a generated class
+     * rather than of {@link Proxy java.lang.reflect.Proxy}.
+     *
+     * @return {@code true} if the proxy class is generated, otherwise {@code false}.
+     */
+    public boolean isGenerated() {
+        return constructor != null;
+    }
+
+    /**
+     * Creates a contextual proxy.
+     *
+     * @param instance  the instance to which to delegate.
+     * @param chain     the chain of thread context providers that captured the snapshots.
+     * @param snapshots the captured context, which is applied to the thread around each
+     *                  invocation of an interface method.
+     * @return the proxy, which implements the interfaces of this factory.
+     * @throws IllegalArgumentException if the instance does not implement the interfaces
+     *         or the number of snapshots does not match the size of the chain.
+     */
+    public Object newProxy(final Object instance, final ThreadContextChain chain,
+                           final ThreadContextSnapshot[] snapshots) {
+        for (Class<?> intf : interfaces) {
+            if (!intf.isInstance(instance)) {
+                throw new IllegalArgumentException(instance.getClass().getName() + " " + intf.getName());
+            }
+        }
+        if (snapshots.length != chain.size()) {
+            throw new IllegalArgumentException(snapshots.length + " != " + chain.size());
+        }
+        if (constructor == null) {
+            return Proxy.newProxyInstance(interfaces[0].getClassLoader(), interfaces,
+                                          new ContextualInvocationHandler(instance, chain, snapshots));
+        }
+        try {
+            return (Object) constructor.invokeExact(instance, chain, snapshots);
+        } catch (RuntimeException | Error x) {
+            throw x;
+        } catch (Throwable x) {
+            throw new IllegalStateException(x);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ContextualProxyFactory" + Arrays.toString(interfaces) + (constructor == null ? " (reflective)" : "");
+    }
+
+    /**
+     * Obtains a lookup with full-privilege access to the package of a class in a different module,
+     * by defining a bridge class in the package, or using the bridge class that is already defined.
+     *
+     * @param lookup lookup with package access to the package, from {@code privateLookupIn}.
+     * @return lookup with full-privilege access to the package.
+     * @throws IllegalAccessException if the bridge class cannot be accessed.
+     */
+    private static MethodHandles.Lookup bridge(final MethodHandles.Lookup lookup) throws IllegalAccessException {
+        Class<?> host = lookup.lookupClass();
+        String packageName = host.getPackageName();
+        String name = packageName.isEmpty() ? BRIDGE : packageName + "." + BRIDGE;
+        Class<?> bridge;
+        try {
+            bridge = lookup.findClass(name);
+        } catch (ClassNotFoundException x) {
+            try {
+                bridge = lookup.defineClass(ProxyClassWriter.writeBridge(name.replace('.', '/')));
+            } catch (LinkageError e) {
+                // defined concurrently by another thread
+                try {
+                    bridge = lookup.findClass(name);
+                } catch (ClassNotFoundException notFound) {
+                    throw e;
+                }
+            }
+        }
+        if (bridge.getClassLoader() != host.getClassLoader() || bridge.getModule() != host.getModule()) {
+            throw new IllegalAccessException(bridge.getName());
+        }
+        try {
+            return (MethodHandles.Lookup) lookup.findStatic(bridge, "lookup",
+                                                           MethodType.methodType(MethodHandles.Lookup.class))
+                    .invokeExact();
+        } catch (IllegalAccessException | RuntimeException | Error x) {
+            throw x;
+        } catch (Throwable x) {
+            throw new IllegalStateException(x);
+        }
+    }
+
+    /**
+     * Generates the proxy class for a set of interfaces.
+     *
+     * @param interfaces interfaces that the proxies implement.
+     * @param host       interface in whose package to define the proxy class,
+     *                   or null to define it in the package of this class.
+     * @return constructor of the generated class, adapted to the constructor type,
+     *         or null if a class cannot be generated for the interfaces.
+     */
+    private static MethodHandle generate(final Class<?>[] interfaces, final Class<?> host) {
+        ClassLoader loader = host == null ? null : host.getClassLoader();
+        if (host == null && !visibleToAll(null, interfaces)) {
+            return null;
+        }
+
+        // select the methods to implement, omitting those of Object
+        List<Method> methods = new ArrayList<Method>();
+        List<Class<?>> owners = new ArrayList<Class<?>>();
+        Map<String, Method> signatures = new HashMap<String, Method>();
+        for (Class<?> intf : interfaces) {
+            if (!Modifier.isPublic(intf.getModifiers()) && (host == null || !samePackage(intf, host))) {
+                return null;
+            }
+            for (Method m : intf.getMethods()) {
+                if (Modifier.isStatic(m.getModifiers()) || isObjectMethod(m)) {
+                    continue;
+                }
+                String signature = m.getName() + Arrays.toString(m.getParameterTypes());
+                Method previous = signatures.putIfAbsent(signature, m);
+                if (previous != null) {
+                    if (previous.getReturnType() != m.getReturnType()) {
+                        return null; // implementing both would require a bridge method
+                    }
+                    continue;
+                }
+                if (!visible(loader, m.getReturnType()) || !visibleToAll(loader, m.getParameterTypes())) {
+                    return null;
+                }
+                methods.add(m);
+                owners.add(intf);
+            }
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            if (host != null) {
+                // the proxy class, which is in the module of the host, must be able to access the chain
+                if (!host.getModule().canRead(ContextualProxyFactory.class.getModule())) {
+                    return null;
+                }
+                ContextualProxyFactory.class.getModule().addReads(host.getModule());
+                lookup = MethodHandles.privateLookupIn(host, lookup);
+                if (!lookup.hasFullPrivilegeAccess()) {
+                    lookup = bridge(lookup);
+                }
+            }
+            String packageName = lookup.lookupClass().getPackageName();
+            String prefix = packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/";
+            byte[] bytes = ProxyClassWriter.write(prefix + "ContextualProxy", interfaces, methods, owners);
+            lookup = lookup.defineHiddenClass(bytes, true);
+            Class<?> proxyClass = lookup.lookupClass();
+            return lookup.findConstructor(proxyClass, MethodType.methodType(
+                    void.class, Object.class, ThreadContextChain.class, ThreadContextSnapshot[].class))
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException | NoSuchMethodException | SecurityException | LinkageError x) {
+            return null;
+        }
+    }
+
+    /**
+     * Selects the interface in whose package to define the proxy class, which is the first
+     * interface, other than those of the platform, whose class loader can see all of the interfaces.
+     *
+     * @param interfaces interfaces that the proxies implement.
+     * @return the interface, or null if none.
+     */
+    private static Class<?> host(final Class<?>[] interfaces) {
+        for (Class<?> intf : interfaces) {
+            if (intf.getClassLoader() != null && visibleToAll(intf.getClassLoader(), interfaces)) {
+                return intf;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indicates whether a method has the same signature as a public method of Object.
+     *
+     * @param m the method.
+     * @return {@code true} if the method is equals, hashCode, or toString.
+     */
+    private static boolean isObjectMethod(final Method m) {
+        try {
+            Object.class.getMethod(m.getName(), m.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException x) {
+            return false;
+        }
+    }
+
+    /**
+     * Indicates whether two classes are in the same runtime package.
+     *
+     * @param a a class.
+     * @param b another class.
+     * @return {@code true} if the classes are in the same package of the same class loader.
+     */
+    private static boolean samePackage(final Class<?> a, final Class<?> b) {
+        return a.getClassLoader() == b.getClassLoader() && a.getPackageName().equals(b.getPackageName());
+    }
+
+    /**
+     * Indicates whether a class loader resolves the name of a class to the class.
+     *
+     * @param loader the class loader, or null for the bootstrap class loader.
+     * @param c      the class.
+     * @return {@code true} if the class is visible to the class loader.
+     */
+    private static boolean visible(final ClassLoader loader, final Class<?> c) {
+        Class<?> type = c;
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || type.getClassLoader() == loader) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException | LinkageError x) {
+            return false;
+        }
+    }
+
+    /**
+     * Indicates whether a class loader resolves the names of classes to the classes.
+     *
+     * @param loader  the class loader, or null for the bootstrap class loader.
+     * @param classes the classes.
+     * @return {@code true} if all of the classes are visible to the class loader.
+     */
+    private static boolean visibleToAll(final ClassLoader loader, final Class<?>[] classes) {
+        for (Class<?> c : classes) {
+            if (!visible(loader, c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invocation handler for proxies that cannot be generated.
+     */
+    private static final class ContextualInvocationHandler implements InvocationHandler {
+        private final Object instance;
+        private final ThreadContextChain chain;
+        private final ThreadContextSnapshot[] snapshots;
+
+        private ContextualInvocationHandler(final Object instance, final ThreadContextChain chain,
+                                            final ThreadContextSnapshot[] snapshots) {
+            this.instance = instance;
+            this.chain = chain;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return proxy.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            ThreadContextRestorer[] restorers = chain.begin(snapshots);
+            try {
+                return method.invoke(instance, args);
+            } catch (InvocationTargetException x) {
+                throw x.getCause();
+            } finally {
+                chain.endContext(restorers);
+            }
+        }
+    }
+}
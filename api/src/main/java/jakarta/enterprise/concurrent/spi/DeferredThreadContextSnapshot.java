@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Snapshot that holds a capture token and materializes the snapshot
+ * from it upon the first {@link #begin()} or {@link #isCurrent()}.
+ *
+ * @param <T> type of the capture token.
+ */
+final class DeferredThreadContextSnapshot<T> implements ThreadContextSnapshot {
+    private final T token;
+
+    /**
+     * Creates the snapshot from the token. Null after materializing.
+     */
+    private Function<? super T, ? extends ThreadContextSnapshot> materializer;
+
+    private volatile ThreadContextSnapshot snapshot;
+
+    DeferredThreadContextSnapshot(final T token,
+                                  final Function<? super T, ? extends ThreadContextSnapshot> materializer) {
+        this.token = token;
+        this.materializer = Objects.requireNonNull(materializer, "materializer");
+    }
+
+    @Override
+    public ThreadContextRestorer begin() {
+        return materialize().begin();
+    }
+
+    @Override
+    public boolean isCurrent() {
+        return materialize().isCurrent();
+    }
+
+    /**
+     * Returns the materialized snapshot, creating it from the token if not already created.
+     *
+     * @return the materialized snapshot.
+     */
+    ThreadContextSnapshot materialize() {
+        ThreadContextSnapshot materialized = snapshot;
+        if (materialized == null) {
+            synchronized (this) {
+                materialized = snapshot;
+                if (materialized == null) {
+                    materialized = Objects.requireNonNull(materializer.apply(token), "snapshot");
+                    snapshot = materialized;
+                    materializer = null;
+                }
+            }
+        }
+        return materialized;
+    }
+
+    @Override
+    public String toString() {
+        ThreadContextSnapshot materialized = snapshot;
+        return materialized == null
+                ? "DeferredThreadContextSnapshot@" + Integer.toHexString(hashCode()) + "[" + token + "]"
+                : materialized.toString();
+    }
+}
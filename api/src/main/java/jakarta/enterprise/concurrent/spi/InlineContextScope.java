@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+/**
+ * A scope on a thread within which consecutive contextual actions that apply
+ * the same captured context share a single application of the context,
+ * for Jakarta EE Product Providers to use as an optimization for the dependent
+ * stages of completion stages that are returned by
+ * {@link jakarta.enterprise.concurrent.ContextService#withContextCapture(java.util.concurrent.CompletableFuture)
+ * ContextService.withContextCapture}.
+ * <p>
+ * When a stage completes, the dependent stages that can run on the completing
+ * thread run back to back, each of which would otherwise apply and then remove the
+ * same captured context. The Product Provider opens a scope around the operation
+ * that starts such a run, such as completing a stage or running an asynchronous
+ * action, and the contextual actions {@link #begin begin} and {@link #end end} their
+ * context through this class rather than directly with the {@link ThreadContextChain}.
+ * Within the scope, the first action to begin context leaves it applied after it ends,
+ * and subsequent actions with the same snapshots run under it without applying it
+ * again, unless a snapshot that implements {@link ThreadContextSnapshot#isCurrent() isCurrent}
+ * reports that its context is no longer on the thread, such as when an earlier action changed
+ * the priority or context class loader of the thread, in which case the context is applied
+ * again. Changes to context of snapshots that do not implement {@code isCurrent} cannot be
+ * detected and remain for subsequent actions with the same snapshots, so thread context
+ * providers should implement {@code isCurrent} for context that actions can change.
+ * An action with different snapshots replaces the context. Closing the scope
+ * restores the previous context of the thread. Actions that run within another
+ * action, rather than after it, apply and remove their context as usual.
+ * <pre>
+ * // when completing a stage
+ * try (InlineContextScope scope = InlineContextScope.open()) {
+ *     stage.complete(result);
+ * }
+ *
+ * // when running each contextual action of a dependent stage
+ * ThreadContextRestorer[] restorers = InlineContextScope.begin(chain, snapshots);
+ * try {
+ *     return fn.apply(t);
+ * } finally {
+ *     InlineContextScope.end(chain, restorers);
+ * }
+ * </pre>
+ * Code that runs within the scope between contextual actions, such as the completion
+ * stage implementation or a dependent stage that is not contextual, runs with the
+ * context of the most recent action rather than the previous context of the thread.
+ * Product Providers must only open a scope where that is acceptable, such as
+ * where all dependent stages are contextual, or where it is enabled by configuration.
+ * Outside of a scope, {@code begin} and {@code end} apply and remove context the same
+ * as the {@code ThreadContextChain}.
+ *
+ * @since 3.2
+ */
+public final class InlineContextScope implements AutoCloseable {
+    private static final ThreadLocal<InlineContextScope> CURRENT = new ThreadLocal<InlineContextScope>();
+
+    /**
+     * Returned by {@link #begin} instead of restorers when the context is left applied for the scope.
+     */
+    private static final ThreadContextRestorer[] RETAINED = new ThreadContextRestorer[0];
+
+    /**
+     * Returned by {@link #open()} when a scope is already open on the thread.
+     */
+    private static final InlineContextScope NESTED = new InlineContextScope(null);
+
+    /**
+     * Indicates whether a type of snapshot implements {@link ThreadContextSnapshot#isCurrent() isCurrent},
+     * such that it can report whether an action changed its context.
+     */
+    private static final ClassValue<Boolean> VERIFIABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("isCurrent").getDeclaringClass() != ThreadContextSnapshot.class;
+            } catch (NoSuchMethodException | SecurityException x) {
+                return false;
+            }
+        }
+    };
+
+    private final Thread thread;
+
+    /**
+     * Number of contextual actions that are running within the scope.
+     */
+    private int depth;
+
+    /**
+     * Chain, snapshots, and restorers of the context that is left applied for the scope, if any.
+     */
+    private ThreadContextChain chain;
+    private ThreadContextSnapshot[] snapshots;
+    private ThreadContextRestorer[] restorers;
+
+    private InlineContextScope(final Thread thread) {
+        this.thread = thread;
+    }
+
+    /**
+     * Opens a scope on the current thread. If a scope is already open on the thread,
+     * the returned scope is part of it and closing it has no effect.
+     *
+     * @return the scope, which must be closed on the same thread.
+     */
+    public static InlineContextScope open() {
+        if (CURRENT.get() != null) {
+            return NESTED;
+        }
+        InlineContextScope scope = new InlineContextScope(Thread.currentThread());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Applies captured context to the current thread for a contextual action,
+     * unless it is already applied for the scope.
+     *
+     * @param chain     the chain that captured the snapshots.
+     * @param snapshots the captured context.
+     * @return value to supply to {@link #end end} after the action.
+     */
+    public static ThreadContextRestorer[] begin(final ThreadContextChain chain,
+                                                final ThreadContextSnapshot[] snapshots) {
+        InlineContextScope scope = CURRENT.get();
+        if (scope == null) {
+            return chain.begin(snapshots);
+        }
+        if (scope.depth > 0) {
+            ThreadContextRestorer[] nested = chain.begin(snapshots);
+            scope.depth++;
+            return nested;
+        }
+        if (scope.snapshots != snapshots || changed(snapshots)) {
+            scope.restore();
+            scope.restorers = chain.begin(snapshots);
+            scope.chain = chain;
+            scope.snapshots = snapshots;
+        }
+        scope.depth++;
+        return RETAINED;
+    }
+
+    /**
+     * Determines whether an earlier action changed context that is left applied for the scope.
+     *
+     * @param snapshots the captured context.
+     * @return true if any snapshot that implements isCurrent is not current, otherwise false.
+     */
+    private static boolean changed(final ThreadContextSnapshot[] snapshots) {
+        for (ThreadContextSnapshot snapshot : snapshots) {
+            ThreadContextSnapshot s = snapshot instanceof DeferredThreadContextSnapshot
+                    ? ((DeferredThreadContextSnapshot<?>) snapshot).materialize()
+                    : snapshot;
+            if (VERIFIABLE.get(s.getClass()) && !s.isCurrent()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes context from the current thread after a contextual action,
+     * unless it is left applied for the scope.
+     *
+     * @param chain     the chain that captured the snapshots.
+     * @param restorers the value that {@link #begin begin} returned for the action.
+     */
+    public static void end(final ThreadContextChain chain, final ThreadContextRestorer[] restorers) {
+        InlineContextScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.depth--;
+        }
+        if (restorers != RETAINED) {
+            chain.endContext(restorers);
+        }
+    }
+
+    /**
+     * Restores the previous context of the thread and closes the scope.
+     *
+     * @throws IllegalStateException if not invoked on the thread that opened the scope.
+     */
+    @Override
+    public void close() {
+        if (this == NESTED) {
+            return;
+        }
+        if (Thread.currentThread() != thread) {
+            throw new IllegalStateException(thread.toString());
+        }
+        CURRENT.remove();
+        restore();
+    }
+
+    /**
+     * Removes the context that is left applied for the scope, if any.
+     */
+    private void restore() {
+        ThreadContextRestorer[] applied = restorers;
+        if (applied != null) {
+            ThreadContextChain appliedChain = chain;
+            restorers = null;
+            chain = null;
+            snapshots = null;
+            appliedChain.endContext(applied);
+        }
+    }
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import jakarta.enterprise.concurrent.Lock;
+import jakarta.enterprise.concurrent.LockKey;
+import jakarta.enterprise.concurrent.LockTimeoutException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Reference implementation of the lock that governs concurrent access to
+ * a bean instance per the {@link Lock} annotation, to which the interceptor
+ * of a Jakarta EE Product Provider can delegate. The interceptor uses a separate
+ * <code>LockEngine</code> for each bean instance. For example,
+ * <pre>
+ * &#64;AroundInvoke
+ * public Object invoke(InvocationContext context) throws Exception {
+ *     Lock lock = ... // from the method or class
+ *     try {
+ *         return lockEngineOf(context.getTarget()).invoke(lock, context::proceed);
+ *     } catch (InterruptedException x) {
+ *         if (declaresInterruptedException(context.getMethod()))
+ *             throw x;
+ *         else
+ *             throw new IllegalStateException(x);
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * The engine is built upon a {@link StampedLock}, such that
+ * {@link Lock.Type#OPTIMISTIC_READ OPTIMISTIC_READ} methods run without writing
+ * to shared memory when no thread holds the <code>WRITE</code> lock, and are validated
+ * afterward, running again under the <code>READ</code> lock only if a write intervened.
+ * Locks that a thread already holds are tracked per thread, such that a
+ * <code>WRITE</code> or <code>READ</code> method that is invoked from a method
+ * of the same bean runs under the lock that is already held, as the <code>Lock</code>
+ * annotation requires.
+ * <p>
+ * Methods with a {@link LockKey} parameter obtain the lock for the entire bean instance
+ * in shared mode and the lock for the stripe of the key in the mode that the method requires.
+ * The interceptor determines which parameter, if any, is the key by using
+ * {@link #keyParameterOf(Method)}, and supplies its value to
+ * {@link #invoke(Lock, Object, Callable)}. The stripes are created upon first use.
+ * Locks that a thread holds for keys are tracked per stripe rather than per key, because
+ * the thread cannot obtain the lock for a stripe again while it holds it. Therefore, a
+ * thread that holds a <code>READ</code> lock for a key cannot obtain the <code>WRITE</code>
+ * lock for any key of the same stripe, including keys that are not equal, and raises
+ * {@link IllegalStateException} instead of deadlocking.
+ * <p>
+ * The interceptor can supply {@link LockMetrics} for each bean method, in which case
+ * the engine records how long invocations wait for and hold the lock, how many are
+ * waiting, and how many time out.
+ *
+ * @since 3.2
+ */
+public final class LockEngine {
+    /**
+     * Stripe number that represents the lock for the entire bean instance.
+     */
+    private static final int BEAN = -1;
+
+    /**
+     * Engines, stripes, and lock types that the current thread holds, innermost last.
+     */
+    private static final ThreadLocal<Held> HELD = ThreadLocal.withInitial(Held::new);
+
+    /**
+     * Longest wait for a lock, about 146 years, to which larger access timeouts are limited
+     * so that computing the deadline cannot overflow.
+     */
+    private static final long MAX_WAIT_NANOS = Long.MAX_VALUE >> 1;
+
+    /**
+     * Lock for the entire bean instance.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Number of stripes minus 1, where the number of stripes is a power of 2.
+     */
+    private final int stripeMask;
+
+    /**
+     * Locks for the stripes of keys, which are created upon first use.
+     */
+    private volatile StampedLock[] stripes;
+
+    /**
+     * Constructs a lock engine for a bean instance, with the
+     * {@linkplain LockKey#DEFAULT_STRIPES default number} of stripes.
+     */
+    public LockEngine() {
+        this(LockKey.DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a lock engine for a bean instance.
+     *
+     * @param stripes number of stripes among which to distribute keys,
+     *        which is rounded up to a power of 2.
+     * @throws IllegalArgumentException if the number of stripes is less than 1 or greater than 65536.
+     */
+    public LockEngine(final int stripes) {
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("stripes: " + stripes);
+        }
+        stripeMask = stripes == 1 ? 0 : (Integer.highestOneBit(stripes - 1) << 1) - 1;
+    }
+
+    /**
+     * Runs a bean method under the lock that the annotation requires.
+     *
+     * @param <T>        type of result of the bean method.
+     * @param annotation the <code>Lock</code> annotation of the bean method or class.
+     * @param method     invokes the bean method, such as <code>InvocationContext::proceed</code>.
+     * @return the result of the bean method.
+     * @throws Exception if raised by the bean method or as described for
+     *         {@link #invoke(Lock.Type, long, TimeUnit, Callable)}.
+     */
+    public <T> T invoke(final Lock annotation, final Callable<T> method) throws Exception {
+        return invoke(annotation.type(), annotation.accessTimeout(), annotation.unit(), BEAN, null, method);
+    }
+
+    /**
+     * Runs a bean method that has a {@link LockKey} parameter under the lock
+     * that the annotation requires for the key.
+     *
+     * @param <T>        type of result of the bean method.
+     * @param annotation the <code>Lock</code> annotation of the bean method or class.
+     * @param key        value of the <code>LockKey</code> parameter, which can be null.
+     * @param method     invokes the bean method, such as <code>InvocationContext::proceed</code>.
+     * @return the result of the bean method.
+     * @throws Exception if raised by the bean method or as described for
+     *         {@link #invoke(Lock.Type, long, TimeUnit, Callable)}.
+     */
+    public <T> T invoke(final Lock annotation, final Object key, final Callable<T> method) throws Exception {
+        return invoke(annotation.type(), annotation.accessTimeout(), annotation.unit(), stripeOf(key), null, method);
+    }
+
+    /**
+     * Runs a bean method under the lock that the annotation requires,
+     * recording contention statistics for the bean method.
+     *
+     * @param <T>        type of result of the bean method.
+     * @param annotation the <code>Lock</code> annotation of the bean method or class.
+     * @param metrics    statistics for the bean method.
+     * @param method     invokes the bean method, such as <code>InvocationContext::proceed</code>.
+     * @return the result of the bean method.
+     * @throws Exception if raised by the bean method or as described for
+     *         {@link #invoke(Lock.Type, long, TimeUnit, Callable)}.
+     */
+    public <T> T invoke(final Lock annotation, final LockMetrics metrics, final Callable<T> method)
+            throws Exception {
+        return invoke(annotation.type(), annotation.accessTimeout(), annotation.unit(), BEAN, metrics, method);
+    }
+
+    /**
+     * Runs a bean method that has a {@link LockKey} parameter under the lock
+     * that the annotation requires for the key, recording contention statistics
+     * for the bean method.
+     *
+     * @param <T>        type of result of the bean method.
+     * @param annotation the <code>Lock</code> annotation of the bean method or class.
+     * @param key        value of the <code>LockKey</code> parameter, which can be null.
+     * @param metrics    statistics for the bean method.
+     * @param method     invokes the bean method, such as <code>InvocationContext::proceed</code>.
+     * @return the result of the bean method.
+     * @throws Exception if raised by the bean method or as described for
+     *         {@link #invoke(Lock.Type, long, TimeUnit, Callable)}.
+     */
+    public <T> T invoke(final Lock annotation, final Object key, final LockMetrics metrics,
+                        final Callable<T> method) throws Exception {
+        return invoke(annotation.type(), annotation.accessTimeout(), annotation.unit(), stripeOf(key), metrics,
+                      method);
+    }
+
+    /**
+     * Runs a bean method under a lock of the specified type.
+     *
+     * @param <T>           type of result of the bean method.
+     * @param type          type of lock.
+     * @param accessTimeout maximum amount of time to wait to obtain the lock,
+     *                      or {@link Lock#IMMEDIATE} or {@link Lock#UNLIMITED}.
+     * @param unit          units of the access timeout.
+     * @param method        invokes the bean method, such as <code>InvocationContext::proceed</code>.
+     * @return the result of the bean method.
+     * @throws IllegalArgumentException if the access timeout is not valid.
+     * @throws IllegalStateException if the current thread would need to upgrade
+     *         to a <code>WRITE</code> lock.
+     * @throws InterruptedException if interrupted while waiting for the lock.
+     * @throws LockTimeoutException if the lock is not obtained within the access timeout.
+     * @throws Exception if raised by the bean method.
+     */
+    public <T> T invoke(final Lock.Type type, final long accessTimeout, final TimeUnit unit,
+                        final Callable<T> method) throws Exception {
+        return invoke(type, accessTimeout, unit, BEAN, null, method);
+    }
+
+    /**
+     * Runs a bean method that has a {@link LockKey} parameter under a lock of the specified type for the key.
+     *
+     * @param <T>           type of result of the bean method.
+     * @param type          type of lock.
+     * @param accessTimeout maximum amount of time to wait to obtain the lock,
+     *                      or {@link Lock#IMMEDIATE} or {@link Lock#UNLIMITED}.
+     * @param unit          units of the access timeout.
+     * @param key           value of the <code>LockKey</code> parameter, which can be null.
+     * @param method        invokes the bean method, such as <code>InvocationContext::proceed</code>.
+     * @return the result of the bean method.
+     * @throws Exception if raised by the bean method or as described for
+     *         {@link #invoke(Lock.Type, long, TimeUnit, Callable)}.
+     */
+    public <T> T invoke(final Lock.Type type, final long accessTimeout, final TimeUnit unit,
+                        final Object key, final Callable<T> method) throws Exception {
+        return invoke(type, accessTimeout, unit, stripeOf(key), null, method);
+    }
+
+    /**
+     * Determines which parameter of a bean method, if any, is annotated {@link LockKey}.
+     * The interceptor can cache the result per method.
+     *
+     * @param method the bean method.
+     * @return index of the parameter, or -1 if no parameter is annotated <code>LockKey</code>.
+     * @throws IllegalArgumentException if more than one parameter is annotated <code>LockKey</code>.
+     */
+    public static int keyParameterOf(final Method method) {
+        int index = -1;
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation anno : annotations[i]) {
+                if (anno instanceof LockKey) {
+                    if (index >= 0) {
+                        throw new IllegalArgumentException(method.toString());
+                    }
+                    index = i;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Runs a bean method under a lock of the specified type for the entire bean
+     * instance or for a stripe.
+     *
+     * @param <T>           type of result of the bean method.
+     * @param type          type of lock.
+     * @param accessTimeout maximum amount of time to wait to obtain the lock.
+     * @param unit          units of the access timeout.
+     * @param stripe        the stripe, or BEAN for the entire bean instance.
+     * @param metrics       statistics for the bean method, or null if not recorded.
+     * @param method        invokes the bean method.
+     * @return the result of the bean method.
+     * @throws Exception as described for {@link #invoke(Lock.Type, long, TimeUnit, Callable)}.
+     */
+    private <T> T invoke(final Lock.Type type, final long accessTimeout, final TimeUnit unit,
+                         final int stripe, final LockMetrics metrics, final Callable<T> method)
+            throws Exception {
+        if (accessTimeout < 0 && accessTimeout != Lock.UNLIMITED) {
+            throw new IllegalArgumentException("accessTimeout: " + accessTimeout);
+        }
+
+        Held held = HELD.get();
+        Lock.Type beanType = held.typeOf(this, BEAN);
+        Lock.Type current = null;
+        if (stripe != BEAN && beanType != Lock.Type.WRITE) {
+            current = held.typeOf(this, stripe);
+        }
+        boolean heldForStripe = current != null;
+        if (!heldForStripe && (stripe == BEAN || beanType == Lock.Type.WRITE
+                               || beanType == Lock.Type.OPTIMISTIC_READ)) {
+            current = beanType;
+        }
+        if (current != null) {
+            if (type == Lock.Type.WRITE && current != Lock.Type.WRITE) {
+                if (!heldForStripe) {
+                    throw new IllegalStateException("Unable to upgrade from the " + current
+                                                    + " lock to the WRITE lock.");
+                }
+                throw new IllegalStateException("Unable to upgrade from the " + current
+                        + " lock to the WRITE lock for stripe " + stripe + " of " + (stripeMask + 1)
+                        + ". The current thread holds the " + current + " lock for a key of the same"
+                        + " stripe, which might be a different key that has the same stripe.");
+            }
+            return method.call();
+        }
+
+        // The lock for the entire bean instance is needed unless already held in READ mode
+        boolean needsBeanLock = beanType == null;
+        StampedLock stripeLock = stripe == BEAN ? null : stripe(stripe);
+
+        if (type == Lock.Type.OPTIMISTIC_READ) {
+            long beanStamp = needsBeanLock ? lock.tryOptimisticRead() : 0L;
+            long stripeStamp = stripeLock == null ? 0L : stripeLock.tryOptimisticRead();
+            if ((beanStamp != 0L || !needsBeanLock) && (stripeStamp != 0L || stripeLock == null)) {
+                if (needsBeanLock) {
+                    held.push(this, BEAN, type);
+                }
+                if (stripeLock != null) {
+                    held.push(this, stripe, type);
+                }
+                try {
+                    T result = method.call();
+                    if ((!needsBeanLock || lock.validate(beanStamp))
+                            && (stripeLock == null || stripeLock.validate(stripeStamp))) {
+                        return result;
+                    }
+                } catch (Exception | Error x) {
+                    if ((!needsBeanLock || lock.validate(beanStamp))
+                            && (stripeLock == null || stripeLock.validate(stripeStamp))) {
+                        throw x;
+                    }
+                } finally {
+                    if (needsBeanLock) {
+                        held.pop();
+                    }
+                    if (stripeLock != null) {
+                        held.pop();
+                    }
+                }
+                // a WRITE lock was obtained meanwhile; run again under the READ lock
+                if (metrics != null) {
+                    metrics.optimisticRetry();
+                }
+            }
+            // otherwise a WRITE lock is held; wait for the READ lock without having run
+        }
+
+        boolean write = type == Lock.Type.WRITE;
+        long start = accessTimeout > 0 || metrics != null ? System.nanoTime() : 0L;
+        // limit the wait such that the deadline remains comparable to System.nanoTime
+        long deadline = accessTimeout > 0
+                ? start + Math.min(unit.toNanos(accessTimeout), MAX_WAIT_NANOS)
+                : 0L;
+        long beanStamp = 0L;
+        if (needsBeanLock) {
+            boolean writeBean = write && stripeLock == null;
+            beanStamp = acquire(lock, writeBean, accessTimeout, deadline, metrics);
+            if (beanStamp == 0L) {
+                if (metrics != null) {
+                    metrics.timedOut();
+                }
+                throw new LockTimeoutException("Unable to obtain the " + (writeBean ? "WRITE" : "READ")
+                                               + " lock within " + accessTimeout + ' ' + unit + '.');
+            }
+            held.push(this, BEAN, writeBean ? Lock.Type.WRITE : Lock.Type.READ);
+        }
+        long acquired = 0L;
+        boolean timing = false;
+        try {
+            if (stripeLock == null) {
+                if (metrics != null) {
+                    acquired = System.nanoTime();
+                    timing = true;
+                    metrics.acquired(acquired - start);
+                }
+                return method.call();
+            }
+            long stripeStamp = acquire(stripeLock, write, accessTimeout, deadline, metrics);
+            if (stripeStamp == 0L) {
+                if (metrics != null) {
+                    metrics.timedOut();
+                }
+                throw new LockTimeoutException("Unable to obtain the " + (write ? "WRITE" : "READ")
+                                               + " lock for the key within " + accessTimeout + ' ' + unit + '.');
+            }
+            held.push(this, stripe, write ? Lock.Type.WRITE : Lock.Type.READ);
+            if (metrics != null) {
+                acquired = System.nanoTime();
+                timing = true;
+                metrics.acquired(acquired - start);
+            }
+            try {
+                return method.call();
+            } finally {
+                held.pop();
+                stripeLock.unlock(stripeStamp);
+            }
+        } finally {
+            if (timing) {
+                metrics.released(System.nanoTime() - acquired);
+            }
+            if (needsBeanLock) {
+                held.pop();
+                lock.unlock(beanStamp);
+            }
+        }
+    }
+
+    /**
+     * Obtains the read or write lock, waiting up to the access timeout.
+     *
+     * @param stampedLock   the lock.
+     * @param write         true for the write lock, false for the read lock.
+     * @param accessTimeout maximum amount of time to wait to obtain the lock.
+     * @param deadline      value of System.nanoTime after which to stop waiting if the access timeout is positive.
+     * @param metrics       statistics in which to record the invocation as waiting, or null if not recorded.
+     * @return stamp with which to release the lock, or 0 if not obtained within the access timeout.
+     * @throws InterruptedException if interrupted while waiting for the lock.
+     */
+    private static long acquire(final StampedLock stampedLock, final boolean write,
+                                final long accessTimeout, final long deadline,
+                                final LockMetrics metrics) throws InterruptedException {
+        if (metrics != null) {
+            // only invocations that cannot obtain the lock immediately are counted as waiting
+            long stamp = write ? stampedLock.tryWriteLock() : stampedLock.tryReadLock();
+            if (stamp != 0L || accessTimeout == Lock.IMMEDIATE) {
+                return stamp;
+            }
+            metrics.awaiting();
+            try {
+                return acquire(stampedLock, write, accessTimeout, deadline, null);
+            } finally {
+                metrics.awaited();
+            }
+        } else if (accessTimeout == Lock.UNLIMITED) {
+            return write ? stampedLock.writeLockInterruptibly() : stampedLock.readLockInterruptibly();
+        } else if (accessTimeout == Lock.IMMEDIATE) {
+            return write ? stampedLock.tryWriteLock() : stampedLock.tryReadLock();
+        } else {
+            long remaining = deadline - System.nanoTime();
+            return write
+                    ? stampedLock.tryWriteLock(remaining, TimeUnit.NANOSECONDS)
+                    : stampedLock.tryReadLock(remaining, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns the lock for a stripe, creating the locks for all stripes upon first use.
+     *
+     * @param stripe the stripe.
+     * @return the lock.
+     */
+    private StampedLock stripe(final int stripe) {
+        StampedLock[] locks = stripes;
+        if (locks == null) {
+            synchronized (lock) {
+                locks = stripes;
+                if (locks == null) {
+                    locks = new StampedLock[stripeMask + 1];
+                    for (int i = 0; i < locks.length; i++) {
+                        locks[i] = new StampedLock();
+                    }
+                    stripes = locks;
+                }
+            }
+        }
+        return locks[stripe];
+    }
+
+    /**
+     * Assigns a key to a stripe by its hash code.
+     *
+     * @param key the key, which can be null.
+     * @return the stripe.
+     */
+    private int stripeOf(final Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+
+    /**
+     * Stack of the engines, stripes, and lock types that a thread holds.
+     */
+    private static final class Held {
+        private LockEngine[] engines = new LockEngine[4];
+        private int[] stripes = new int[4];
+        private Lock.Type[] types = new Lock.Type[4];
+        private int size;
+
+        /**
+         * Removes the innermost entry.
+         */
+        private void pop() {
+            engines[--size] = null;
+        }
+
+        /**
+         * Adds an innermost entry.
+         *
+         * @param engine the engine.
+         * @param stripe the stripe, or BEAN for the entire bean instance.
+         * @param type   type of lock.
+         */
+        private void push(final LockEngine engine, final int stripe, final Lock.Type type) {
+            if (size == engines.length) {
+                engines = Arrays.copyOf(engines, size * 2);
+                stripes = Arrays.copyOf(stripes, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+            }
+            engines[size] = engine;
+            stripes[size] = stripe;
+            types[size++] = type;
+        }
+
+        /**
+         * Returns the type of lock that is held for the engine and stripe, if any.
+         * Nested invocations never obtain a stronger lock than the outermost,
+         * so the outermost entry for the engine and stripe is the strongest.
+         *
+         * @param engine the engine.
+         * @param stripe the stripe, or BEAN for the entire bean instance.
+         * @return the type of lock, or null if none is held.
+         */
+        private Lock.Type typeOf(final LockEngine engine, final int stripe) {
+            for (int i = 0; i < size; i++) {
+                if (engines[i] == engine && stripes[i] == stripe) {
+                    return types[i];
+                }
+            }
+            return null;
+        }
+    }
+}
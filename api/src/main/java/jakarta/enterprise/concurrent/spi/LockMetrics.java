@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import jakarta.enterprise.concurrent.Lock;
+import jakarta.enterprise.concurrent.LockTimeoutException;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics for a {@link Lock} method, which a {@link LockEngine}
+ * records when the interceptor supplies them, such as with
+ * {@link LockEngine#invoke(Lock, LockMetrics, java.util.concurrent.Callable)}.
+ * The interceptor uses a separate <code>LockMetrics</code> for each bean method,
+ * shared across all instances of the bean, and can publish the statistics
+ * to the monitoring facility of the Jakarta EE Product Provider.
+ * <p>
+ * The statistics include histograms of the time spent waiting to obtain the lock
+ * and the time for which the lock is held, the number of invocations that are
+ * currently waiting for the lock, and the number of invocations that failed with
+ * {@link LockTimeoutException}. Histograms have {@link #BUCKETS} buckets with
+ * boundaries at powers of 2 nanoseconds. Statistics are recorded with striped
+ * counters and without allocating objects, so that they can remain enabled
+ * in production. Reading the statistics is comparatively expensive.
+ * <p>
+ * Only invocations that obtain a lock are recorded. Invocations that run under
+ * a lock that the thread already holds, and {@link Lock.Type#OPTIMISTIC_READ}
+ * invocations that complete without a <code>WRITE</code> lock intervening,
+ * are not recorded. Optimistic invocations that must run again under the
+ * <code>READ</code> lock are counted as {@linkplain #getOptimisticRetryCount() retries}.
+ *
+ * @since 3.2
+ */
+public final class LockMetrics {
+    /**
+     * Number of buckets in each histogram. Bucket 0 counts durations of
+     * less than 2 nanoseconds. Each subsequent bucket <code>i</code> counts durations
+     * of at least 2<sup>i</sup> and less than 2<sup>i+1</sup> nanoseconds,
+     * except that the final bucket counts all durations of at least
+     * 2<sup>BUCKETS-1</sup> nanoseconds, which is approximately 9 minutes.
+     */
+    public static final int BUCKETS = 40;
+
+    /**
+     * Name of the bean method.
+     */
+    private final String name;
+
+    /**
+     * Invocations that are currently waiting for the lock.
+     */
+    private final LongAdder waiting = new LongAdder();
+
+    /**
+     * Largest number of invocations that were observed waiting for the lock at once.
+     */
+    private final LongAccumulator peakWaiting = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Invocations that failed to obtain the lock within the access timeout.
+     */
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Optimistic invocations that ran again under the READ lock.
+     */
+    private final LongAdder optimisticRetries = new LongAdder();
+
+    /**
+     * Histogram of nanoseconds spent waiting to obtain the lock.
+     */
+    private final LongAdder[] waitHistogram = newHistogram();
+
+    /**
+     * Total nanoseconds spent waiting to obtain the lock.
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Histogram of nanoseconds for which the lock was held.
+     */
+    private final LongAdder[] holdHistogram = newHistogram();
+
+    /**
+     * Total nanoseconds for which the lock was held.
+     */
+    private final LongAdder holdNanos = new LongAdder();
+
+    /**
+     * Constructs contention statistics for a bean method.
+     *
+     * @param name name of the bean method, such as its signature.
+     */
+    public LockMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the bean method.
+     *
+     * @return the name of the bean method.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of invocations that obtained the lock.
+     *
+     * @return the number of invocations that obtained the lock.
+     */
+    public long getAcquisitionCount() {
+        long count = 0L;
+        for (LongAdder bucket : waitHistogram) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of {@link Lock.Type#OPTIMISTIC_READ} invocations that ran
+     * again under the <code>READ</code> lock because a <code>WRITE</code> lock intervened.
+     *
+     * @return the number of optimistic invocations that ran again.
+     */
+    public long getOptimisticRetryCount() {
+        return optimisticRetries.sum();
+    }
+
+    /**
+     * Returns the largest number of invocations that were observed waiting for the lock at once.
+     *
+     * @return the peak length of the queue.
+     */
+    public long getPeakQueueLength() {
+        return peakWaiting.get();
+    }
+
+    /**
+     * Returns the number of invocations that are currently waiting for the lock.
+     *
+     * @return the length of the queue.
+     */
+    public long getQueueLength() {
+        return waiting.sum();
+    }
+
+    /**
+     * Returns the number of invocations that failed with {@link LockTimeoutException}.
+     *
+     * @return the number of timeouts.
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Returns the histogram of time for which the lock was held,
+     * as counts of invocations per bucket.
+     *
+     * @return array of length {@link #BUCKETS}.
+     */
+    public long[] getHoldTimeHistogram() {
+        return snapshot(holdHistogram);
+    }
+
+    /**
+     * Returns the total time for which the lock was held.
+     *
+     * @return the total time in nanoseconds.
+     */
+    public long getTotalHoldNanos() {
+        return holdNanos.sum();
+    }
+
+    /**
+     * Returns the total time that invocations spent waiting to obtain the lock,
+     * excluding invocations that timed out.
+     *
+     * @return the total time in nanoseconds.
+     */
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * Returns the histogram of time spent waiting to obtain the lock,
+     * as counts of invocations per bucket, excluding invocations that timed out.
+     *
+     * @return array of length {@link #BUCKETS}.
+     */
+    public long[] getWaitTimeHistogram() {
+        return snapshot(waitHistogram);
+    }
+
+    /**
+     * Returns the exclusive upper bound of a histogram bucket.
+     *
+     * @param bucket index of the bucket.
+     * @return the upper bound in nanoseconds, or <code>Long.MAX_VALUE</code> for the final bucket.
+     * @throws IndexOutOfBoundsException if the index is not a valid bucket.
+     */
+    public static long upperBoundNanos(final int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IndexOutOfBoundsException(bucket);
+        }
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 2L << bucket;
+    }
+
+    /**
+     * Records that an invocation obtained the lock.
+     *
+     * @param nanos time spent waiting.
+     */
+    void acquired(final long nanos) {
+        waitHistogram[bucketOf(nanos)].increment();
+        waitNanos.add(nanos);
+    }
+
+    /**
+     * Records that an invocation must wait to obtain the lock.
+     */
+    void awaiting() {
+        waiting.increment();
+        peakWaiting.accumulate(waiting.sum());
+    }
+
+    /**
+     * Records that an invocation is no longer waiting to obtain the lock.
+     */
+    void awaited() {
+        waiting.decrement();
+    }
+
+    /**
+     * Records that an optimistic invocation will run again under the READ lock.
+     */
+    void optimisticRetry() {
+        optimisticRetries.increment();
+    }
+
+    /**
+     * Records that an invocation released the lock.
+     *
+     * @param nanos time for which the lock was held.
+     */
+    void released(final long nanos) {
+        holdHistogram[bucketOf(nanos)].increment();
+        holdNanos.add(nanos);
+    }
+
+    /**
+     * Records that an invocation failed to obtain the lock within the access timeout.
+     */
+    void timedOut() {
+        timeouts.increment();
+    }
+
+    /**
+     * Determines the histogram bucket for a duration.
+     *
+     * @param nanos the duration.
+     * @return index of the bucket.
+     */
+    private static int bucketOf(final long nanos) {
+        return nanos < 2L ? 0 : Math.min(63 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+    }
+
+    /**
+     * Creates the buckets of a histogram.
+     *
+     * @return the buckets.
+     */
+    private static LongAdder[] newHistogram() {
+        LongAdder[] buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        return buckets;
+    }
+
+    /**
+     * Reads the counts of a histogram.
+     *
+     * @param buckets the buckets.
+     * @return the counts.
+     */
+    private static long[] snapshot(final LongAdder[] buckets) {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Returns a summary of the statistics.
+     *
+     * @return a summary of the statistics.
+     */
+    @Override
+    public String toString() {
+        return "LockMetrics[" + name
+                + "] acquisitions=" + getAcquisitionCount()
+                + ", waitNanos=" + getTotalWaitNanos()
+                + ", holdNanos=" + getTotalHoldNanos()
+                + ", queue=" + getQueueLength()
+                + ", peakQueue=" + getPeakQueueLength()
+                + ", timeouts=" + getTimeoutCount()
+                + ", optimisticRetries=" + getOptimisticRetryCount();
+    }
+}
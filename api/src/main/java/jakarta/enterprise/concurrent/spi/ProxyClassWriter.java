@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the class file of a contextual proxy class, which implements a set of
+ * interfaces by applying context with a {@link ThreadContextChain} and then
+ * invoking the same method of the proxied instance directly. The class has
+ * the fields {@code target}, {@code chain}, and {@code snapshots} and a
+ * constructor that accepts values for them in that order.
+ * Also writes the class file of a bridge class, through which the factory
+ * obtains full-privilege access to the package in which it defines a proxy class.
+ */
+final class ProxyClassWriter {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int VERSION = 61;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ILOAD = 0x15;
+    private static final int ISTORE = 0x36;
+    private static final int ALOAD = 0x19;
+    private static final int ASTORE = 0x3a;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int IRETURN = 0xac;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int ATHROW = 0xbf;
+    private static final int CHECKCAST = 0xc0;
+    private static final int WIDE = 0xc4;
+
+    private static final int ITEM_TOP = 0;
+    private static final int ITEM_OBJECT = 7;
+    private static final int FULL_FRAME = 255;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String CHAIN = "jakarta/enterprise/concurrent/spi/ThreadContextChain";
+    private static final String CHAIN_DESC = "L" + CHAIN + ";";
+    private static final String SNAPSHOTS_DESC = "[Ljakarta/enterprise/concurrent/spi/ThreadContextSnapshot;";
+    private static final String RESTORERS = "[Ljakarta/enterprise/concurrent/spi/ThreadContextRestorer;";
+    private static final String LOOKUP_DESC = "()Ljava/lang/invoke/MethodHandles$Lookup;";
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndexes = new HashMap<String, Integer>();
+    private int poolCount = 1;
+
+    private final String className;
+
+    private ProxyClassWriter(final String className) {
+        this.className = className;
+    }
+
+    /**
+     * Writes the class file of a contextual proxy class.
+     *
+     * @param className  internal name of the class.
+     * @param interfaces interfaces that the class implements.
+     * @param methods    methods to implement.
+     * @param owners     for each method, the interface through which to invoke it.
+     * @return the class file.
+     */
+    static byte[] write(final String className, final Class<?>[] interfaces,
+                        final List<Method> methods, final List<Class<?>> owners) {
+        try {
+            return new ProxyClassWriter(className).writeClass(interfaces, methods, owners);
+        } catch (IOException x) {
+            throw new UncheckedIOException(x);
+        }
+    }
+
+    /**
+     * Writes the class file of a package-private bridge class with a package-private
+     * static method, {@code lookup}, that returns {@code MethodHandles.lookup()}.
+     *
+     * @param className internal name of the class.
+     * @return the class file.
+     */
+    static byte[] writeBridge(final String className) {
+        try {
+            return new ProxyClassWriter(className).writeBridgeClass();
+        } catch (IOException x) {
+            throw new UncheckedIOException(x);
+        }
+    }
+
+    /**
+     * Writes the class file of a bridge class.
+     *
+     * @return the class file.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private byte[] writeBridgeClass() throws IOException {
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        body.writeShort(ACC_FINAL | ACC_SUPER);
+        body.writeShort(classRef(className));
+        body.writeShort(classRef(OBJECT));
+        body.writeShort(0); // interfaces
+        body.writeShort(0); // fields
+
+        body.writeShort(1);
+        int lookup = memberRef(CONSTANT_METHODREF, "java/lang/invoke/MethodHandles", "lookup", LOOKUP_DESC);
+        body.writeShort(ACC_STATIC);
+        body.writeShort(utf8("lookup"));
+        body.writeShort(utf8(LOOKUP_DESC));
+        body.writeShort(1);
+        body.writeShort(utf8("Code"));
+        body.writeInt(2 + 2 + 4 + 4 + 2 + 2);
+        body.writeShort(1); // max stack
+        body.writeShort(0); // max locals
+        body.writeInt(4);
+        body.writeByte(INVOKESTATIC);
+        body.writeShort(lookup);
+        body.writeByte(ARETURN);
+        body.writeShort(0); // exception table
+        body.writeShort(0); // attributes
+        body.writeShort(0); // class attributes
+
+        return toClassFile(bodyBytes);
+    }
+
+    /**
+     * Writes the class file.
+     *
+     * @param interfaces interfaces that the class implements.
+     * @param methods    methods to implement.
+     * @param owners     for each method, the interface through which to invoke it.
+     * @return the class file.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private byte[] writeClass(final Class<?>[] interfaces, final List<Method> methods,
+                              final List<Class<?>> owners) throws IOException {
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        body.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        body.writeShort(classRef(className));
+        body.writeShort(classRef(OBJECT));
+        body.writeShort(interfaces.length);
+        for (Class<?> intf : interfaces) {
+            body.writeShort(classRef(internalName(intf)));
+        }
+
+        body.writeShort(3);
+        writeField(body, "target", "L" + OBJECT + ";");
+        writeField(body, "chain", CHAIN_DESC);
+        writeField(body, "snapshots", SNAPSHOTS_DESC);
+
+        body.writeShort(1 + methods.size());
+        writeConstructor(body);
+        for (int i = 0; i < methods.size(); i++) {
+            writeMethod(body, methods.get(i), owners.get(i));
+        }
+        body.writeShort(0); // class attributes
+
+        return toClassFile(bodyBytes);
+    }
+
+    /**
+     * Combines the constant pool with the remainder of the class file.
+     *
+     * @param bodyBytes the class file after the constant pool.
+     * @return the class file.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private byte[] toClassFile(final ByteArrayOutputStream bodyBytes) throws IOException {
+        ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(classBytes);
+        out.writeInt(MAGIC);
+        out.writeShort(0);
+        out.writeShort(VERSION);
+        out.writeShort(poolCount);
+        poolBytes.writeTo(out);
+        bodyBytes.writeTo(out);
+        return classBytes.toByteArray();
+    }
+
+    /**
+     * Writes a private final field.
+     *
+     * @param out        output.
+     * @param name       field name.
+     * @param descriptor field descriptor.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private void writeField(final DataOutputStream out, final String name, final String descriptor)
+            throws IOException {
+        out.writeShort(ACC_PRIVATE | ACC_FINAL);
+        out.writeShort(utf8(name));
+        out.writeShort(utf8(descriptor));
+        out.writeShort(0);
+    }
+
+    /**
+     * Writes the constructor, which assigns the fields.
+     *
+     * @param out output.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private void writeConstructor(final DataOutputStream out) throws IOException {
+        ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBytes);
+        code.writeByte(ALOAD_0);
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(memberRef(CONSTANT_METHODREF, OBJECT, "<init>", "()V"));
+        code.writeByte(ALOAD_0);
+        code.writeByte(ALOAD_1);
+        code.writeByte(PUTFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "target", "L" + OBJECT + ";"));
+        code.writeByte(ALOAD_0);
+        code.writeByte(ALOAD_2);
+        code.writeByte(PUTFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "chain", CHAIN_DESC));
+        code.writeByte(ALOAD_0);
+        code.writeByte(ALOAD_3);
+        code.writeByte(PUTFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "snapshots", SNAPSHOTS_DESC));
+        code.writeByte(RETURN);
+
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(utf8("<init>"));
+        out.writeShort(utf8("(L" + OBJECT + ";" + CHAIN_DESC + SNAPSHOTS_DESC + ")V"));
+        out.writeShort(1);
+        out.writeShort(utf8("Code"));
+        out.writeInt(2 + 2 + 4 + codeBytes.size() + 2 + 2);
+        out.writeShort(2); // max stack
+        out.writeShort(4); // max locals
+        out.writeInt(codeBytes.size());
+        codeBytes.writeTo(out);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    /**
+     * Writes a method that invokes the proxied instance with context, equivalent to the following.
+     * <pre>
+     * ThreadContextRestorer[] restorers = chain.begin(snapshots);
+     * try {
+     *     return ((Owner) target).method(args);
+     * } finally {
+     *     chain.endContext(restorers);
+     * }
+     * </pre>
+     *
+     * @param out    output.
+     * @param method the interface method to implement.
+     * @param owner  the interface through which to invoke the method.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private void writeMethod(final DataOutputStream out, final Method method, final Class<?> owner)
+            throws IOException {
+        String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+                .toMethodDescriptorString();
+        Class<?> returnType = method.getReturnType();
+        int argSlots = 0;
+        for (Class<?> type : method.getParameterTypes()) {
+            argSlots += slots(type);
+        }
+        int restorersLocal = 1 + argSlots;
+        int resultLocal = restorersLocal + 1;
+        int resultSlots = returnType == void.class ? 0 : slots(returnType);
+
+        ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBytes);
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "chain", CHAIN_DESC));
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "snapshots", SNAPSHOTS_DESC));
+        code.writeByte(INVOKEVIRTUAL);
+        code.writeShort(memberRef(CONSTANT_METHODREF, CHAIN, "begin", "(" + SNAPSHOTS_DESC + ")" + RESTORERS));
+        writeLocal(code, ASTORE, restorersLocal);
+
+        int tryStart = code.size();
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "target", "L" + OBJECT + ";"));
+        code.writeByte(CHECKCAST);
+        code.writeShort(classRef(internalName(owner)));
+        int local = 1;
+        for (Class<?> type : method.getParameterTypes()) {
+            writeLocal(code, ILOAD + typeOffset(type), local);
+            local += slots(type);
+        }
+        code.writeByte(INVOKEINTERFACE);
+        code.writeShort(memberRef(CONSTANT_INTERFACE_METHODREF, internalName(owner), method.getName(), descriptor));
+        code.writeByte(1 + argSlots);
+        code.writeByte(0);
+        if (resultSlots > 0) {
+            writeLocal(code, ISTORE + typeOffset(returnType), resultLocal);
+        }
+        int tryEnd = code.size();
+
+        writeEndContext(code, restorersLocal);
+        if (resultSlots > 0) {
+            writeLocal(code, ILOAD + typeOffset(returnType), resultLocal);
+            code.writeByte(IRETURN + typeOffset(returnType));
+        } else {
+            code.writeByte(RETURN);
+        }
+
+        int handler = code.size();
+        writeLocal(code, ASTORE, resultLocal);
+        writeEndContext(code, restorersLocal);
+        writeLocal(code, ALOAD, resultLocal);
+        code.writeByte(ATHROW);
+
+        // frame at the handler: this, arguments (unused), restorers; stack: Throwable
+        ByteArrayOutputStream frameBytes = new ByteArrayOutputStream();
+        DataOutputStream frame = new DataOutputStream(frameBytes);
+        frame.writeShort(1); // number of entries
+        frame.writeByte(FULL_FRAME);
+        frame.writeShort(handler);
+        frame.writeShort(2 + argSlots);
+        frame.writeByte(ITEM_OBJECT);
+        frame.writeShort(classRef(className));
+        for (int i = 0; i < argSlots; i++) {
+            frame.writeByte(ITEM_TOP);
+        }
+        frame.writeByte(ITEM_OBJECT);
+        frame.writeShort(classRef(RESTORERS));
+        frame.writeShort(1);
+        frame.writeByte(ITEM_OBJECT);
+        frame.writeShort(classRef("java/lang/Throwable"));
+
+        int stackMapTable = utf8("StackMapTable");
+        out.writeShort(ACC_PUBLIC | ACC_FINAL);
+        out.writeShort(utf8(method.getName()));
+        out.writeShort(utf8(descriptor));
+        out.writeShort(1);
+        out.writeShort(utf8("Code"));
+        out.writeInt(2 + 2 + 4 + codeBytes.size() + 2 + 8 + 2 + 2 + 4 + frameBytes.size());
+        out.writeShort(Math.max(2, Math.max(1 + argSlots, resultSlots))); // max stack
+        out.writeShort(resultLocal + Math.max(1, resultSlots)); // max locals
+        out.writeInt(codeBytes.size());
+        codeBytes.writeTo(out);
+        out.writeShort(1);
+        out.writeShort(tryStart);
+        out.writeShort(tryEnd);
+        out.writeShort(handler);
+        out.writeShort(0); // any exception
+        out.writeShort(1);
+        out.writeShort(stackMapTable);
+        out.writeInt(frameBytes.size());
+        frameBytes.writeTo(out);
+    }
+
+    /**
+     * Writes {@code chain.endContext(restorers)}.
+     *
+     * @param code           output.
+     * @param restorersLocal local variable that holds the restorers.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private void writeEndContext(final DataOutputStream code, final int restorersLocal) throws IOException {
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(memberRef(CONSTANT_FIELDREF, className, "chain", CHAIN_DESC));
+        writeLocal(code, ALOAD, restorersLocal);
+        code.writeByte(INVOKEVIRTUAL);
+        code.writeShort(memberRef(CONSTANT_METHODREF, CHAIN, "endContext", "(" + RESTORERS + ")V"));
+    }
+
+    /**
+     * Writes an instruction that loads or stores a local variable.
+     *
+     * @param code   output.
+     * @param opcode the instruction.
+     * @param index  index of the local variable.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private static void writeLocal(final DataOutputStream code, final int opcode, final int index)
+            throws IOException {
+        if (index > 0xff) {
+            code.writeByte(WIDE);
+            code.writeByte(opcode);
+            code.writeShort(index);
+        } else {
+            code.writeByte(opcode);
+            code.writeByte(index);
+        }
+    }
+
+    /**
+     * Returns the offset from the int variant of a load, store, or return instruction
+     * to the variant for a type.
+     *
+     * @param type the type.
+     * @return the offset.
+     */
+    private static int typeOffset(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return 4;
+        } else if (type == long.class) {
+            return 1;
+        } else if (type == float.class) {
+            return 2;
+        } else if (type == double.class) {
+            return 3;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the number of local variable or stack slots that a value of a type occupies.
+     *
+     * @param type the type.
+     * @return 2 for long and double, otherwise 1.
+     */
+    private static int slots(final Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    /**
+     * Returns the internal name of a class, as used in class files.
+     *
+     * @param c the class.
+     * @return the internal name.
+     */
+    static String internalName(final Class<?> c) {
+        return c.getName().replace('.', '/');
+    }
+
+    /**
+     * Adds a Utf8 constant to the constant pool if not already present.
+     *
+     * @param value the value.
+     * @return index of the constant.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private int utf8(final String value) throws IOException {
+        Integer index = poolIndexes.get(value);
+        if (index == null) {
+            pool.writeByte(CONSTANT_UTF8);
+            pool.writeUTF(value);
+            index = poolCount++;
+            poolIndexes.put(value, index);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a Class constant to the constant pool if not already present.
+     *
+     * @param name internal name of the class.
+     * @return index of the constant.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private int classRef(final String name) throws IOException {
+        String key = "#Class " + name;
+        Integer index = poolIndexes.get(key);
+        if (index == null) {
+            int nameIndex = utf8(name);
+            pool.writeByte(CONSTANT_CLASS);
+            pool.writeShort(nameIndex);
+            index = poolCount++;
+            poolIndexes.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a field or method reference to the constant pool if not already present.
+     *
+     * @param tag        kind of reference.
+     * @param owner      internal name of the class that declares the member.
+     * @param name       name of the member.
+     * @param descriptor descriptor of the member.
+     * @return index of the constant.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private int memberRef(final int tag, final String owner, final String name, final String descriptor)
+            throws IOException {
+        String key = "#" + tag + " " + owner + "." + name + descriptor;
+        Integer index = poolIndexes.get(key);
+        if (index == null) {
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            pool.writeByte(tag);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndType);
+            index = poolCount++;
+            poolIndexes.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a NameAndType constant to the constant pool if not already present.
+     *
+     * @param name       name of the member.
+     * @param descriptor descriptor of the member.
+     * @return index of the constant.
+     * @throws IOException not expected because the output is in memory.
+     */
+    private int nameAndType(final String name, final String descriptor) throws IOException {
+        String key = "#NameAndType " + name + descriptor;
+        Integer index = poolIndexes.get(key);
+        if (index == null) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            pool.writeByte(CONSTANT_NAME_AND_TYPE);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            index = poolCount++;
+            poolIndexes.put(key, index);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import static jakarta.enterprise.concurrent.ContextServiceDefinition.ALL_REMAINING;
+
+import jakarta.enterprise.concurrent.CapturedContext;
+import jakarta.enterprise.concurrent.ContextServiceDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link ThreadContextProvider thread context providers} of a
+ * {@link ContextServiceDefinition}, resolved once, such as when the application
+ * is deployed, into an ordered array of providers, each of which either
+ * propagates or clears its type of context. Types of context that are left
+ * unchanged are omitted.
+ * <p>
+ * Jakarta EE Product Providers can use a chain to capture context
+ * into an array of snapshots that has one element per provider, without looking up
+ * context types by name, and to apply and restore the captured context:
+ * <pre>
+ * // at deployment
+ * ThreadContextChain chain = ThreadContextChain.compile(definition, providers);
+ *
+ * // when a contextual task or action is created
+ * ThreadContextSnapshot[] snapshots = chain.capture(executionProperties);
+ *
+ * // when the contextual task or action runs
+ * ThreadContextRestorer[] restorers = chain.begin(snapshots);
+ * try {
+ *     task.run();
+ * } finally {
+ *     chain.endContext(restorers);
+ * }
+ * </pre>
+ * A chain is immutable and can be used concurrently by any number of threads.
+ *
+ * @since 3.2
+ */
+public final class ThreadContextChain {
+    private static final ThreadContextProvider[] NO_PROVIDERS = new ThreadContextProvider[0];
+
+    /**
+     * Providers in the order in which context is captured and applied.
+     */
+    private final ThreadContextProvider[] providers;
+
+    /**
+     * For each provider, whether context is propagated rather than cleared.
+     */
+    private final boolean[] propagated;
+
+    /**
+     * Indicates whether propagated context is captured with
+     * {@link ThreadContextProvider#deferredContext deferredContext}.
+     */
+    private final boolean lazy;
+
+    private ThreadContextChain(final ThreadContextProvider[] providers, final boolean[] propagated,
+                               final boolean lazy) {
+        this.providers = providers;
+        this.propagated = propagated;
+        this.lazy = lazy;
+    }
+
+    /**
+     * Resolves the context types of a {@code ContextServiceDefinition} against
+     * the available thread context providers.
+     *
+     * @param definition the definition.
+     * @param available  the available thread context providers, in the order in which
+     *                   context is to be captured and applied.
+     * @return the chain of providers.
+     * @throws IllegalArgumentException if a context type is specified in more than one
+     *         of the cleared, propagated, and unchanged lists, or if multiple providers
+     *         provide the same type of context.
+     */
+    public static ThreadContextChain compile(final ContextServiceDefinition definition,
+                                             final Iterable<? extends ThreadContextProvider> available) {
+        return compile(definition.cleared(), definition.propagated(), definition.unchanged(),
+                       definition.lazyCapture(), available);
+    }
+
+    /**
+     * Resolves lists of context types against the available thread context providers.
+     * Product Providers use this method when the context types come from a source
+     * other than the annotation, such as a {@code context-service} deployment descriptor
+     * element that overrides attributes of the annotation.
+     * <p>
+     * As with {@link ContextServiceDefinition}, if
+     * {@link ContextServiceDefinition#ALL_REMAINING ALL_REMAINING} is not present in
+     * any of the lists, it is implicitly appended to the cleared context types.
+     * Context types for which no provider is available are ignored, such that the
+     * Product Provider can handle built-in context types separately.
+     *
+     * @param cleared     types of context to clear.
+     * @param propagated  types of context to propagate.
+     * @param unchanged   types of context to leave unchanged.
+     * @param lazyCapture whether propagated context is captured with
+     *                    {@link ThreadContextProvider#deferredContext deferredContext}
+     *                    rather than {@link ThreadContextProvider#currentContext currentContext}.
+     * @param available   the available thread context providers, in the order in which
+     *                    context is to be captured and applied.
+     * @return the chain of providers.
+     * @throws IllegalArgumentException if a context type is specified in more than one
+     *         of the lists, or if multiple providers provide the same type of context.
+     */
+    public static ThreadContextChain compile(final String[] cleared, final String[] propagated,
+                                             final String[] unchanged, final boolean lazyCapture,
+                                             final Iterable<? extends ThreadContextProvider> available) {
+        // context type -> Boolean.TRUE to propagate, FALSE to clear, null to leave unchanged
+        Map<String, Boolean> actions = new HashMap<String, Boolean>();
+        classify(actions, cleared, Boolean.FALSE);
+        classify(actions, propagated, Boolean.TRUE);
+        classify(actions, unchanged, null);
+        if (!actions.containsKey(ALL_REMAINING)) {
+            actions.put(ALL_REMAINING, Boolean.FALSE);
+        }
+        Boolean remaining = actions.get(ALL_REMAINING);
+
+        List<ThreadContextProvider> selected = new ArrayList<ThreadContextProvider>();
+        List<Boolean> selectedActions = new ArrayList<Boolean>();
+        Map<String, ThreadContextProvider> byType = new HashMap<String, ThreadContextProvider>();
+        for (ThreadContextProvider provider : available) {
+            String type = provider.getThreadContextType();
+            ThreadContextProvider previous = byType.put(type, provider);
+            if (previous != null) {
+                throw new IllegalArgumentException(type + ": " + previous + ", " + provider);
+            }
+            Boolean action = actions.containsKey(type) ? actions.get(type) : remaining;
+            if (action != null) {
+                selected.add(provider);
+                selectedActions.add(action);
+            }
+        }
+
+        boolean[] propagate = new boolean[selected.size()];
+        for (int i = 0; i < propagate.length; i++) {
+            propagate[i] = selectedActions.get(i);
+        }
+        return new ThreadContextChain(selected.toArray(NO_PROVIDERS), propagate, lazyCapture);
+    }
+
+    /**
+     * Records the action for each context type in a list.
+     *
+     * @param actions map of context type to action.
+     * @param types   context types.
+     * @param action  the action for the context types.
+     * @throws IllegalArgumentException if a context type already has an action.
+     */
+    private static void classify(final Map<String, Boolean> actions, final String[] types, final Boolean action) {
+        for (String type : types) {
+            if (actions.containsKey(type)) {
+                throw new IllegalArgumentException(type);
+            }
+            actions.put(type, action);
+        }
+    }
+
+    /**
+     * Applies captured context to the current thread, in order.
+     * Snapshots that are {@linkplain ThreadContextSnapshot#isCurrent() already current}
+     * are not begun, and {@link ThreadContextRestorer#NO_OP} takes the place of their restorers.
+     * If applying context fails, the context that was already applied is restored
+     * before the exception is raised.
+     *
+     * @param snapshots snapshots that were captured by this chain.
+     * @return restorers, which must be supplied to {@link #endContext(ThreadContextRestorer[])}
+     *         on the same thread.
+     * @throws IllegalArgumentException if the number of snapshots does not match the {@link #size()}.
+     */
+    public ThreadContextRestorer[] begin(final ThreadContextSnapshot[] snapshots) {
+        checkLength(snapshots.length);
+        ThreadContextRestorer[] restorers = new ThreadContextRestorer[snapshots.length];
+        int i = 0;
+        try {
+            for (; i < snapshots.length; i++) {
+                ThreadContextSnapshot snapshot = snapshots[i];
+                restorers[i] = snapshot.isCurrent() ? ThreadContextRestorer.NO_OP : snapshot.begin();
+            }
+        } catch (RuntimeException | Error x) {
+            for (i--; i >= 0; i--) {
+                try {
+                    restorers[i].endContext();
+                } catch (RuntimeException | Error suppressed) {
+                    x.addSuppressed(suppressed);
+                }
+            }
+            throw x;
+        }
+        return restorers;
+    }
+
+    /**
+     * Captures context from the current thread, per the chain.
+     *
+     * @param props execution properties, which can be {@code null}.
+     * @return snapshots, one for each provider of the chain.
+     */
+    public ThreadContextSnapshot[] capture(final Map<String, String> props) {
+        return capture(props, new ThreadContextSnapshot[providers.length]);
+    }
+
+    /**
+     * Captures context from the current thread, per the chain, into an existing array,
+     * such as an array of a contextual proxy that is being reused.
+     *
+     * @param props     execution properties, which can be {@code null}.
+     * @param snapshots array of length {@link #size()} into which to capture the snapshots.
+     * @return the array of snapshots.
+     * @throws IllegalArgumentException if the length of the array does not match the {@link #size()}.
+     */
+    public ThreadContextSnapshot[] capture(final Map<String, String> props,
+                                           final ThreadContextSnapshot[] snapshots) {
+        checkLength(snapshots.length);
+        for (int i = 0; i < providers.length; i++) {
+            ThreadContextProvider provider = providers[i];
+            if (!propagated[i]) {
+                snapshots[i] = provider.clearedContext(props);
+            } else if (lazy) {
+                snapshots[i] = provider.deferredContext(props);
+            } else {
+                snapshots[i] = provider.currentContext(props);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Returns a {@link CapturedContext} that applies captured context with this chain,
+     * for Product Providers to return from
+     * {@link jakarta.enterprise.concurrent.ContextService#captureContext() ContextService.captureContext}.
+     * The contextual actions of the {@code CapturedContext} apply and restore the context
+     * directly around each invocation.
+     *
+     * @param snapshots snapshots that were captured by this chain.
+     * @return the captured context.
+     * @throws IllegalArgumentException if the number of snapshots does not match the {@link #size()}.
+     */
+    public CapturedContext capturedContext(final ThreadContextSnapshot[] snapshots) {
+        checkLength(snapshots.length);
+        return new ChainCapturedContext(this, snapshots);
+    }
+
+    /**
+     * Checks that the length of an array matches the number of providers.
+     *
+     * @param length length of the array.
+     * @throws IllegalArgumentException if the length does not match.
+     */
+    private void checkLength(final int length) {
+        if (length != providers.length) {
+            throw new IllegalArgumentException(length + " != " + providers.length);
+        }
+    }
+
+    /**
+     * Restores the context that was on the thread before
+     * {@link #begin(ThreadContextSnapshot[]) begin}, in reverse order.
+     * All restorers are invoked even if some of them fail, after which
+     * the first failure is raised, with the others added as suppressed.
+     *
+     * @param restorers restorers that were returned by {@code begin} on the current thread.
+     */
+    public void endContext(final ThreadContextRestorer[] restorers) {
+        Throwable failure = null;
+        for (int i = restorers.length - 1; i >= 0; i--) {
+            ThreadContextRestorer restorer = restorers[i];
+            if (restorer != ThreadContextRestorer.NO_OP) {
+                try {
+                    restorer.endContext();
+                } catch (RuntimeException | Error x) {
+                    if (failure == null) {
+                        failure = x;
+                    } else {
+                        failure.addSuppressed(x);
+                    }
+                }
+            }
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Returns the provider at a position in the chain.
+     *
+     * @param index position in the chain.
+     * @return the provider.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the {@link #size()}.
+     */
+    public ThreadContextProvider getProvider(final int index) {
+        return providers[index];
+    }
+
+    /**
+     * Indicates whether the provider at a position in the chain propagates context
+     * rather than clearing it.
+     *
+     * @param index position in the chain.
+     * @return {@code true} if context is propagated, {@code false} if it is cleared.
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the {@link #size()}.
+     */
+    public boolean isPropagated(final int index) {
+        return propagated[index];
+    }
+
+    /**
+     * Returns the number of providers in the chain, which is the length of the arrays of
+     * snapshots and restorers.
+     *
+     * @return the number of providers.
+     */
+    public int size() {
+        return providers.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("ThreadContextChain[");
+        for (int i = 0; i < providers.length; i++) {
+            if (i > 0) {
+                b.append(", ");
+            }
+            b.append(propagated[i] ? "propagate " : "clear ").append(providers[i].getThreadContextType());
+        }
+        return b.append(']').toString();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -63,6 +63,39 @@ public interface ThreadContextProvider {
      */
     public ThreadContextSnapshot currentContext(Map<String, String> props);
 
+    /**
+     * Captures from the current thread a snapshot of the provided thread context type
+     * that can defer the work of materializing the snapshot until the snapshot is
+     * {@linkplain ThreadContextSnapshot#begin() begun}. The Jakarta EE Product Provider
+     * invokes this method instead of {@link #currentContext currentContext} for a
+     * {@link jakarta.enterprise.concurrent.ContextService ContextService} that is
+     * configured with
+     * {@link jakarta.enterprise.concurrent.ContextServiceDefinition#lazyCapture() lazyCapture},
+     * where many contextual tasks and actions are created that never run.
+     * <p>
+     * The returned snapshot must apply the same context to threads as a snapshot that
+     * {@code currentContext} returns at the time of this method, even if the context
+     * of the current thread changes later. Providers typically capture an immutable
+     * token of the thread's state and use
+     * {@link ThreadContextSnapshot#deferred ThreadContextSnapshot.deferred}
+     * to materialize the full snapshot from it. Providers for which the token would
+     * be mutable state must either copy the state or materialize the snapshot when
+     * the state changes on the capturing thread.
+     * <p>
+     * The default implementation returns the snapshot from {@code currentContext}.
+     *
+     * @param props execution properties, which are optionally provided
+     *        by some types of tasks and contextual proxies.
+     *        Thread context providers that do not supply or use execution properties
+     *        can ignore this parameter.
+     * @return immutable snapshot of the provided type of context, captured from the
+     *         current thread.
+     * @since 3.2
+     */
+    public default ThreadContextSnapshot deferredContext(final Map<String, String> props) {
+        return currentContext(props);
+    }
+
     /**
      * Returns empty/cleared context of the provided type. This context is not
      * captured from the current thread, but instead represents the behavior that you
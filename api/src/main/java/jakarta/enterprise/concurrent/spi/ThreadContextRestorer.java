@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,6 +20,16 @@ package jakarta.enterprise.concurrent.spi;
  */
 @FunctionalInterface
 public interface ThreadContextRestorer {
+    /**
+     * Restorer that does nothing, which is used in place of a restorer when a
+     * {@link ThreadContextSnapshot} is {@link ThreadContextSnapshot#isCurrent() already current}
+     * on the thread. Because it is shared, it does not raise {@link IllegalStateException}
+     * when invoked more than once.
+     *
+     * @since 3.2
+     */
+    public static final ThreadContextRestorer NO_OP = NoOpThreadContextRestorer.INSTANCE;
+
     /**
      * Invoked by the Jakarta EE Product Provider to remove the thread context that
      * the {@link ThreadContextSnapshot} began on this thread and restore the previous
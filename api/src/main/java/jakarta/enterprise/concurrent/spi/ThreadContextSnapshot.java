@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -15,6 +15,8 @@
  */
 package jakarta.enterprise.concurrent.spi;
 
+import java.util.function.Function;
+
 /**
  * An immutable snapshot of a particular type of thread context.
  * <p>
@@ -51,4 +53,72 @@ public interface ThreadContextSnapshot {
      *         on the thread to what it was prior to applying this snapshot.
      */
     public ThreadContextRestorer begin();
+
+    /**
+     * Indicates whether the context of this snapshot is already the
+     * context of the current thread, such that {@link #begin()} would have
+     * no effect other than creating a restorer. This is common when a
+     * contextual action runs inline on the thread that created it, such as
+     * a dependent stage of a completion stage that is returned by
+     * {@link jakarta.enterprise.concurrent.ContextService#withContextCapture(java.util.concurrent.CompletionStage)
+     * ContextService.withContextCapture}.
+     * <p>
+     * When this method returns {@code true}, the Jakarta EE Product Provider
+     * can skip invoking {@code begin} and the corresponding
+     * {@link ThreadContextRestorer#endContext endContext}, using
+     * {@link ThreadContextRestorer#NO_OP} in place of the restorer where one is needed.
+     * This method must be inexpensive relative to {@code begin}, such as
+     * comparing references to the current state of the thread, and must not
+     * return {@code true} unless the context is identical, because the
+     * action might change the context of the thread, in which case the
+     * change is not reverted.
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} if the context is already on the current thread,
+     *         otherwise {@code false}.
+     * @since 3.2
+     */
+    public default boolean isCurrent() {
+        return false;
+    }
+
+    /**
+     * Returns a snapshot that defers creating the snapshot of thread context
+     * from a capture token until the first time that context is applied
+     * to a thread. Thread context providers use this method to implement
+     * {@link ThreadContextProvider#deferredContext deferredContext}, where the
+     * token is the immutable, cheaply obtained state of the context type on the
+     * capturing thread, such as a reference to the current class loader or
+     * subject, and the materializer builds a full snapshot from the token,
+     * such as by resolving a namespace or copying mutable state.
+     * <p>
+     * The materializer is invoked at most once, on the first thread
+     * that begins the returned snapshot or checks whether it is
+     * {@linkplain #isCurrent() current}, which might not be the thread that
+     * captured the token. It therefore must not depend on the thread context
+     * of the thread on which it runs. If the returned snapshot is never used,
+     * such as when a task is cancelled before it runs, the materializer is
+     * never invoked.
+     * <p>
+     * For example,
+     * <pre>
+     * public ThreadContextSnapshot deferredContext(Map&lt;String, String&gt; props) {
+     *     return ThreadContextSnapshot.deferred(Thread.currentThread().getContextClassLoader(),
+     *                                           NamespaceSnapshot::new);
+     * }
+     * </pre>
+     *
+     * @param <T> type of the capture token.
+     * @param token capture token, which can be {@code null}.
+     * @param materializer creates the snapshot from the capture token.
+     *        It must not return {@code null}.
+     * @return snapshot that creates and delegates to the materialized snapshot.
+     * @throws NullPointerException if the materializer is {@code null}.
+     * @since 3.2
+     */
+    public static <T> ThreadContextSnapshot deferred(final T token,
+            final Function<? super T, ? extends ThreadContextSnapshot> materializer) {
+        return new DeferredThreadContextSnapshot<T>(token, materializer);
+    }
 }
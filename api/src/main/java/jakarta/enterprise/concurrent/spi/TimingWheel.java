@@ -0,0 +1,649 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package jakarta.enterprise.concurrent.spi;
+
+import jakarta.enterprise.concurrent.LastExecution;
+import jakarta.enterprise.concurrent.ManagedTask;
+import jakarta.enterprise.concurrent.Trigger;
+import jakarta.enterprise.concurrent.ZonedTrigger;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel that Jakarta EE Product Providers can use to drive
+ * the executions of tasks that are scheduled with a {@link Trigger} or at a fixed time.
+ * <p>
+ * Scheduling and cancelling a task are constant time operations that do not block
+ * on other threads. Tasks are kept in buckets of the wheel according to their next
+ * run time, with the time divided into ticks of a fixed length. A single thread,
+ * such as a timer thread of the product provider, invokes {@link #advance(Executor)}
+ * to process all of the ticks that have elapsed as a batch, handing the tasks that
+ * are due to an executor. A task that is scheduled with a <code>Trigger</code> is
+ * rescheduled after each execution according to the next run time of the <code>Trigger</code>,
+ * which is computed on the thread that runs the task rather than on the timer thread.
+ * <p>
+ * For example,
+ * <pre>
+ * TimingWheel wheel = new TimingWheel(10);
+ * TimingWheel.Timeout timeout = wheel.schedule(task, new CronTrigger("0 * * * MON-FRI", zone));
+ * ...
+ * // on the timer thread,
+ * while (running) {
+ *     wheel.advance(executor);
+ *     Thread.sleep(wheel.getTickMillis());
+ * }
+ * </pre>
+ * <p>
+ * Tasks never run before their scheduled time, but can run up to one tick later
+ * plus however long it takes for <code>advance</code> to be invoked.
+ * A task that is scheduled with a <code>Trigger</code> does not run again
+ * after an execution raises an exception.
+ * <code>Trigger.skipRun</code> is consulted before each execution,
+ * and skipped executions do not update the {@link LastExecution} that is supplied to it.
+ * If the next run time that the trigger computes after a skipped execution is not
+ * later than the skipped time, the trigger is asked again with the skipped time
+ * as the most recent execution.
+ * <p>
+ * Tasks that are {@link ManagedTask} can use the {@link ManagedTask#TIMER_TOLERANCE}
+ * execution property to permit each execution to start up to the specified number of
+ * milliseconds after its scheduled time. By default, the wheel uses the tolerance to
+ * coalesce executions, delaying each to the next multiple of the tolerance from the epoch,
+ * such that tasks with the same tolerance that are scheduled within the same window run
+ * upon the same tick and are dispatched in the same batch. Alternatively, the wheel can be
+ * constructed to spread executions across the tolerance, delaying each by a deterministic
+ * amount that is derived from the {@link ManagedTask#IDENTITY_NAME} of the task,
+ * or absent that, its class name, such that tasks that are all scheduled for the same
+ * time, such as the top of the hour, do not all run upon the same tick.
+ *
+ * @since 3.2
+ */
+public final class TimingWheel {
+    /**
+     * Number of bits of the tick that are represented by each level of the wheel.
+     */
+    private static final int WHEEL_BITS = 6;
+
+    /**
+     * Number of buckets in each level of the wheel, which matches the number
+     * of bits in a long such that the occupied buckets of a level are a single bitmask.
+     */
+    private static final int SLOTS = 1 << WHEEL_BITS;
+
+    /**
+     * Number of levels, which is enough to cover all non-negative long values of ticks.
+     */
+    private static final int LEVELS = (Long.SIZE + WHEEL_BITS - 1) / WHEEL_BITS;
+
+    // states of a Timeout
+    private static final int WAITING = 0;
+    private static final int DISPATCHED = 1;
+    private static final int DONE = 2;
+    private static final int CANCELLED = 3;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final long tickMillis;
+    private final LongSupplier clock;
+
+    /**
+     * Indicates whether to spread executions across their tolerance rather than coalesce them.
+     */
+    private final boolean spread;
+
+    /**
+     * Time, in milliseconds from the epoch, of tick 0.
+     */
+    private final long origin;
+
+    /**
+     * Most recent tick that has been processed. Only accessed while synchronized.
+     */
+    private long currentTick;
+
+    /**
+     * Heads of the linked lists of each bucket, indexed by level * SLOTS + slot.
+     * Only accessed while synchronized.
+     */
+    private final Timeout[] buckets = new Timeout[LEVELS * SLOTS];
+
+    /**
+     * Bitmask for each level of the buckets that are non-empty. Only accessed while synchronized.
+     */
+    private final long[] occupied = new long[LEVELS];
+
+    /**
+     * Tasks that are due, in the order that they will be dispatched. Only accessed while synchronized.
+     */
+    private final ArrayList<Timeout> due = new ArrayList<Timeout>();
+
+    /**
+     * Tasks that are scheduled or rescheduled but not yet placed into a bucket.
+     */
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<Timeout>();
+
+    /**
+     * Tasks that are cancelled but might not yet be removed from their bucket.
+     */
+    private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<Timeout>();
+
+    /**
+     * Constructs a timing wheel that uses the system clock.
+     *
+     * @param tickMillis length of each tick of the wheel in milliseconds.
+     * @throws IllegalArgumentException if the tick length is not positive.
+     */
+    public TimingWheel(final long tickMillis) {
+        this(tickMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a timing wheel that uses the supplied clock.
+     *
+     * @param tickMillis length of each tick of the wheel in milliseconds.
+     * @param clock supplies the current time in milliseconds from the epoch.
+     * @throws IllegalArgumentException if the tick length is not positive.
+     */
+    public TimingWheel(final long tickMillis, final LongSupplier clock) {
+        this(tickMillis, clock, false);
+    }
+
+    /**
+     * Constructs a timing wheel that uses the supplied clock and either coalesces
+     * or spreads the executions of tasks that specify the
+     * {@link ManagedTask#TIMER_TOLERANCE} execution property.
+     *
+     * @param tickMillis length of each tick of the wheel in milliseconds.
+     * @param clock supplies the current time in milliseconds from the epoch.
+     * @param spread true to spread executions across their tolerance,
+     *        false to coalesce executions that are scheduled within the same window.
+     * @throws IllegalArgumentException if the tick length is not positive.
+     * @since 3.2
+     */
+    public TimingWheel(final long tickMillis, final LongSupplier clock, final boolean spread) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tickMillis: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.spread = spread;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Processes all ticks that have elapsed since the previous invocation,
+     * submitting each task that is due to the supplied executor.
+     * Tasks that become due during the same invocation are submitted
+     * in order of their scheduled time.
+     * <p>
+     * This method is intended to be invoked periodically by a single timer thread,
+     * typically once per tick. Concurrent invocations are serialized.
+     *
+     * @param executor executor that runs the tasks.
+     * @return the number of tasks that were submitted to the executor.
+     * @throws RejectedExecutionException if the executor rejects any of the tasks,
+     *         after submitting the remainder of the tasks. Tasks that are rejected do not run again.
+     */
+    public synchronized int advance(final Executor executor) {
+        long targetTick = Math.floorDiv(clock.getAsLong() - origin, tickMillis);
+
+        for (Timeout t; (t = pending.poll()) != null;) {
+            if (t.state == WAITING) {
+                place(t);
+            }
+        }
+        for (Timeout t; (t = cancelled.poll()) != null;) {
+            if (t.bucket >= 0) {
+                unlink(t);
+            }
+        }
+
+        while (currentTick < targetTick) {
+            long tick = nextOccupiedTick();
+            if (tick > targetTick) {
+                currentTick = targetTick;
+            } else {
+                currentTick = tick;
+                // buckets of higher levels that begin at this tick cascade down to lower levels
+                for (int level = LEVELS - 1; level >= 0; level--) {
+                    int slot = (int) (tick >>> (level * WHEEL_BITS)) & (SLOTS - 1);
+                    if ((tick & ((1L << (level * WHEEL_BITS)) - 1)) == 0 && (occupied[level] & (1L << slot)) != 0) {
+                        int b = level * SLOTS + slot;
+                        Timeout t = buckets[b];
+                        buckets[b] = null;
+                        occupied[level] &= ~(1L << slot);
+                        while (t != null) {
+                            Timeout following = t.next;
+                            t.next = null;
+                            t.prev = null;
+                            t.bucket = -1;
+                            place(t);
+                            t = following;
+                        }
+                    }
+                }
+            }
+        }
+
+        int count = 0;
+        RejectedExecutionException failure = null;
+        for (Timeout t : due) {
+            if (STATE.compareAndSet(t, WAITING, DISPATCHED)) {
+                try {
+                    executor.execute(t.runner);
+                    count++;
+                } catch (RejectedExecutionException x) {
+                    STATE.compareAndSet(t, DISPATCHED, DONE);
+                    if (failure == null) {
+                        failure = x;
+                    }
+                }
+            }
+        }
+        due.clear();
+        if (failure != null) {
+            throw failure;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the length of each tick of the wheel.
+     *
+     * @return length of each tick in milliseconds.
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Schedules a task to run once at the specified time.
+     *
+     * @param task the task to run.
+     * @param time time in milliseconds from the epoch at which to run the task.
+     * @return handle that can be used to cancel the task.
+     * @throws IllegalArgumentException if the {@link ManagedTask#TIMER_TOLERANCE} execution property is not valid.
+     * @throws NullPointerException if the task is null.
+     */
+    public Timeout schedule(final Runnable task, final long time) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        Timeout t = new Timeout(task, null, time);
+        pending.add(t);
+        return t;
+    }
+
+    /**
+     * Schedules a task to run at the times that are determined by a <code>Trigger</code>.
+     * The first run time is computed on the current thread.
+     * The <code>Trigger</code> of a {@link ZonedTrigger} is given epoch milliseconds where possible,
+     * via {@link ZonedTrigger#getNextRunTime(LastExecution, long)}.
+     * If the task is a {@link ManagedTask}, the {@link ManagedTask#IDENTITY_NAME} execution property
+     * is made available to the <code>Trigger</code> as the identity name of the {@link LastExecution}.
+     *
+     * @param task the task to run.
+     * @param trigger determines the times at which to run the task.
+     * @return handle that can be used to cancel the task.
+     *         If the <code>Trigger</code> does not provide a first run time, the handle is already done.
+     * @throws IllegalArgumentException if the {@link ManagedTask#TIMER_TOLERANCE} execution property is not valid.
+     * @throws NullPointerException if the task or trigger is null.
+     */
+    public Timeout schedule(final Runnable task, final Trigger trigger) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (trigger == null) {
+            throw new NullPointerException("trigger");
+        }
+        Timeout t = new Timeout(task, trigger, clock.getAsLong());
+        t.deadline = t.nextRunTime(null);
+        if (t.deadline == Long.MIN_VALUE) {
+            t.state = DONE;
+        } else {
+            pending.add(t);
+        }
+        return t;
+    }
+
+    /**
+     * Finds the first tick after the current tick at which a bucket needs to be processed.
+     * Buckets of lower levels always precede those of higher levels.
+     *
+     * @return the tick, or Long.MAX_VALUE if all buckets are empty.
+     */
+    private long nextOccupiedTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            long slots = occupied[level] & (-2L << ((currentTick >>> shift) & (SLOTS - 1)));
+            if (slots != 0L) {
+                int levelShift = shift + WHEEL_BITS;
+                long base = levelShift >= Long.SIZE ? 0L : currentTick >>> levelShift << levelShift;
+                return base | (long) Long.numberOfTrailingZeros(slots) << shift;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Adds a task to the bucket for its next run time, or to the list of tasks that are due.
+     * The run time is delayed within the tolerance of the task, if any,
+     * either to coalesce or to spread executions.
+     * The bucket is at the highest level where the tick of the next run time differs
+     * from the current tick, such that the bucket cascades down to lower levels before
+     * the current tick reaches the next run time.
+     *
+     * @param t the task.
+     */
+    private void place(final Timeout t) {
+        long deadline = t.deadline;
+        long tolerance = t.tolerance;
+        if (tolerance > 0 && deadline < Long.MAX_VALUE - tolerance) {
+            deadline += spread ? Math.floorMod(t.jitter, tolerance) : Math.floorMod(-deadline, tolerance);
+        }
+        long tick = deadline <= origin
+                ? 0L
+                : (deadline - origin) / tickMillis + ((deadline - origin) % tickMillis == 0 ? 0 : 1);
+        if (tick <= currentTick) {
+            due.add(t);
+        } else {
+            int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(tick ^ currentTick)) / WHEEL_BITS;
+            int slot = (int) (tick >>> (level * WHEEL_BITS)) & (SLOTS - 1);
+            int b = level * SLOTS + slot;
+            Timeout head = buckets[b];
+            if (head != null) {
+                head.prev = t;
+            }
+            t.next = head;
+            t.bucket = b;
+            buckets[b] = t;
+            occupied[level] |= 1L << slot;
+        }
+    }
+
+    /**
+     * Removes a task from its bucket.
+     *
+     * @param t the task.
+     */
+    private void unlink(final Timeout t) {
+        int b = t.bucket;
+        if (t.prev == null) {
+            buckets[b] = t.next;
+            if (t.next == null) {
+                occupied[b / SLOTS] &= ~(1L << (b % SLOTS));
+            }
+        } else {
+            t.prev.next = t.next;
+        }
+        if (t.next != null) {
+            t.next.prev = t.prev;
+        }
+        t.next = null;
+        t.prev = null;
+        t.bucket = -1;
+    }
+
+    /**
+     * Handle to a task that is scheduled on a {@link TimingWheel}.
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final Trigger trigger;
+        private final String identityName;
+
+        /**
+         * Milliseconds after its scheduled time that each execution is permitted to start.
+         */
+        private final long tolerance;
+
+        /**
+         * Deterministic value from which to compute the delay when spreading executions.
+         */
+        private final long jitter;
+
+        /**
+         * Time, in milliseconds from the epoch, at which the task was scheduled.
+         */
+        private final long scheduledAt;
+
+        /**
+         * Next run time of the task in milliseconds from the epoch.
+         */
+        private volatile long deadline;
+
+        private volatile int state;
+
+        private LastExecution lastExecution;
+
+        /**
+         * Runs the task on behalf of the executor.
+         */
+        private final Runnable runner = this::run;
+
+        // linkage within a bucket, which is only accessed while the wheel is synchronized
+        private int bucket = -1;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(final Runnable task, final Trigger trigger, final long time) {
+            this.task = task;
+            this.trigger = trigger;
+            this.scheduledAt = time;
+            if (trigger == null) {
+                this.deadline = time;
+            }
+
+            Map<String, String> props = task instanceof ManagedTask
+                    ? ((ManagedTask) task).getExecutionProperties()
+                    : null;
+            this.identityName = props == null ? null : props.get(ManagedTask.IDENTITY_NAME);
+            String toleranceValue = props == null ? null : props.get(ManagedTask.TIMER_TOLERANCE);
+            try {
+                this.tolerance = toleranceValue == null ? 0L : Long.parseLong(toleranceValue);
+            } catch (NumberFormatException x) {
+                throw new IllegalArgumentException(ManagedTask.TIMER_TOLERANCE + ": " + toleranceValue, x);
+            }
+            if (tolerance < 0) {
+                throw new IllegalArgumentException(ManagedTask.TIMER_TOLERANCE + ": " + toleranceValue);
+            }
+            long hash = (identityName == null ? task.getClass().getName() : identityName).hashCode();
+            hash *= 0x9E3779B97F4A7C15L;
+            this.jitter = hash ^ (hash >>> 32);
+        }
+
+        /**
+         * Cancels the task. If the task is running, the current execution continues,
+         * but the task is not rescheduled.
+         *
+         * @return true if cancelled by this method, false if the task was already done or cancelled.
+         */
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                cancelled.add(this);
+                return true;
+            }
+            return STATE.compareAndSet(this, DISPATCHED, CANCELLED);
+        }
+
+        /**
+         * Returns the next scheduled run time, or the most recent if the task is running or done.
+         * The task might start later within its {@link ManagedTask#TIMER_TOLERANCE}.
+         *
+         * @return time in milliseconds from the epoch.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Indicates whether the task was cancelled.
+         *
+         * @return true if cancelled, otherwise false.
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * Indicates whether the task will not run again, due to completing its final execution,
+         * failing, or being cancelled.
+         *
+         * @return true if the task will not run again, otherwise false.
+         */
+        public boolean isDone() {
+            int s = state;
+            return s == DONE || s == CANCELLED;
+        }
+
+        /**
+         * Computes the next run time of a task that is scheduled with a <code>Trigger</code>.
+         *
+         * @param execution the most recent execution, or null if none.
+         * @return time in milliseconds from the epoch, or Long.MIN_VALUE if the task does not run again.
+         */
+        private long nextRunTime(final LastExecution execution) {
+            if (trigger instanceof ZonedTrigger) {
+                return ((ZonedTrigger) trigger).getNextRunTime(execution, scheduledAt);
+            } else {
+                Date nextTime = trigger.getNextRunTime(execution, new Date(scheduledAt));
+                return nextTime == null ? Long.MIN_VALUE : nextTime.getTime();
+            }
+        }
+
+        /**
+         * Runs the task on a thread of the executor and reschedules it if it has a <code>Trigger</code>.
+         */
+        private void run() {
+            boolean rescheduled = false;
+            try {
+                long scheduledStart = deadline;
+                boolean skip;
+                if (trigger == null) {
+                    skip = false;
+                } else if (trigger instanceof ZonedTrigger) {
+                    ZoneId zone = ((ZonedTrigger) trigger).getZoneId();
+                    skip = ((ZonedTrigger) trigger).skipRun(lastExecution, Instant.ofEpochMilli(scheduledStart).atZone(zone));
+                } else {
+                    skip = trigger.skipRun(lastExecution, new Date(scheduledStart));
+                }
+
+                if (!skip) {
+                    long runStart = clock.getAsLong();
+                    task.run();
+                    if (trigger != null) {
+                        lastExecution = new Execution(identityName, scheduledStart, runStart, clock.getAsLong());
+                    }
+                }
+
+                if (trigger != null) {
+                    long nextTime = nextRunTime(lastExecution);
+                    if (skip && nextTime != Long.MIN_VALUE && nextTime <= scheduledStart) {
+                        // The trigger computes from the most recent execution, which precedes the
+                        // skipped run, so compute from the skipped run instead, as if it ended
+                        // immediately after its scheduled time, to move past it.
+                        nextTime = nextRunTime(new Execution(identityName, scheduledStart, scheduledStart, scheduledStart + 1));
+                    }
+                    if (nextTime != Long.MIN_VALUE) {
+                        deadline = nextTime;
+                        if (STATE.compareAndSet(this, DISPATCHED, WAITING)) {
+                            pending.add(this);
+                        }
+                        rescheduled = true;
+                    }
+                }
+            } finally {
+                if (!rescheduled) {
+                    STATE.compareAndSet(this, DISPATCHED, DONE);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Timeout@" + Integer.toHexString(hashCode()) + ' ' + Instant.ofEpochMilli(deadline) + ' '
+                    + (state == WAITING ? "WAITING" : state == DISPATCHED ? "RUNNING" : state == DONE ? "DONE" : "CANCELLED")
+                    + ' ' + task;
+        }
+    }
+
+    /**
+     * Information about the most recent execution of a task that is scheduled with a <code>Trigger</code>.
+     */
+    private static final class Execution implements LastExecution {
+        private final String identityName;
+        private final long scheduledStart;
+        private final long runStart;
+        private final long runEnd;
+
+        private Execution(final String identityName, final long scheduledStart, final long runStart, final long runEnd) {
+            this.identityName = identityName;
+            this.scheduledStart = scheduledStart;
+            this.runStart = runStart;
+            this.runEnd = runEnd;
+        }
+
+        @Override
+        public String getIdentityName() {
+            return identityName;
+        }
+
+        @Override
+        public Object getResult() {
+            return null;
+        }
+
+        @Override
+        public ZonedDateTime getScheduledStart(final ZoneId zone) {
+            return Instant.ofEpochMilli(scheduledStart).atZone(zone);
+        }
+
+        @Override
+        public ZonedDateTime getRunStart(final ZoneId zone) {
+            return Instant.ofEpochMilli(runStart).atZone(zone);
+        }
+
+        @Override
+        public ZonedDateTime getRunEnd(final ZoneId zone) {
+            return Instant.ofEpochMilli(runEnd).atZone(zone);
+        }
+
+        @Override
+        public long getScheduledStartEpochMilli() {
+            return scheduledStart;
+        }
+
+        @Override
+        public long getRunStartEpochMilli() {
+            return runStart;
+        }
+
+        @Override
+        public long getRunEndEpochMilli() {
+            return runEnd;
+        }
+    }
+}
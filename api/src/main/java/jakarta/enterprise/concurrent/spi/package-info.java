@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -15,6 +15,7 @@
  */
 
 /**
- * Interfaces for third-party providers of thread context to implement.
+ * Interfaces for third-party providers of thread context to implement,
+ * and utilities for Jakarta EE Product Providers.
  */
 package jakarta.enterprise.concurrent.spi;
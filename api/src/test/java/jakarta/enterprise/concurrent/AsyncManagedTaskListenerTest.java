@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncManagedTaskListenerTest {
+
+    /**
+     * Notifications from many threads are delivered on the dedicated thread,
+     * in order for each task, and none are lost with the BLOCK policy.
+     */
+    @Test
+    void testDeliveryInOrder() throws Exception {
+        Map<Object, List<String>> events = new ConcurrentHashMap<Object, List<String>>();
+        List<Thread> deliveryThreads = new ArrayList<Thread>();
+        ManagedTaskListener recorder = new ManagedTaskListener() {
+            private void record(final Object task, final String event) {
+                events.computeIfAbsent(task, t -> new ArrayList<String>()).add(event);
+                if (deliveryThreads.isEmpty()) {
+                    deliveryThreads.add(Thread.currentThread());
+                }
+            }
+
+            @Override
+            public void taskSubmitted(Future<?> future, ManagedExecutorService executor, Object task) {
+                record(task, "submitted");
+            }
+
+            @Override
+            public void taskAborted(Future<?> future, ManagedExecutorService executor, Object task, Throwable x) {
+                record(task, "aborted:" + x.getMessage());
+            }
+
+            @Override
+            public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable x) {
+                record(task, "done");
+            }
+
+            @Override
+            public void taskStarting(Future<?> future, ManagedExecutorService executor, Object task) {
+                record(task, "starting");
+            }
+        };
+
+        AsyncManagedTaskListener listener = ManagedExecutors.asyncListener(
+                recorder, 16, AsyncManagedTaskListener.Overflow.BLOCK, Thread::new);
+
+        int threads = 4;
+        int tasksPerThread = 2000;
+        CompletableFuture<?>[] producers = new CompletableFuture<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            producers[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < tasksPerThread; i++) {
+                    String task = thread + ":" + i;
+                    listener.taskSubmitted(null, null, task);
+                    listener.taskStarting(null, null, task);
+                    if (i % 10 == 0) {
+                        listener.taskAborted(null, null, task, new AbortedException("x"));
+                    }
+                    listener.taskDone(null, null, task, null);
+                }
+            });
+        }
+        CompletableFuture.allOf(producers).get(2, TimeUnit.MINUTES);
+        listener.close();
+
+        assertEquals(threads * tasksPerThread, events.size());
+        for (Map.Entry<Object, List<String>> entry : events.entrySet()) {
+            int i = Integer.parseInt(((String) entry.getKey()).split(":")[1]);
+            assertEquals(i % 10 == 0
+                    ? List.of("submitted", "starting", "aborted:x", "done")
+                    : List.of("submitted", "starting", "done"),
+                    entry.getValue());
+        }
+        assertNotEquals(Thread.currentThread(), deliveryThreads.get(0));
+        assertEquals(0, listener.getDiscardedCount());
+
+        // after close, notifications are delivered on the thread that raises them
+        listener.taskSubmitted(null, null, "afterClose");
+        assertEquals(List.of("submitted"), events.get("afterClose"));
+    }
+
+    /**
+     * When the buffer is full, the overflow policy either discards notifications
+     * or delivers them on the thread that raises them.
+     */
+    @Test
+    void testOverflow() throws Exception {
+        SlowListener slow = new SlowListener();
+        AsyncManagedTaskListener discarding = ManagedExecutors.asyncListener(
+                slow, 3, AsyncManagedTaskListener.Overflow.DISCARD, Thread::new);
+        discarding.taskSubmitted(null, null, 0);
+        assertTrue(slow.blocked.await(2, TimeUnit.MINUTES));
+        // capacity is rounded up to 4
+        for (int i = 1; i <= 10; i++) {
+            discarding.taskSubmitted(null, null, i);
+        }
+        assertEquals(6, discarding.getDiscardedCount());
+        slow.release.countDown();
+        discarding.close();
+        assertEquals(List.of(0, 1, 2, 3, 4), slow.delivered);
+
+        SlowListener slow2 = new SlowListener();
+        AsyncManagedTaskListener callerRuns = ManagedExecutors.asyncListener(
+                slow2, 1, AsyncManagedTaskListener.Overflow.CALLER_RUNS, Thread::new);
+        callerRuns.taskSubmitted(null, null, 0);
+        assertTrue(slow2.blocked.await(2, TimeUnit.MINUTES));
+        // capacity is rounded up to 2
+        for (int i = 1; i <= 4; i++) {
+            callerRuns.taskSubmitted(null, null, i);
+        }
+        assertEquals(List.of(0, 3, 4), slow2.delivered);
+        assertEquals(Thread.currentThread(), slow2.threads.get(2));
+        slow2.release.countDown();
+        callerRuns.close();
+        assertEquals(List.of(0, 3, 4, 1, 2), slow2.delivered);
+        assertSame(slow2.threads.get(0), slow2.threads.get(4));
+        assertEquals(0, callerRuns.getDiscardedCount());
+
+        assertThrows(IllegalArgumentException.class, () -> ManagedExecutors.asyncListener(
+                slow, 0, AsyncManagedTaskListener.Overflow.BLOCK, Thread::new));
+        assertThrows(IllegalArgumentException.class, () -> ManagedExecutors.asyncListener(
+                null, 10, AsyncManagedTaskListener.Overflow.BLOCK, Thread::new));
+        assertThrows(IllegalStateException.class, () -> ManagedExecutors.asyncListener(
+                slow, 10, AsyncManagedTaskListener.Overflow.BLOCK, r -> null));
+    }
+
+    /**
+     * Interrupting the dedicated thread, such as from the delegate listener, does not
+     * cause it to spin, and it continues to deliver notifications.
+     */
+    @Test
+    void testInterruptedDispatcher() throws Exception {
+        List<Object> delivered = new CopyOnWriteArrayList<Object>();
+        List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+        AsyncManagedTaskListener listener = ManagedExecutors.asyncListener(new ManagedExecutors.ListenerAdapter() {
+            @Override
+            public void taskSubmitted(Future<?> future, ManagedExecutorService executor, Object task) {
+                delivered.add(task);
+                Thread.currentThread().interrupt();
+            }
+        }, 4, AsyncManagedTaskListener.Overflow.BLOCK, r -> {
+            Thread thread = new Thread(r);
+            threads.add(thread);
+            return thread;
+        });
+        try {
+            listener.taskSubmitted(null, null, "first");
+            awaitParked(threads.get(0), delivered, 1);
+            assertEquals(List.of("first"), delivered);
+
+            listener.taskSubmitted(null, null, "second");
+            awaitParked(threads.get(0), delivered, 2);
+            assertEquals(List.of("first", "second"), delivered);
+        } finally {
+            listener.close();
+        }
+    }
+
+    /**
+     * Waits for notifications to be delivered and then checks that the thread sleeps
+     * rather than spins, by sampling its state while idle.
+     */
+    private static void awaitParked(Thread thread, List<Object> delivered, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (delivered.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "delivered " + delivered);
+            Thread.sleep(10);
+        }
+        int runnable = 0;
+        for (int i = 0; i < 60; i++) {
+            Thread.sleep(5);
+            if (thread.getState() == Thread.State.RUNNABLE) {
+                runnable++;
+            }
+        }
+        assertTrue(runnable < 10, "observed RUNNABLE " + runnable + " of 60 times while idle");
+    }
+
+    /**
+     * Listener that records taskSubmitted notifications, blocking
+     * on the first from another thread until released.
+     */
+    private static class SlowListener implements ManagedTaskListener {
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Object> delivered = new CopyOnWriteArrayList<Object>();
+        private final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+        private final Thread testThread = Thread.currentThread();
+
+        @Override
+        public void taskSubmitted(Future<?> future, ManagedExecutorService executor, Object task) {
+            delivered.add(task);
+            threads.add(Thread.currentThread());
+            if (Thread.currentThread() != testThread && blocked.getCount() > 0) {
+                blocked.countDown();
+                try {
+                    release.await(2, TimeUnit.MINUTES);
+                } catch (InterruptedException x) {
+                    throw new RuntimeException(x);
+                }
+            }
+        }
+
+        @Override
+        public void taskAborted(Future<?> future, ManagedExecutorService executor, Object task, Throwable x) {
+        }
+
+        @Override
+        public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable x) {
+        }
+
+        @Override
+        public void taskStarting(Future<?> future, ManagedExecutorService executor, Object task) {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsynchronousTest {
+
+    /**
+     * The future is available to the asynchronous method implementation for the
+     * duration of callWith, including on virtual threads, and not afterward.
+     */
+    @Test
+    void testCallWith() throws Exception {
+        CompletableFuture<String> outer = new CompletableFuture<String>();
+        CompletableFuture<String> inner = new CompletableFuture<String>();
+
+        assertEquals("done", Asynchronous.Result.callWith(outer, () -> {
+            assertSame(outer, Asynchronous.Result.getFuture());
+            Asynchronous.Result.callWith(inner, () -> Asynchronous.Result.complete("inner"));
+            assertSame(outer, Asynchronous.Result.getFuture());
+            return Asynchronous.Result.complete("outer").join().length() == 5 ? "done" : "wrong";
+        }));
+        assertEquals("outer", outer.getNow(null));
+        assertEquals("inner", inner.getNow(null));
+        assertThrows(IllegalStateException.class, Asynchronous.Result::getFuture);
+
+        assertThrows(IOException.class, () -> Asynchronous.Result.callWith(outer, () -> {
+            throw new IOException("expected");
+        }));
+        assertThrows(IllegalStateException.class, Asynchronous.Result::getFuture);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[1000];
+            for (int i = 0; i < futures.length; i++) {
+                CompletableFuture<Integer> future = new CompletableFuture<Integer>();
+                int value = i;
+                executor.submit(() -> Asynchronous.Result.callWith(future, () -> Asynchronous.Result.complete(value)));
+                futures[i] = future;
+            }
+            CompletableFuture.allOf(futures).get(2, TimeUnit.MINUTES);
+            for (int i = 0; i < futures.length; i++) {
+                assertEquals(i, futures[i].getNow(null));
+            }
+        }
+        assertTrue(outer.isDone());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.enterprise.concurrent.spi.ThreadContextChain;
+import jakarta.enterprise.concurrent.spi.ThreadContextRestorer;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class CapturedContextTest {
+
+    /**
+     * Checks that the actions of a captured context run with the thread priority
+     * that was captured and that the previous priority is restored.
+     *
+     * @param context captured context with a thread priority of 2.
+     */
+    private static void verify(CapturedContext context) throws Exception {
+        Thread.currentThread().setPriority(7);
+        List<Integer> priorities = new ArrayList<>();
+        Consumer<Integer> consumer = context.contextualConsumer(i -> priorities.add(i * 10
+                + Thread.currentThread().getPriority()));
+        BiFunction<Integer, Integer, Integer> function = context.contextualFunction(
+                (a, b) -> a + b + Thread.currentThread().getPriority());
+
+        consumer.accept(1);
+        assertEquals(List.of(12), priorities);
+        assertEquals(2 + 3 + 2, function.apply(2, 3));
+        assertEquals(2, context.contextualSupplier(() -> Thread.currentThread().getPriority()).get());
+        assertEquals(2, context.contextualFunction((Integer i) -> Thread.currentThread().getPriority()).apply(0));
+        assertEquals(2, context.contextualCallable(() -> Thread.currentThread().getPriority()).call());
+        context.contextualRunnable(() -> priorities.add(Thread.currentThread().getPriority())).run();
+        context.contextualConsumer((Integer a, Integer b) -> priorities.add(a + b)).accept(3, 4);
+        context.run(() -> priorities.add(Thread.currentThread().getPriority()));
+        assertEquals(List.of(12, 2, 7, 2), priorities);
+
+        Exception x = assertThrows(Exception.class, () -> context.call(() -> {
+            throw new Exception("checked " + Thread.currentThread().getPriority());
+        }));
+        assertEquals("checked 2", x.getMessage());
+        assertEquals(7, Thread.currentThread().getPriority());
+    }
+
+    /**
+     * A captured context from a chain applies the context directly.
+     */
+    @Test
+    void testChainCapturedContext() throws Exception {
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0],
+                new String[] {ContextServiceDefinition.ALL_REMAINING}, new String[0], false,
+                List.of(new ThreadPriorityContextProvider()));
+        Thread.currentThread().setPriority(2);
+        CapturedContext context = chain.capturedContext(chain.capture(null));
+        verify(context);
+        assertThrows(IllegalArgumentException.class, () -> chain.capturedContext(new ThreadContextSnapshot[0]));
+    }
+
+    /**
+     * The default captured context of a ContextService runs actions on its current context executor.
+     */
+    @Test
+    void testDefaultCapturedContext() throws Exception {
+        Thread.currentThread().setPriority(2);
+        ThreadContextSnapshot snapshot = new ThreadPriorityContextProvider().currentContext(null);
+        Executor executor = task -> {
+            ThreadContextRestorer restorer = snapshot.begin();
+            try {
+                task.run();
+            } finally {
+                restorer.endContext();
+            }
+        };
+        ContextService contextService = (ContextService) Proxy.newProxyInstance(
+                ContextService.class.getClassLoader(), new Class<?>[] {ContextService.class},
+                (proxy, method, args) -> {
+                    if (method.isDefault()) {
+                        return java.lang.reflect.InvocationHandler.invokeDefault(proxy, method, args);
+                    } else if ("currentContextExecutor".equals(method.getName())) {
+                        return executor;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        verify(contextService.captureContext());
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.enterprise.concurrent.spi.ContextualFlow;
+import jakarta.enterprise.concurrent.spi.ThreadContextChain;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ContextualFlowTest {
+
+    /**
+     * Items that a publisher delivers synchronously in response to requests from
+     * within signals are delivered under the context that is already applied.
+     */
+    @Test
+    void testSynchronousPublisher() {
+        List<String> events = new ArrayList<>();
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0], new String[] {ContextServiceDefinition.ALL_REMAINING},
+                new String[0], false,
+                List.of(new ThreadContextChainTest.NamedProvider("Test", events),
+                        new ThreadPriorityContextProvider()));
+        Thread.currentThread().setPriority(3);
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        Thread.currentThread().setPriority(7);
+
+        List<String> received = new ArrayList<>();
+        Flow.Subscriber<Integer> subscriber = ContextualFlow.subscriber(new Flow.Subscriber<Integer>() {
+            Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                received.add("onSubscribe " + Thread.currentThread().getPriority());
+                this.subscription = subscription;
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add("onNext " + item + " " + Thread.currentThread().getPriority());
+                if (item % 2 == 0) {
+                    subscription.request(2);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add("onError " + throwable.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+                received.add("onComplete " + Thread.currentThread().getPriority());
+            }
+        }, chain, snapshots);
+
+        new RangePublisher(1, 5).subscribe(subscriber);
+
+        assertEquals(List.of("onSubscribe 3", "onNext 1 3", "onNext 2 3", "onNext 3 3", "onNext 4 3",
+                             "onNext 5 3", "onComplete 3"), received);
+        assertEquals(List.of("Test current", "Test begin", "Test end"), events);
+        assertEquals(7, Thread.currentThread().getPriority());
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> ContextualFlow.subscriber(subscriber, chain, new ThreadContextSnapshot[0]));
+    }
+
+    /**
+     * If the subscriber raises an exception, the signals that are held are discarded rather
+     * than delivered after subsequent signals, the subscription is cancelled, and subsequent
+     * signals are ignored.
+     */
+    @Test
+    void testSubscriberRaisesException() {
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0], new String[] {ContextServiceDefinition.ALL_REMAINING},
+                new String[0], false, List.of(new ThreadPriorityContextProvider()));
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+
+        List<String> received = new ArrayList<>();
+        List<Flow.Subscriber<Integer>> contextual = new ArrayList<>();
+        contextual.add(ContextualFlow.subscriber(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                received.add("onSubscribe");
+                contextual.get(0).onNext(1);
+                contextual.get(0).onError(new IllegalStateException("held"));
+                throw new IllegalArgumentException("onSubscribe");
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add("onNext " + item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add("onError " + throwable.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+                received.add("onComplete");
+            }
+        }, chain, snapshots));
+
+        List<String> subscriptionEvents = new ArrayList<>();
+        IllegalArgumentException x = assertThrows(IllegalArgumentException.class, () ->
+                contextual.get(0).onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscriptionEvents.add("request " + n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscriptionEvents.add("cancel");
+                    }
+                }));
+        assertEquals("onSubscribe", x.getMessage());
+        assertEquals(List.of("cancel"), subscriptionEvents);
+
+        contextual.get(0).onNext(2);
+        contextual.get(0).onComplete();
+        assertEquals(List.of("onSubscribe"), received);
+    }
+
+    /**
+     * Signals from an asynchronous publisher and subscription to a processor run with context.
+     */
+    @Test
+    void testProcessor() throws Exception {
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0], new String[] {ContextServiceDefinition.ALL_REMAINING},
+                new String[0], false,
+                List.of(new ThreadPriorityContextProvider()));
+        Thread.currentThread().setPriority(2);
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        Thread.currentThread().setPriority(Thread.NORM_PRIORITY);
+
+        List<Integer> priorities = new ArrayList<>();
+        PriorityProcessor delegate = new PriorityProcessor(priorities);
+        try (delegate) {
+            Flow.Processor<Integer, Integer> processor = ContextualFlow.processor(delegate, chain, snapshots);
+            processor.subscribe(new Flow.Subscriber<Integer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    priorities.add(-Thread.currentThread().getPriority());
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(Integer item) {
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+                publisher.subscribe(processor);
+                publisher.submit(1);
+                publisher.submit(2);
+            }
+            delegate.completed.get(1, TimeUnit.MINUTES);
+        }
+        assertEquals(List.of(-2, 2, 2, 2), priorities);
+    }
+
+    /**
+     * Processor that records the priority of the thread for each item that it receives.
+     */
+    static class PriorityProcessor extends SubmissionPublisher<Integer> implements Flow.Processor<Integer, Integer> {
+        final java.util.concurrent.CompletableFuture<Void> completed = new java.util.concurrent.CompletableFuture<>();
+        final List<Integer> priorities;
+
+        PriorityProcessor(List<Integer> priorities) {
+            super(Runnable::run, 16);
+            this.priorities = priorities;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            synchronized (priorities) {
+                priorities.add(Thread.currentThread().getPriority());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (priorities) {
+                priorities.add(Thread.currentThread().getPriority());
+            }
+            completed.complete(null);
+        }
+    }
+
+    /**
+     * Publisher that delivers a range of integers synchronously within request.
+     */
+    static class RangePublisher implements Flow.Publisher<Integer> {
+        final int first;
+        final int last;
+
+        RangePublisher(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                int next = first;
+                long requested;
+                boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (requested > 0 && next <= last) {
+                        requested--;
+                        subscriber.onNext(next++);
+                    }
+                    emitting = false;
+                    if (next > last) {
+                        next = Integer.MAX_VALUE;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    next = Integer.MAX_VALUE;
+                }
+            });
+        }
+    }
+}
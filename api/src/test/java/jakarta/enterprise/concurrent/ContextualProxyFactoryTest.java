@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.enterprise.concurrent.spi.ContextualProxyFactory;
+import jakarta.enterprise.concurrent.spi.ThreadContextChain;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class ContextualProxyFactoryTest {
+
+    public interface Calculator {
+        long add(int a, long b, double c);
+
+        void clear();
+
+        default String describe(String prefix, float value) {
+            return prefix + value;
+        }
+
+        double multiply(double a, byte b) throws Exception;
+    }
+
+    public interface Greeting {
+        String greet(String name);
+    }
+
+    interface Hidden {
+        int priority();
+    }
+
+    static class CalculatorImpl implements Calculator, Supplier<Integer>, Hidden {
+        int cleared;
+
+        @Override
+        public long add(int a, long b, double c) {
+            return a + b + (long) c + Thread.currentThread().getPriority() * 1000;
+        }
+
+        @Override
+        public void clear() {
+            cleared = Thread.currentThread().getPriority();
+        }
+
+        @Override
+        public double multiply(double a, byte b) throws Exception {
+            if (b == 0) {
+                throw new Exception("zero");
+            }
+            return a * b;
+        }
+
+        @Override
+        public Integer get() {
+            return Thread.currentThread().getPriority();
+        }
+
+        @Override
+        public int priority() {
+            return Thread.currentThread().getPriority();
+        }
+    }
+
+    private static ThreadContextChain priorityChain() {
+        return ThreadContextChain.compile(new String[0], new String[] {"ThreadPriority"}, new String[0], false,
+                                          List.of(new ThreadPriorityContextProvider()));
+    }
+
+    /**
+     * A generated proxy applies context around each interface method and passes
+     * arguments, results, and exceptions of all types directly.
+     */
+    @Test
+    void testGeneratedProxy() throws Exception {
+        ContextualProxyFactory factory = ContextualProxyFactory.forInterfaces(Calculator.class, Supplier.class);
+        assertTrue(factory.isGenerated(), factory.toString());
+        assertSame(factory, ContextualProxyFactory.forInterfaces(Calculator.class, Supplier.class));
+
+        ThreadContextChain chain = priorityChain();
+        Thread.currentThread().setPriority(3);
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        CalculatorImpl impl = new CalculatorImpl();
+        Object proxy = factory.newProxy(impl, chain, snapshots);
+        assertFalse(proxy instanceof Proxy);
+        Thread.currentThread().setPriority(6);
+
+        Calculator calculator = (Calculator) proxy;
+        assertEquals(3000L + 1L + 2L + 3L, calculator.add(1, 2L, 3.5));
+        assertEquals(6, Thread.currentThread().getPriority());
+        calculator.clear();
+        assertEquals(3, impl.cleared);
+        assertEquals("x1.5", calculator.describe("x", 1.5f));
+        assertEquals(5.0, calculator.multiply(2.5, (byte) 2));
+        Exception x = assertThrows(Exception.class, () -> calculator.multiply(1.0, (byte) 0));
+        assertEquals("zero", x.getMessage());
+        assertEquals(6, Thread.currentThread().getPriority());
+
+        @SuppressWarnings("unchecked")
+        Supplier<Integer> supplier = (Supplier<Integer>) proxy;
+        assertEquals(3, supplier.get());
+
+        assertEquals(proxy, proxy);
+        assertNotEquals(proxy, factory.newProxy(impl, chain, snapshots));
+        assertThrows(IllegalArgumentException.class, () -> factory.newProxy("not a calculator", chain, snapshots));
+    }
+
+    /**
+     * Proxies of platform interfaces and of interfaces that are not public are generated
+     * in the package of this class or of the interface.
+     */
+    @Test
+    void testPlatformAndPackagePrivateInterfaces() {
+        ThreadContextChain chain = priorityChain();
+        Thread.currentThread().setPriority(4);
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        Thread.currentThread().setPriority(5);
+
+        ContextualProxyFactory functions = ContextualProxyFactory.forInterfaces(Function.class);
+        assertTrue(functions.isGenerated());
+        @SuppressWarnings("unchecked")
+        Function<Integer, Integer> fn = (Function<Integer, Integer>) functions.newProxy(
+                (Function<Integer, Integer>) i -> i + Thread.currentThread().getPriority(), chain, snapshots);
+        assertEquals(14, fn.apply(10));
+
+        ContextualProxyFactory hidden = ContextualProxyFactory.forInterfaces(Hidden.class);
+        assertTrue(hidden.isGenerated());
+        assertEquals(4, ((Hidden) hidden.newProxy(new CalculatorImpl(), chain, snapshots)).priority());
+        assertEquals(5, Thread.currentThread().getPriority());
+
+        assertThrows(IllegalArgumentException.class, () -> ContextualProxyFactory.forInterfaces());
+        assertThrows(IllegalArgumentException.class, () -> ContextualProxyFactory.forInterfaces(Object.class));
+    }
+
+    /**
+     * Proxies of interfaces of another class loader, which has its own unnamed module,
+     * are generated as hidden classes in the package of the interface, and the factory
+     * does not keep the class loader reachable, even when a platform interface is listed first.
+     */
+    @Test
+    void testInterfaceOfAnotherClassLoader() throws Exception {
+        ThreadContextChain chain = priorityChain();
+        Thread.currentThread().setPriority(4);
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        Thread.currentThread().setPriority(5);
+
+        WeakReference<ClassLoader> loaderRef = useInterfaceOfAnotherClassLoader(chain, snapshots);
+        for (int i = 0; i < 50 && loaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(loaderRef.get());
+    }
+
+    /**
+     * Loads a copy of the Greeting interface from a separate class loader
+     * and creates and uses a contextual proxy for it.
+     *
+     * @return weak reference to the class loader.
+     */
+    private static WeakReference<ClassLoader> useInterfaceOfAnotherClassLoader(ThreadContextChain chain,
+            ThreadContextSnapshot[] snapshots) throws Exception {
+        String name = Greeting.class.getName();
+        byte[] bytes;
+        try (InputStream in = Greeting.class.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+            bytes = in.readAllBytes();
+        }
+        ClassLoader loader = new ClassLoader(ContextualProxyFactoryTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(className)) {
+                    return super.loadClass(className, resolve);
+                }
+                synchronized (getClassLoadingLock(className)) {
+                    Class<?> c = findLoadedClass(className);
+                    return c != null ? c : defineClass(className, bytes, 0, bytes.length);
+                }
+            }
+        };
+        Class<?> intf = loader.loadClass(name);
+        assertNotSame(Greeting.class, intf);
+        assertNotSame(ContextualProxyFactory.class.getModule(), intf.getModule());
+
+        ContextualProxyFactory factory = ContextualProxyFactory.forInterfaces(Runnable.class, intf);
+        assertTrue(factory.isGenerated(), factory.toString());
+        Object target = Proxy.newProxyInstance(loader, new Class<?>[] {intf, Runnable.class},
+                (proxy, method, args) -> "run".equals(method.getName())
+                        ? null
+                        : (String) args[0] + Thread.currentThread().getPriority());
+        Object proxy = factory.newProxy(target, chain, snapshots);
+        assertTrue(proxy.getClass().isHidden(), proxy.getClass().getName());
+        assertSame(loader, proxy.getClass().getClassLoader());
+        assertEquals(intf.getPackageName(), proxy.getClass().getPackageName());
+        assertEquals("p4", intf.getMethod("greet", String.class).invoke(proxy, "p"));
+        assertEquals(5, Thread.currentThread().getPriority());
+        return new WeakReference<ClassLoader>(loader);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021,2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021,2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,12 +17,16 @@
 package jakarta.enterprise.concurrent;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.Month;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class CronTriggerTest {
@@ -1095,6 +1099,46 @@ class CronTriggerTest {
         assertEquals(ZonedDateTime.of(2021, 4, 25, 10, 45, 0, 0, time.getZone()), time);
     }
 
+    /**
+     * Malformed cron fields are rejected with IllegalArgumentException.
+     */
+    @Test
+    void testInvalidFields() {
+        CronTrigger trigger = new CronTrigger(ZoneId.of("America/Chicago"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.seconds("60"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.minutes("5,,10"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.minutes("0/0"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.hours("9-24"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.hours("99999999999"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfMonth(",15"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfMonth("0L"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfMonth("32L"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfMonth("L-5"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.months("JANU"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.months("13"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfWeek("MON#"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfWeek("MON#7"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfWeek("FRI#Lx"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfWeek("MON-FRI#2"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfWeek("*/2"));
+        assertThrows(IllegalArgumentException.class, () -> trigger.daysOfWeek("8"));
+    }
+
+    /**
+     * Numeric days of the week can be used with ordinals.
+     */
+    @Test
+    void testNumericOrdinalDaysOfWeek() {
+        ZoneId zone = ZoneId.of("America/Chicago");
+        ZonedDateTime scheduledAt = ZonedDateTime.of(2021, 4, 14, 18, 5, 0, 0, zone); // Wednesday
+
+        ZonedDateTime time = new CronTrigger("0 12 * * 5#3,0#L", zone).getNextRunTime(null, scheduledAt);
+        assertEquals(ZonedDateTime.of(2021, 4, 16, 12, 0, 0, 0, zone), time);
+
+        time = new CronTrigger("0 12 * * 5#3,7#L", zone).getNextRunTime(new LastExecutionImpl(1, time), scheduledAt);
+        assertEquals(ZonedDateTime.of(2021, 4, 25, 12, 0, 0, 0, zone), time);
+    }
+
     /**
      * Specify a ZoneId that uses Daylight Saving Time.
      */
@@ -1192,4 +1236,200 @@ class CronTriggerTest {
         time = trigger.getNextRunTime(new LastExecutionImpl(7, time), scheduledAt);
         assertEquals(ZonedDateTime.of(2021, 11, 7, 3, 0, 0, 0, cst), time);
     }
+
+    /**
+     * Specify a ZoneId with a transition that does not occur on the hour,
+     * such that only part of the hour is skipped.
+     */
+    @Test
+    void testZoneWithTransitionWithinHour() {
+        ZoneId newfoundland = ZoneId.of("America/St_Johns");
+
+        ZonedDateTime scheduledAt = ZonedDateTime.of(
+                2011, 3, 12, // Saturday, March 12, 2011
+                22, 0, 0, 0, // 10 PM
+                newfoundland);
+
+        // Daylight Saving Time began at 12:01 AM on March 13, 2011, skipping ahead to 1:01 AM
+        CronTrigger trigger = new CronTrigger("0 */10 1 13 MAR *", scheduledAt.getZone());
+
+        ZonedDateTime time;
+        time = trigger.getNextRunTime(null, scheduledAt);
+        assertEquals(ZonedDateTime.of(2011, 3, 13, 1, 10, 0, 0, newfoundland), time);
+
+        time = trigger.getNextRunTime(new LastExecutionImpl(1, time), scheduledAt);
+        assertEquals(ZonedDateTime.of(2011, 3, 13, 1, 20, 0, 0, newfoundland), time);
+    }
+
+    /**
+     * Cron expressions that can never match raise DateTimeException,
+     * including an expression that only matches times that are skipped
+     * by Daylight Saving Time.
+     */
+    @Test
+    void testNeverMatches() {
+        ZonedDateTime scheduledAt = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+
+        CronTrigger february30 = new CronTrigger("0 0 30 FEB *", scheduledAt.getZone());
+        assertThrows(DateTimeException.class, () -> february30.getNextRunTime(null, scheduledAt));
+
+        CronTrigger skipped = new CronTrigger("30 2 L MAR SUN", scheduledAt.getZone());
+        assertThrows(DateTimeException.class, () -> skipped.getNextRunTime(null, scheduledAt));
+    }
+
+    /**
+     * Compute next run times as milliseconds from the epoch, which must be consistent
+     * with the next run times that are computed as ZonedDateTime,
+     * including for a subclass that overrides getNextRunTime.
+     */
+    @Test
+    void testNextRunTimeEpochMilli() {
+        ZoneId chicago = ZoneId.of("America/Chicago");
+        CronTrigger trigger = new CronTrigger("0 10 15,L * MON-FRI", chicago);
+        CronTrigger payroll = new PayrollTrigger();
+
+        ZonedDateTime scheduledAt = ZonedDateTime.of(2021, 10, 1, 12, 30, 15, 500000000, chicago);
+        long scheduledAtMillis = scheduledAt.toInstant().toEpochMilli();
+
+        ZonedDateTime time = trigger.getNextRunTime(null, scheduledAt);
+        assertEquals(ZonedDateTime.of(2021, 10, 15, 10, 0, 0, 0, chicago), time);
+        assertEquals(time.toInstant().toEpochMilli(), trigger.getNextRunTime(null, scheduledAtMillis));
+
+        ZonedDateTime payrollTime = payroll.getNextRunTime(null, scheduledAt);
+        assertEquals(ZonedDateTime.of(2021, 10, 15, 10, 0, 0, 0, chicago), payrollTime);
+        assertEquals(payrollTime.toInstant().toEpochMilli(), payroll.getNextRunTime(null, scheduledAtMillis));
+
+        for (int i = 1; i < 12; i++) {
+            LastExecution lastExec = new LastExecutionImpl(i, time);
+            ZonedDateTime nextTime = trigger.getNextRunTime(lastExec, scheduledAt);
+            assertEquals(nextTime.toInstant().toEpochMilli(), trigger.getNextRunTime(lastExec, scheduledAtMillis));
+
+            lastExec = new LastExecutionImpl(i, payrollTime);
+            ZonedDateTime nextPayrollTime = payroll.getNextRunTime(lastExec, scheduledAt);
+            assertEquals(nextPayrollTime.toInstant().toEpochMilli(), payroll.getNextRunTime(lastExec, scheduledAtMillis));
+
+            time = nextTime;
+            payrollTime = nextPayrollTime;
+        }
+        assertEquals(ZonedDateTime.of(2022, 3, 31, 10, 0, 0, 0, chicago), payrollTime);
+    }
+
+    /**
+     * Obtain streams of successive run times from a CronTrigger.
+     */
+    @Test
+    void testRunTimes() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        CronTrigger trigger = new CronTrigger("0 30 * * * *", newYork);
+
+        ZonedDateTime from = ZonedDateTime.of(2021, 3, 13, 23, 45, 0, 0, newYork);
+
+        List<ZonedDateTime> times = trigger.runTimes(from).limit(4).collect(Collectors.toList());
+        assertEquals(List.of(ZonedDateTime.of(2021, 3, 14, 0, 30, 0, 0, newYork),
+                             ZonedDateTime.of(2021, 3, 14, 1, 30, 0, 0, newYork),
+                             ZonedDateTime.of(2021, 3, 14, 3, 30, 0, 0, newYork), // Standard --> DST
+                             ZonedDateTime.of(2021, 3, 14, 4, 30, 0, 0, newYork)),
+                     times);
+
+        // 23 hours on the day that Daylight Saving Time begins, 25 hours on the day that it ends
+        ZonedDateTime march14 = ZonedDateTime.of(2021, 3, 14, 0, 0, 0, 0, newYork);
+        assertEquals(23, trigger.runTimes(march14, march14.plusDays(1)).count());
+
+        ZonedDateTime november7 = ZonedDateTime.of(2021, 11, 7, 0, 0, 0, 0, newYork);
+        assertEquals(25, trigger.runTimes(november7, november7.plusDays(1)).count());
+
+        // every second of every weekday in a year
+        CronTrigger everySecond = new CronTrigger("* * * * * MON-FRI", ZoneId.of("UTC"));
+        long start = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, everySecond.getZoneId()).toInstant().toEpochMilli();
+        long end = ZonedDateTime.of(2022, 1, 1, 0, 0, 0, 0, everySecond.getZoneId()).toInstant().toEpochMilli();
+        assertEquals(261L * 24 * 60 * 60, everySecond.runTimes(start, end).count());
+        assertEquals(start + 1000, everySecond.runTimes(start + 1, end).findFirst().getAsLong());
+    }
+
+    /**
+     * Next run times that are too large to represent as milliseconds from the epoch
+     * are rejected rather than overflowing, and streams of run times end before them.
+     */
+    @Test
+    void testRunTimesNearLimits() {
+        CronTrigger everySecond = new CronTrigger("* * * * * *", ZoneId.of("UTC"));
+        long last = Long.MAX_VALUE / 1000L * 1000L;
+
+        assertEquals(last, everySecond.getNextRunTime(null, last - 999L));
+        assertThrows(ArithmeticException.class, () -> everySecond.getNextRunTime(null, Long.MAX_VALUE - 5L));
+        assertThrows(ArithmeticException.class, () -> everySecond.getNextRunTime(null, last + 1L));
+
+        assertEquals(List.of(last - 1000L, last),
+                     everySecond.runTimes(last - 1000L, last + 1L).boxed().collect(Collectors.toList()));
+        assertEquals(last, everySecond.runTimes(last - 1000L, Long.MAX_VALUE).max().getAsLong());
+        assertEquals(0, everySecond.runTimes(Long.MAX_VALUE - 5L, Long.MAX_VALUE).count());
+    }
+
+    /**
+     * Triggers that are constructed from the same cron expression behave the same,
+     * regardless of the zone or of which trigger was constructed first,
+     * and invalid cron expressions are rejected every time.
+     */
+    @Test
+    void testSameCronExpression() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        String cron = "0 0 9 1-7 * mon";
+
+        CronTrigger trigger1 = new CronTrigger(cron, newYork);
+        CronTrigger trigger2 = new CronTrigger(cron, tokyo);
+        CronTrigger trigger3 = new CronTrigger(cron, newYork);
+
+        ZonedDateTime from = ZonedDateTime.of(2021, 9, 10, 12, 0, 0, 0, newYork);
+        assertEquals(ZonedDateTime.of(2021, 10, 4, 9, 0, 0, 0, newYork), trigger1.getNextRunTime(null, from));
+        assertEquals(ZonedDateTime.of(2021, 10, 4, 9, 0, 0, 0, tokyo),
+                     trigger2.getNextRunTime(null, from.withZoneSameInstant(tokyo)));
+        assertEquals(trigger1.getNextRunTime(null, from), trigger3.getNextRunTime(null, from));
+
+        String fields1 = trigger1.toString().substring(trigger1.toString().indexOf(' '));
+        String fields3 = trigger3.toString().substring(trigger3.toString().indexOf(' '));
+        assertEquals(fields1, fields3);
+
+        // fields that are set after construction only apply to the trigger upon which they are set
+        trigger3.hours(10);
+        assertEquals(ZonedDateTime.of(2021, 10, 4, 10, 0, 0, 0, newYork), trigger3.getNextRunTime(null, from));
+        assertEquals(ZonedDateTime.of(2021, 10, 4, 9, 0, 0, 0, newYork),
+                     new CronTrigger(cron, newYork).getNextRunTime(null, from));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalArgumentException.class, () -> new CronTrigger("0 0 9 1-7 * MON FRI", newYork));
+            assertThrows(IllegalArgumentException.class, () -> new CronTrigger("0 0 9 1-7 * l", newYork));
+        }
+    }
+
+    /**
+     * A subclass that overrides how cron fields are parsed does not affect
+     * triggers of other classes that are constructed from the same cron expression,
+     * and its overrides apply every time it is constructed.
+     */
+    @Test
+    void testSubclassDoesNotShareParsedFields() {
+        ZoneId utc = ZoneId.of("UTC");
+        String cron = "0 0 B * * MON";
+        int[] overrides = new int[1];
+        class BusinessHoursTrigger extends CronTrigger {
+            BusinessHoursTrigger() {
+                super(cron, utc);
+            }
+
+            @Override
+            public CronTrigger hours(final String h) {
+                overrides[0]++;
+                return super.hours("B".equals(h) ? "9-17" : h);
+            }
+        }
+
+        ZonedDateTime from = ZonedDateTime.of(2021, 9, 10, 12, 0, 0, 0, utc);
+        for (int i = 1; i <= 2; i++) {
+            assertEquals(ZonedDateTime.of(2021, 9, 13, 9, 0, 0, 0, utc),
+                         new BusinessHoursTrigger().getNextRunTime(null, from));
+            assertEquals(i, overrides[0]);
+            assertThrows(IllegalArgumentException.class, () -> new CronTrigger(cron, utc));
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.enterprise.concurrent.spi.InlineContextScope;
+import jakarta.enterprise.concurrent.spi.ThreadContextChain;
+import jakarta.enterprise.concurrent.spi.ThreadContextRestorer;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class InlineContextScopeTest {
+
+    /**
+     * Contextualizes a function per the example in the InlineContextScope JavaDoc.
+     */
+    private static <T, R> Function<T, R> contextual(ThreadContextChain chain, ThreadContextSnapshot[] snapshots,
+                                                    Function<T, R> fn) {
+        return t -> {
+            ThreadContextRestorer[] restorers = InlineContextScope.begin(chain, snapshots);
+            try {
+                return fn.apply(t);
+            } finally {
+                InlineContextScope.end(chain, restorers);
+            }
+        };
+    }
+
+    /**
+     * Dependent stages that run back to back within a scope apply the same context once,
+     * whereas a stage with different context replaces it and nested actions apply their own.
+     */
+    @Test
+    void testDependentStages() {
+        List<String> events = new ArrayList<>();
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0],
+                new String[] {ContextServiceDefinition.ALL_REMAINING}, new String[0], false,
+                List.of(new ThreadContextChainTest.NamedProvider("Test", events),
+                        new ThreadPriorityContextProvider()));
+        Thread.currentThread().setPriority(2);
+        ThreadContextSnapshot[] context2 = chain.capture(null);
+        Thread.currentThread().setPriority(3);
+        ThreadContextSnapshot[] context3 = chain.capture(null);
+        Thread.currentThread().setPriority(8);
+        events.clear();
+
+        List<Integer> priorities = new ArrayList<>();
+        Function<Integer, Integer> record = i -> {
+            priorities.add(Thread.currentThread().getPriority());
+            return i + 1;
+        };
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        CompletableFuture<Integer> nested = new CompletableFuture<>();
+        nested.thenApply(contextual(chain, context3, record));
+        source.thenApply(contextual(chain, context2, record))
+              .thenApply(contextual(chain, context2, record))
+              .thenApply(contextual(chain, context2, i -> {
+                  nested.complete(i);
+                  return record.apply(i);
+              }))
+              .thenApply(contextual(chain, context3, record));
+
+        InlineContextScope scope = InlineContextScope.open();
+        try (scope) {
+            InlineContextScope inner = InlineContextScope.open();
+            try (inner) {
+                source.complete(0);
+            }
+            assertEquals(3, Thread.currentThread().getPriority());
+        }
+        assertEquals(8, Thread.currentThread().getPriority());
+        assertEquals(List.of(2, 2, 3, 2, 3), priorities);
+        assertEquals(List.of("Test begin", "Test begin", "Test end", "Test end", "Test begin", "Test end"), events);
+
+        // without a scope, each action applies its own context
+        events.clear();
+        CompletableFuture<Integer> unscoped = new CompletableFuture<>();
+        unscoped.thenApply(contextual(chain, context2, record)).thenApply(contextual(chain, context2, record));
+        unscoped.complete(0);
+        assertEquals(List.of("Test begin", "Test end", "Test begin", "Test end"), events);
+    }
+
+    /**
+     * When an action changes context that can be verified as current, a subsequent action
+     * with the same snapshots runs with the captured context rather than the changed context,
+     * after which the context is shared again.
+     */
+    @Test
+    void testActionChangesContext() {
+        List<String> events = new ArrayList<>();
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0],
+                new String[] {ContextServiceDefinition.ALL_REMAINING}, new String[0], false,
+                List.of(new ThreadContextChainTest.NamedProvider("Test", events),
+                        new ThreadPriorityContextProvider()));
+        Thread.currentThread().setPriority(2);
+        ThreadContextSnapshot[] context2 = chain.capture(null);
+        Thread.currentThread().setPriority(8);
+        events.clear();
+
+        List<Integer> priorities = new ArrayList<>();
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        source.thenApply(contextual(chain, context2, i -> {
+                  priorities.add(Thread.currentThread().getPriority());
+                  Thread.currentThread().setPriority(7);
+                  return i + 1;
+              }))
+              .thenApply(contextual(chain, context2, i -> {
+                  priorities.add(Thread.currentThread().getPriority());
+                  return i + 1;
+              }))
+              .thenApply(contextual(chain, context2, i -> {
+                  priorities.add(Thread.currentThread().getPriority());
+                  return i + 1;
+              }));
+
+        InlineContextScope scope = InlineContextScope.open();
+        try (scope) {
+            source.complete(0);
+        }
+        assertEquals(8, Thread.currentThread().getPriority());
+        assertEquals(List.of(2, 2, 2), priorities);
+        assertEquals(List.of("Test begin", "Test end", "Test begin", "Test end"), events);
+    }
+}
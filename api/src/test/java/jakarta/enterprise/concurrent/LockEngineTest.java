@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.enterprise.concurrent.spi.LockEngine;
+import jakarta.enterprise.concurrent.spi.LockMetrics;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LockEngineTest {
+    private static final long TIMEOUT_NS = TimeUnit.MINUTES.toNanos(2);
+
+    /**
+     * A WRITE lock excludes other threads from obtaining READ and WRITE locks,
+     * whereas READ locks are shared.
+     */
+    @Test
+    void testReadAndWrite() throws Exception {
+        LockEngine engine = new LockEngine();
+        CountDownLatch locked = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> reader1 = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.READ, Lock.UNLIMITED, TimeUnit.SECONDS, () -> {
+                    locked.countDown();
+                    return release.await(TIMEOUT_NS, TimeUnit.NANOSECONDS) ? "reader1" : "timed out";
+                })));
+        CompletableFuture<String> reader2 = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Literal.of(Lock.Type.READ, 2, TimeUnit.MINUTES), () -> {
+                    locked.countDown();
+                    return release.await(TIMEOUT_NS, TimeUnit.NANOSECONDS) ? "reader2" : "timed out";
+                })));
+        assertTrue(locked.await(TIMEOUT_NS, TimeUnit.NANOSECONDS));
+
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "writer"));
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.WRITE, 100, TimeUnit.MILLISECONDS, () -> "writer"));
+        assertEquals("reader3", engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "reader3"));
+
+        release.countDown();
+        assertEquals("reader1", reader1.get(2, TimeUnit.MINUTES));
+        assertEquals("reader2", reader2.get(2, TimeUnit.MINUTES));
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> writer = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.WRITE, Lock.UNLIMITED, TimeUnit.SECONDS, () -> {
+                    writing.countDown();
+                    return finish.await(TIMEOUT_NS, TimeUnit.NANOSECONDS) ? "writer" : "timed out";
+                })));
+        assertTrue(writing.await(TIMEOUT_NS, TimeUnit.NANOSECONDS));
+
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "reader"));
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.OPTIMISTIC_READ, 50, TimeUnit.MILLISECONDS, () -> "reader"));
+
+        finish.countDown();
+        assertEquals("writer", writer.get(2, TimeUnit.MINUTES));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> engine.invoke(Lock.Type.WRITE, -5, TimeUnit.SECONDS, () -> "invalid"));
+    }
+
+    /**
+     * Bean methods that are invoked from bean methods run under the lock that is already held,
+     * except that upgrading to a WRITE lock is not permitted.
+     */
+    @Test
+    void testNested() throws Exception {
+        LockEngine engine = new LockEngine();
+        LockEngine otherBean = new LockEngine();
+
+        assertEquals("write-read-write", engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () ->
+                "write-" + engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () ->
+                        "read-" + engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "write"))));
+
+        assertThrows(IllegalStateException.class, () ->
+                engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () ->
+                        engine.invoke(Lock.Type.WRITE, Lock.UNLIMITED, TimeUnit.SECONDS, () -> "upgraded")));
+
+        assertThrows(IllegalStateException.class, () ->
+                engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () ->
+                        engine.invoke(Lock.Type.WRITE, Lock.UNLIMITED, TimeUnit.SECONDS, () -> "upgraded")));
+
+        // locks on other beans are independent
+        assertEquals("other", engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () ->
+                otherBean.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "other")));
+
+        // the lock is released after nested invocations
+        CompletableFuture<String> writer = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "released")));
+        assertEquals("released", writer.get(2, TimeUnit.MINUTES));
+    }
+
+    /**
+     * OPTIMISTIC_READ methods run without a lock, and run again under the READ lock
+     * when a WRITE lock is obtained while they run, discarding the first result or exception.
+     */
+    @Test
+    void testOptimisticRead() throws Exception {
+        LockEngine engine = new LockEngine();
+        int[] state = new int[] { 1, 1 };
+        AtomicInteger invocations = new AtomicInteger();
+
+        assertEquals(2, engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> {
+            invocations.incrementAndGet();
+            return state[0] + state[1];
+        }));
+        assertEquals(1, invocations.get());
+
+        // a write that intervenes causes the method to run again
+        assertEquals(4, engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> {
+            int first = state[0];
+            if (invocations.incrementAndGet() == 2) {
+                CompletableFuture.runAsync(() -> call(() ->
+                        engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> {
+                            state[0] = 2;
+                            state[1] = 2;
+                            return null;
+                        }))).get(2, TimeUnit.MINUTES);
+            }
+            return first + state[1];
+        }));
+        assertEquals(3, invocations.get());
+
+        // an exception that is due to inconsistent state is discarded
+        assertEquals(6, engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> {
+            if (invocations.incrementAndGet() == 4) {
+                CompletableFuture.runAsync(() -> call(() ->
+                        engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> {
+                            state[0] = 3;
+                            state[1] = 3;
+                            return null;
+                        }))).get(2, TimeUnit.MINUTES);
+                throw new ArrayIndexOutOfBoundsException(2);
+            }
+            return state[0] + state[1];
+        }));
+        assertEquals(5, invocations.get());
+
+        // an exception without an intervening write is raised to the caller
+        assertThrows(ArithmeticException.class,
+                     () -> engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> {
+                         throw new ArithmeticException("/ by zero");
+                     }));
+    }
+
+    /**
+     * WRITE methods with different keys run in parallel, whereas WRITE methods with the same key,
+     * and unkeyed WRITE methods, exclude each other. The rules for nested invocations apply per key.
+     */
+    @Test
+    void testKeyedLocks() throws Exception {
+        LockEngine engine = new LockEngine(16);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> writerA = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.WRITE, Lock.UNLIMITED, TimeUnit.SECONDS, "A", () -> {
+                    locked.countDown();
+                    return release.await(TIMEOUT_NS, TimeUnit.NANOSECONDS) ? "writerA" : "timed out";
+                })));
+        assertTrue(locked.await(TIMEOUT_NS, TimeUnit.NANOSECONDS));
+
+        // keys "A" and "B" are assigned to different stripes
+        assertEquals("writerB", engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "B", () -> "writerB"));
+        assertEquals("readerB", engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, "B",
+                                              () -> "readerB"));
+        assertEquals("reader", engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "reader"));
+
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.READ, 100, TimeUnit.MILLISECONDS, "A", () -> "readerA"));
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.OPTIMISTIC_READ, Lock.IMMEDIATE, TimeUnit.SECONDS, "A",
+                                         () -> "readerA"));
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "writer"));
+
+        release.countDown();
+        assertEquals("writerA", writerA.get(2, TimeUnit.MINUTES));
+
+        // an unkeyed WRITE excludes all keys
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> writer = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.WRITE, Lock.UNLIMITED, TimeUnit.SECONDS, () -> {
+                    writing.countDown();
+                    return finish.await(TIMEOUT_NS, TimeUnit.NANOSECONDS) ? "writer" : "timed out";
+                })));
+        assertTrue(writing.await(TIMEOUT_NS, TimeUnit.NANOSECONDS));
+        assertThrows(LockTimeoutException.class,
+                     () -> engine.invoke(Lock.Type.WRITE, 50, TimeUnit.MILLISECONDS, "C", () -> "writerC"));
+        finish.countDown();
+        assertEquals("writer", writer.get(2, TimeUnit.MINUTES));
+
+        // nested invocations
+        assertEquals("A-A-B", engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () ->
+                "A-" + engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () ->
+                        "A-" + engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "B", () -> "B"))));
+        assertEquals("write-A", engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () ->
+                "write-" + engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () -> "A")));
+        assertThrows(IllegalStateException.class, () ->
+                engine.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () ->
+                        engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () -> "upgraded")));
+        assertThrows(IllegalStateException.class, () ->
+                engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () ->
+                        engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "upgraded")));
+
+        // keys that share a stripe cannot upgrade from READ to WRITE even if not equal
+        LockEngine oneStripe = new LockEngine(1);
+        IllegalStateException x = assertThrows(IllegalStateException.class, () ->
+                oneStripe.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () ->
+                        oneStripe.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "B", () -> "upgraded")));
+        assertTrue(x.getMessage().contains("stripe 0 of 1"), x.getMessage());
+        assertEquals("A-B", oneStripe.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, "A", () ->
+                "A-" + oneStripe.invoke(Lock.Type.READ, Lock.IMMEDIATE, TimeUnit.SECONDS, "B", () -> "B")));
+
+        // the locks are released after nested invocations
+        CompletableFuture<String> released = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.WRITE, Lock.IMMEDIATE, TimeUnit.SECONDS, () -> "released")));
+        assertEquals("released", released.get(2, TimeUnit.MINUTES));
+    }
+
+    /**
+     * The interceptor identifies the LockKey parameter of a method,
+     * of which there can be at most one.
+     */
+    @Test
+    void testKeyParameter() throws Exception {
+        class Bean {
+            void refresh(final int attempts, @LockKey final String sku) {
+            }
+
+            void clear() {
+            }
+
+            void invalid(@LockKey final String sku, @LockKey final String store) {
+            }
+        }
+        Method refresh = Bean.class.getDeclaredMethod("refresh", int.class, String.class);
+        Method clear = Bean.class.getDeclaredMethod("clear");
+        Method invalid = Bean.class.getDeclaredMethod("invalid", String.class, String.class);
+
+        assertEquals(1, LockEngine.keyParameterOf(refresh));
+        assertEquals(-1, LockEngine.keyParameterOf(clear));
+        assertThrows(IllegalArgumentException.class, () -> LockEngine.keyParameterOf(invalid));
+        assertThrows(IllegalArgumentException.class, () -> new LockEngine(0));
+    }
+
+    /**
+     * Contention statistics record wait and hold times, the number of invocations
+     * that are waiting, the number of timeouts, and the number of optimistic retries.
+     */
+    @Test
+    void testMetrics() throws Exception {
+        LockEngine engine = new LockEngine();
+        LockMetrics writeMetrics = new LockMetrics("write");
+        LockMetrics readMetrics = new LockMetrics("read");
+        Lock write = Lock.Literal.of(Lock.Type.WRITE, Lock.UNLIMITED, TimeUnit.SECONDS);
+        Lock read = Lock.Literal.of(Lock.Type.READ, 100, TimeUnit.MILLISECONDS);
+        Lock optimisticRead = Lock.Literal.of(Lock.Type.OPTIMISTIC_READ, Lock.UNLIMITED, TimeUnit.SECONDS);
+
+        assertEquals("read", engine.invoke(read, readMetrics, () -> "read"));
+        assertEquals("optimistic", engine.invoke(optimisticRead, readMetrics, () -> "optimistic"));
+        assertEquals(1, readMetrics.getAcquisitionCount());
+        assertEquals(0, readMetrics.getOptimisticRetryCount());
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> writer1 = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(write, writeMetrics, () -> {
+                    locked.countDown();
+                    return release.await(TIMEOUT_NS, TimeUnit.NANOSECONDS) ? "writer1" : "timed out";
+                })));
+        assertTrue(locked.await(TIMEOUT_NS, TimeUnit.NANOSECONDS));
+        CompletableFuture<String> writer2 = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(write, writeMetrics, () -> "writer2")));
+
+        assertThrows(LockTimeoutException.class, () -> engine.invoke(read, "key", readMetrics, () -> "read"));
+        assertEquals(1, readMetrics.getTimeoutCount());
+
+        // an optimistic invocation that cannot run optimistically is not a retry
+        Lock briefOptimisticRead = Lock.Literal.of(Lock.Type.OPTIMISTIC_READ, 50, TimeUnit.MILLISECONDS);
+        assertThrows(LockTimeoutException.class, () -> engine.invoke(briefOptimisticRead, readMetrics, () -> "read"));
+        assertEquals(2, readMetrics.getTimeoutCount());
+        assertEquals(0, readMetrics.getOptimisticRetryCount());
+
+        // an access timeout too large to express in nanoseconds waits rather than timing out
+        CompletableFuture<String> patient = CompletableFuture.supplyAsync(() -> call(() ->
+                engine.invoke(Lock.Type.READ, Long.MAX_VALUE, TimeUnit.DAYS, () -> "patient")));
+
+        for (long start = System.nanoTime();
+             writeMetrics.getQueueLength() < 1 && System.nanoTime() - start < TIMEOUT_NS;) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(1, writeMetrics.getQueueLength());
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        release.countDown();
+        assertEquals("writer1", writer1.get(2, TimeUnit.MINUTES));
+        assertEquals("writer2", writer2.get(2, TimeUnit.MINUTES));
+        assertEquals("patient", patient.get(2, TimeUnit.MINUTES));
+
+        // a write that intervenes in an optimistic invocation causes a retry
+        assertEquals("optimistic", engine.invoke(optimisticRead, readMetrics, () -> {
+            if (readMetrics.getOptimisticRetryCount() == 0) {
+                CompletableFuture.runAsync(() -> call(() ->
+                        engine.invoke(write, () -> "intervening"))).get(2, TimeUnit.MINUTES);
+            }
+            return "optimistic";
+        }));
+        assertEquals(1, readMetrics.getOptimisticRetryCount());
+
+        assertEquals(0, writeMetrics.getQueueLength());
+        assertEquals(1, writeMetrics.getPeakQueueLength());
+        assertEquals(2, writeMetrics.getAcquisitionCount());
+        assertEquals(0, writeMetrics.getTimeoutCount());
+        assertTrue(writeMetrics.getTotalWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(50),
+                   writeMetrics.toString());
+        assertTrue(writeMetrics.getTotalHoldNanos() >= TimeUnit.MILLISECONDS.toNanos(150),
+                   writeMetrics.toString());
+        assertEquals(2, Arrays.stream(writeMetrics.getHoldTimeHistogram()).sum());
+        long[] waits = writeMetrics.getWaitTimeHistogram();
+        assertEquals(LockMetrics.BUCKETS, waits.length);
+        int slowest = LockMetrics.BUCKETS - 1;
+        while (waits[slowest] == 0) {
+            slowest--;
+        }
+        assertTrue(LockMetrics.upperBoundNanos(slowest) > TimeUnit.MILLISECONDS.toNanos(50),
+                   Arrays.toString(waits));
+        assertEquals(Long.MAX_VALUE, LockMetrics.upperBoundNanos(LockMetrics.BUCKETS - 1));
+        assertEquals(2, LockMetrics.upperBoundNanos(0));
+    }
+
+    /**
+     * Invokes an action that throws checked exceptions, such as from a Supplier.
+     *
+     * @param action the action.
+     * @return result of the action.
+     */
+    private static <T> T call(final Callable<T> action) {
+        try {
+            return action.call();
+        } catch (RuntimeException x) {
+            throw x;
+        } catch (Exception x) {
+            throw new RuntimeException(x);
+        }
+    }
+}
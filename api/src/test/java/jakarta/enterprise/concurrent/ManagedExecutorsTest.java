@@ -1,5 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,11 +18,15 @@
 package jakarta.enterprise.concurrent;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -115,6 +120,231 @@ class ManagedExecutorsTest {
         assertEquals("true", managedTask.getExecutionProperties().get("custom"));
     }
 
+    /**
+     * Unmodifiable execution properties are used without copying. Execution properties
+     * of a ManagedTask and those supplied to managedTask() are overlaid, with the latter
+     * taking precedence, and later changes to modifiable maps are not reflected.
+     */
+    @Test
+    void testManagedTask_executionProperties_layered() {
+        Map<String, String> immutable = Map.of(ManagedTask.IDENTITY_NAME, "task1");
+        ManagedTask wrapped = (ManagedTask) ManagedExecutors.managedTask(new RunnableImpl(), immutable, null);
+        Map<String, String> single = wrapped.getExecutionProperties();
+        assertEquals(immutable, single);
+        assertNull(single.get(null));
+        assertFalse(single.containsKey(null));
+        assertFalse(single.containsValue(null));
+        assertThrows(UnsupportedOperationException.class, () -> single.put("custom", "false"));
+
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put(ManagedTask.LONGRUNNING_HINT, "true");
+        overrides.put(ManagedTask.IDENTITY_NAME, "task2");
+        ManagedTask rewrapped = (ManagedTask) ManagedExecutors.managedTask((Runnable) wrapped, overrides, null);
+        overrides.put("custom", "true");
+
+        Map<String, String> props = rewrapped.getExecutionProperties();
+        assertEquals(Map.of(ManagedTask.IDENTITY_NAME, "task2", ManagedTask.LONGRUNNING_HINT, "true"), props);
+        assertEquals(2, props.size());
+        assertEquals("task2", props.get(ManagedTask.IDENTITY_NAME));
+        assertNull(props.get("custom"));
+        assertNull(props.get(null));
+        assertThrows(UnsupportedOperationException.class, () -> props.put("custom", "false"));
+        assertThrows(UnsupportedOperationException.class, () -> props.entrySet().iterator().next().setValue("x"));
+
+        Map<String, String> extra = Map.of("custom", "false", ManagedTask.LONGRUNNING_HINT, "false");
+        ManagedTask layered = (ManagedTask) ManagedExecutors.managedTask((Runnable) rewrapped, extra, null);
+        assertEquals(Map.of(ManagedTask.IDENTITY_NAME, "task2",
+                            ManagedTask.LONGRUNNING_HINT, "false",
+                            "custom", "false"),
+                     layered.getExecutionProperties());
+        assertEquals(Map.of(ManagedTask.IDENTITY_NAME, "task2", ManagedTask.LONGRUNNING_HINT, "true"), props);
+    }
+
+    /**
+     * Execution properties of a task that is returned by managedTask() are an unmodifiable
+     * snapshot, even if supplied as a modifiable map, and are not copied again when the task
+     * is wrapped without overrides. Modifiable maps on both sides are merged into one copy.
+     */
+    @Test
+    void testManagedTask_executionProperties_unmodifiable() {
+        Map<String, String> modifiable = new HashMap<>();
+        modifiable.put(ManagedTask.IDENTITY_NAME, "task1");
+        modifiable.put(null, "nullKey");
+        ManagedTask wrapped = (ManagedTask) ManagedExecutors.managedTask(new RunnableImpl(), modifiable, null);
+        Map<String, String> props = wrapped.getExecutionProperties();
+        modifiable.put("custom", "true");
+        assertEquals(2, props.size());
+        assertEquals("nullKey", props.get(null));
+        assertThrows(UnsupportedOperationException.class, () -> props.put("custom", "false"));
+        assertThrows(UnsupportedOperationException.class, () -> props.remove(ManagedTask.IDENTITY_NAME));
+        assertThrows(UnsupportedOperationException.class, () -> props.entrySet().iterator().next().setValue("x"));
+        assertThrows(UnsupportedOperationException.class, () -> props.keySet().clear());
+
+        ManagedTask rewrapped = (ManagedTask) ManagedExecutors.managedTask((Runnable) wrapped, null, null);
+        assertSame(props, rewrapped.getExecutionProperties());
+
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put(ManagedTask.LONGRUNNING_HINT, "true");
+        ManagedTask merged = (ManagedTask) ManagedExecutors.managedTask(
+                new ManagedTaskRunnableImpl("task", modifiable, null), overrides, null);
+        Map<String, String> mergedProps = merged.getExecutionProperties();
+        assertEquals(4, mergedProps.size());
+        assertEquals("true", mergedProps.get(ManagedTask.LONGRUNNING_HINT));
+        assertThrows(UnsupportedOperationException.class, () -> mergedProps.put("custom", "false"));
+    }
+
+    /**
+     * A template wraps each task with the same execution properties and listener,
+     * which it resolves once.
+     */
+    @Test
+    void testTemplate() throws Exception {
+        ManagedTaskListenerImpl taskListener = new ManagedTaskListenerImpl();
+        Map<String, String> executionProperties = new HashMap<>();
+        executionProperties.put(ManagedTask.IDENTITY_NAME, "template1");
+        executionProperties.put(ManagedTask.LONGRUNNING_HINT, "TRUE");
+        ManagedExecutors.Template template = ManagedExecutors.template(executionProperties, taskListener);
+        executionProperties.put(ManagedTask.TRANSACTION, ManagedTask.USE_TRANSACTION_OF_EXECUTION_THREAD);
+
+        assertEquals("template1", template.getIdentityName());
+        assertTrue(template.isLongRunning());
+        assertEquals(ManagedTask.TransactionMode.SUSPEND, template.getTransactionMode());
+        assertSame(taskListener, template.getManagedTaskListener());
+
+        RunnableImpl task = new RunnableImpl();
+        Runnable wrapped = template.managedTask(task);
+        ManagedTask managedTask = (ManagedTask) wrapped;
+        assertSame(taskListener, managedTask.getManagedTaskListener());
+        assertSame(template.getExecutionProperties(), managedTask.getExecutionProperties());
+        assertEquals("template1", managedTask.identityName());
+        assertTrue(managedTask.isLongRunning());
+        assertEquals(ManagedTask.TransactionMode.SUSPEND, managedTask.transactionMode());
+        assertEquals(2, managedTask.getExecutionProperties().size());
+        wrapped.run();
+        assertTrue(task.ran);
+
+        Callable<String> callable = template.managedTask(new CallableImpl<>("result"));
+        assertSame(taskListener, ((ManagedTask) callable).getManagedTaskListener());
+        assertEquals("template1", ((ManagedTask) callable).getExecutionProperties().get(ManagedTask.IDENTITY_NAME));
+
+        // execution properties of a ManagedTask are combined with those of the template
+        Map<String, String> taskProperties = Map.of("custom", "true", ManagedTask.IDENTITY_NAME, "task1");
+        ManagedTaskRunnableImpl managedTaskImpl = new ManagedTaskRunnableImpl("description", taskProperties, null);
+        Map<String, String> combined = ((ManagedTask) template.managedTask(managedTaskImpl)).getExecutionProperties();
+        assertEquals("true", combined.get("custom"));
+        assertEquals("template1", combined.get(ManagedTask.IDENTITY_NAME));
+
+        assertThrows(IllegalArgumentException.class, () -> template.managedTask((Runnable) null));
+
+        ManagedExecutors.Template empty = ManagedExecutors.template(null, null);
+        assertNull(empty.getIdentityName());
+        assertEquals(ManagedTask.TransactionMode.SUSPEND, empty.getTransactionMode());
+        assertNull(((ManagedTask) empty.managedTask(task)).getExecutionProperties());
+    }
+
+    /**
+     * Typed accessors of ManagedTask return the values of the execution properties.
+     */
+    @Test
+    void testTypedExecutionProperties() {
+        ManagedTask none = (ManagedTask) ManagedExecutors.managedTask(new RunnableImpl(), null);
+        assertNull(none.identityName());
+        assertFalse(none.isLongRunning());
+        assertEquals(ManagedTask.TransactionMode.SUSPEND, none.transactionMode());
+
+        ManagedTask task = (ManagedTask) ManagedExecutors.managedTask(new RunnableImpl(), Map.of(
+                ManagedTask.IDENTITY_NAME, "task1",
+                ManagedTask.LONGRUNNING_HINT, "True",
+                ManagedTask.TRANSACTION, ManagedTask.USE_TRANSACTION_OF_EXECUTION_THREAD), null);
+        assertEquals("task1", task.identityName());
+        assertTrue(task.isLongRunning());
+        assertEquals(ManagedTask.TransactionMode.USE_TRANSACTION_OF_EXECUTION_THREAD, task.transactionMode());
+
+        ManagedTask invalid = (ManagedTask) ManagedExecutors.managedTask(new RunnableImpl(), Map.of(
+                ManagedTask.LONGRUNNING_HINT, "yes",
+                ManagedTask.TRANSACTION, "REQUIRED"), null);
+        assertFalse(invalid.isLongRunning());
+        assertThrows(IllegalArgumentException.class, invalid::transactionMode);
+        assertThrows(IllegalArgumentException.class,
+                     () -> ManagedExecutors.template(Map.of(ManagedTask.TRANSACTION, "REQUIRED"), null));
+    }
+
+    /**
+     * A composite listener flattens nested composites, notifies only the listeners
+     * that implement each method, and notifies all listeners when one of them fails,
+     * including with an Error.
+     */
+    @Test
+    void testListeners() {
+        List<String> events = new ArrayList<>();
+        ManagedTaskListener doneOnly = new ManagedExecutors.ListenerAdapter() {
+            @Override
+            public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+                events.add("doneOnly.taskDone " + task);
+            }
+        };
+        ManagedTaskListener failing = new ManagedExecutors.ListenerAdapter() {
+            @Override
+            public void taskStarting(Future<?> future, ManagedExecutorService executor, Object task) {
+                events.add("failing.taskStarting " + task);
+                throw new IllegalStateException("first");
+            }
+
+            @Override
+            public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+                events.add("failing.taskDone " + task);
+                throw new IllegalStateException("second");
+            }
+        };
+        ManagedTaskListener recording = new ManagedTaskListenerImpl() {
+            @Override
+            public void taskStarting(Future<?> future, ManagedExecutorService executor, Object task) {
+                events.add("recording.taskStarting " + task);
+                throw new UnsupportedOperationException("third");
+            }
+        };
+
+        assertNull(ManagedExecutors.listeners());
+        assertNull(ManagedExecutors.listeners(null, null));
+        assertSame(doneOnly, ManagedExecutors.listeners(null, doneOnly));
+
+        ManagedTaskListener nested = ManagedExecutors.listeners(doneOnly, failing);
+        ManagedExecutors.CompositeListener composite =
+                (ManagedExecutors.CompositeListener) ManagedExecutors.listeners(nested, null, recording);
+
+        composite.taskSubmitted(null, null, "task1");
+        composite.taskAborted(null, null, "task1", null);
+        assertTrue(events.isEmpty(), events.toString());
+
+        IllegalStateException x = assertThrows(IllegalStateException.class,
+                                               () -> composite.taskStarting(null, null, "task1"));
+        assertEquals("first", x.getMessage());
+        assertEquals(1, x.getSuppressed().length);
+        assertEquals("third", x.getSuppressed()[0].getMessage());
+
+        x = assertThrows(IllegalStateException.class, () -> composite.taskDone(null, null, "task1", null));
+        assertEquals("second", x.getMessage());
+        assertEquals(0, x.getSuppressed().length);
+
+        assertEquals(List.of("failing.taskStarting task1", "recording.taskStarting task1",
+                             "doneOnly.taskDone task1", "failing.taskDone task1"), events);
+
+        // an Error from one listener does not prevent notification of the others
+        events.clear();
+        ManagedTaskListener erroring = new ManagedExecutors.ListenerAdapter() {
+            @Override
+            public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+                events.add("erroring.taskDone " + task);
+                throw new AssertionError("error");
+            }
+        };
+        ManagedTaskListener withError = ManagedExecutors.listeners(erroring, failing, doneOnly);
+        AssertionError e = assertThrows(AssertionError.class, () -> withError.taskDone(null, null, "task2", null));
+        assertEquals("error", e.getMessage());
+        assertEquals("second", e.getSuppressed()[0].getMessage());
+        assertEquals(List.of("erroring.taskDone task2", "failing.taskDone task2", "doneOnly.taskDone task2"), events);
+    }
+
     /**
      * Basic test for ManagedExecutors.managedTask(Callable, ManagedTaskListener)
      */
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class ManagedTaskScopeTest {
+
+    /**
+     * Returns a managed executor that runs tasks on virtual threads.
+     */
+    private static ManagedExecutorService newExecutor(ExecutorService threads) {
+        return (ManagedExecutorService) Proxy.newProxyInstance(
+                ManagedExecutorService.class.getClassLoader(), new Class<?>[] {ManagedExecutorService.class},
+                (proxy, method, args) -> {
+                    if (method.isDefault()) {
+                        return InvocationHandler.invokeDefault(proxy, method, args);
+                    }
+                    try {
+                        return method.invoke(threads, args);
+                    } catch (InvocationTargetException x) {
+                        throw x.getCause();
+                    }
+                });
+    }
+
+    /**
+     * The first failure shuts down the scope, cancelling and interrupting the other subtasks,
+     * and join returns without waiting for them.
+     */
+    @Test
+    void testShutdownOnFailure() throws Exception {
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            ManagedExecutorService executor = newExecutor(threads);
+            CountDownLatch started = new CountDownLatch(3);
+            CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+            List<Future<String>> subtasks = new ArrayList<>();
+
+            try (ManagedTaskScope<String> scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_FAILURE)) {
+                for (int i = 0; i < 3; i++) {
+                    subtasks.add(scope.fork(() -> {
+                        started.countDown();
+                        try {
+                            Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+                        } catch (InterruptedException x) {
+                            interrupted.complete(true);
+                            throw x;
+                        }
+                        return "slow";
+                    }));
+                }
+                assertTrue(started.await(1, TimeUnit.MINUTES));
+                Future<String> failing = scope.fork(() -> {
+                    throw new IllegalStateException("failed");
+                });
+
+                long start = System.nanoTime();
+                scope.join();
+                assertTrue(System.nanoTime() - start < TimeUnit.MINUTES.toNanos(1));
+                assertTrue(scope.isShutdown());
+                ExecutionException x = assertThrows(ExecutionException.class, scope::throwIfFailed);
+                assertEquals("failed", x.getCause().getMessage());
+                assertEquals(Future.State.FAILED, failing.state());
+                for (Future<String> subtask : subtasks) {
+                    assertTrue(subtask.isCancelled());
+                }
+                assertTrue(interrupted.get(1, TimeUnit.MINUTES));
+
+                Future<String> late = scope.fork(() -> "late");
+                assertTrue(late.isCancelled());
+            }
+        }
+    }
+
+    /**
+     * Closing the scope waits for running subtasks to return, including subtasks that
+     * ignore interruption, but not for subtasks that the executor accepts and never runs.
+     */
+    @Test
+    void testCloseWaitsForRunningSubtasks() throws Exception {
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            ManagedExecutorService executor = newExecutor(threads);
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicBoolean running = new AtomicBoolean();
+            try (ManagedTaskScope<String> scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_FAILURE)) {
+                scope.fork(() -> {
+                    running.set(true);
+                    started.countDown();
+                    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait(); // ignores interruption
+                    }
+                    running.set(false);
+                    return "stubborn";
+                });
+                assertTrue(started.await(1, TimeUnit.MINUTES));
+                scope.fork(() -> {
+                    throw new IllegalStateException("failed");
+                });
+                scope.join();
+            }
+            assertFalse(running.get());
+        }
+
+        List<Runnable> dropped = new ArrayList<>();
+        ManagedExecutorService accepting = (ManagedExecutorService) Proxy.newProxyInstance(
+                ManagedExecutorService.class.getClassLoader(), new Class<?>[] {ManagedExecutorService.class},
+                (proxy, method, args) -> {
+                    if (method.isDefault()) {
+                        return InvocationHandler.invokeDefault(proxy, method, args);
+                    } else if ("execute".equals(method.getName())) {
+                        return dropped.add((Runnable) args[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        Future<String> neverRun;
+        try (ManagedTaskScope<String> scope = accepting.newTaskScope(ManagedTaskScope.Policy.WAIT_FOR_ALL)) {
+            neverRun = scope.fork(() -> "never");
+        }
+        assertEquals(1, dropped.size());
+        assertTrue(neverRun.isCancelled());
+        dropped.get(0).run(); // running it afterward has no effect
+        assertTrue(neverRun.isCancelled());
+    }
+
+    /**
+     * The first subtask to succeed supplies the result and cancels the others.
+     */
+    @Test
+    void testShutdownOnSuccess() throws Exception {
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            ManagedExecutorService executor = newExecutor(threads);
+            Future<String> slow;
+            try (ManagedTaskScope<String> scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_SUCCESS)) {
+                scope.fork(() -> {
+                    throw new IllegalArgumentException("unavailable");
+                });
+                slow = scope.fork(() -> {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+                    return "slow";
+                });
+                scope.fork(() -> "fast");
+
+                assertEquals("fast", scope.join().result());
+                assertTrue(scope.isShutdown());
+            }
+            assertTrue(slow.isCancelled());
+
+            try (ManagedTaskScope<String> scope = executor.newTaskScope(ManagedTaskScope.Policy.SHUTDOWN_ON_SUCCESS)) {
+                scope.fork(() -> {
+                    throw new IllegalArgumentException("unavailable");
+                });
+                ExecutionException x = assertThrows(ExecutionException.class, () -> scope.join().result());
+                assertEquals("unavailable", x.getCause().getMessage());
+                assertFalse(scope.isShutdown());
+            }
+        }
+    }
+
+    /**
+     * Without a shutdown policy, join waits for all subtasks, and can time out.
+     * The scope can only be used by its owner and its results require joining.
+     */
+    @Test
+    void testWaitForAll() throws Exception {
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            ManagedExecutorService executor = newExecutor(threads);
+            CountDownLatch blocker = new CountDownLatch(1);
+            try (ManagedTaskScope<Integer> scope = executor.newTaskScope(ManagedTaskScope.Policy.WAIT_FOR_ALL)) {
+                Future<Integer> failed = scope.fork(() -> {
+                    throw new ArithmeticException();
+                });
+                Future<Integer> blocked = scope.fork(() -> {
+                    blocker.await();
+                    return 2;
+                });
+                assertThrows(IllegalStateException.class, scope::throwIfFailed);
+                assertThrows(IllegalStateException.class, scope::result);
+                assertThrows(TimeoutException.class, () -> scope.join(100, TimeUnit.MILLISECONDS));
+                assertFalse(scope.isShutdown());
+
+                CompletableFuture<Object> other = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return scope.fork(() -> 3);
+                    } catch (WrongThreadException x) {
+                        return x;
+                    }
+                }, threads);
+                assertTrue(other.get(1, TimeUnit.MINUTES) instanceof WrongThreadException);
+
+                blocker.countDown();
+                assertSame(scope, scope.join());
+                assertEquals(2, blocked.resultNow());
+                assertTrue(failed.exceptionNow() instanceof ArithmeticException);
+                assertThrows(ExecutionException.class, scope::throwIfFailed);
+            }
+        }
+    }
+}
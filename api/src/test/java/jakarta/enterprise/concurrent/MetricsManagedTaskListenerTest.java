@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MetricsManagedTaskListenerTest {
+
+    /**
+     * Statistics are recorded per identity name, including histograms of queue wait and execution time,
+     * counts of aborted, cancelled, and failed tasks, and the numbers of queued and running tasks.
+     */
+    @Test
+    void testStatistics() throws Exception {
+        MetricsManagedTaskListener metrics = new MetricsManagedTaskListener();
+        Runnable fast = ManagedExecutors.managedTask(() -> { }, Map.of(ManagedTask.IDENTITY_NAME, "fast"), metrics);
+        Runnable slow = ManagedExecutors.managedTask(() -> { }, Map.of(ManagedTask.IDENTITY_NAME, "slow"), metrics);
+
+        for (int i = 0; i < 100; i++) {
+            CompletableFuture<Void> future = new CompletableFuture<Void>();
+            metrics.taskSubmitted(future, null, fast);
+            metrics.taskStarting(future, null, fast);
+            metrics.taskDone(future, null, fast, i % 10 == 0 ? new IllegalStateException() : null);
+        }
+
+        CompletableFuture<Void> slow1 = new CompletableFuture<Void>();
+        metrics.taskSubmitted(slow1, null, slow);
+        TimeUnit.MILLISECONDS.sleep(20);
+        metrics.taskStarting(slow1, null, slow);
+        TimeUnit.MILLISECONDS.sleep(40);
+
+        CompletableFuture<Void> slow2 = new CompletableFuture<Void>();
+        metrics.taskSubmitted(slow2, null, slow);
+        CompletableFuture<Void> slow3 = new CompletableFuture<Void>();
+        metrics.taskSubmitted(slow3, null, slow);
+        metrics.taskAborted(slow3, null, slow, new CancellationException());
+        metrics.taskDone(slow3, null, slow, null);
+
+        MetricsManagedTaskListener.Statistics inProgress = metrics.snapshot().getTaskStatistics().get("slow");
+        assertEquals(3, inProgress.getSubmittedCount());
+        assertEquals(1, inProgress.getQueuedCount());
+        assertEquals(1, inProgress.getRunningCount());
+        assertEquals(1, inProgress.getAbortedCount());
+        assertEquals(1, inProgress.getCancelledCount());
+
+        metrics.taskDone(slow1, null, slow, null);
+        metrics.taskStarting(slow2, null, slow);
+        metrics.taskDone(slow2, null, slow, null);
+
+        MetricsManagedTaskListener.Snapshot snapshot = metrics.snapshot();
+        MetricsManagedTaskListener.Statistics fastStats = snapshot.getTaskStatistics().get("fast");
+        assertEquals(100, fastStats.getSubmittedCount());
+        assertEquals(100, fastStats.getStartedCount());
+        assertEquals(100, fastStats.getDoneCount());
+        assertEquals(10, fastStats.getFailedCount());
+        assertEquals(0, fastStats.getQueuedCount());
+        assertEquals(0, fastStats.getRunningCount());
+        assertEquals(100, fastStats.getQueueWait().getCount());
+        assertEquals(100, fastStats.getExecutionTime().getCount());
+
+        MetricsManagedTaskListener.Statistics slowStats = snapshot.getTaskStatistics().get("slow");
+        assertEquals(3, slowStats.getDoneCount());
+        assertEquals(0, slowStats.getQueuedCount());
+        assertEquals(0, slowStats.getRunningCount());
+        assertEquals(2, slowStats.getQueueWait().getCount());
+        assertEquals(2, slowStats.getExecutionTime().getCount());
+        long p100 = slowStats.getQueueWait().getValueAtPercentile(100.0);
+        assertTrue(p100 >= TimeUnit.MILLISECONDS.toNanos(20), Long.toString(p100));
+        assertTrue(slowStats.getExecutionTime().getValueAtPercentile(50.0) < p100 * 2);
+        assertTrue(slowStats.getExecutionTime().getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+
+        MetricsManagedTaskListener.Statistics all = snapshot.getStatisticsWithoutExecutor();
+        assertEquals(103, all.getSubmittedCount());
+        assertEquals(0, metrics.getUntrackedCount());
+        assertTrue(snapshot.getExecutorStatistics().isEmpty());
+
+        // statistics per executor are held until the executor is removed
+        ManagedExecutorService executor = (ManagedExecutorService) Proxy.newProxyInstance(
+                ManagedExecutorService.class.getClassLoader(), new Class<?>[] {ManagedExecutorService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        CompletableFuture<Void> future = new CompletableFuture<Void>();
+        metrics.taskSubmitted(future, executor, fast);
+        metrics.taskStarting(future, executor, fast);
+        metrics.taskDone(future, executor, fast, null);
+        assertEquals(1, metrics.snapshot().getExecutorStatistics().get(executor).getDoneCount());
+        assertEquals(1, metrics.remove(executor).getDoneCount());
+        assertTrue(metrics.snapshot().getExecutorStatistics().isEmpty());
+        assertNull(metrics.remove(executor));
+        assertEquals(101, metrics.snapshot().getTaskStatistics().get("fast").getDoneCount());
+    }
+
+    /**
+     * Statistics are recorded separately for a limited number of identity names,
+     * beyond which tasks are recorded together as other tasks.
+     */
+    @Test
+    void testIdentityNameLimit() {
+        MetricsManagedTaskListener metrics = new MetricsManagedTaskListener();
+        for (int i = 0; i < MetricsManagedTaskListener.MAX_IDENTITY_NAMES + 10; i++) {
+            Runnable task = ManagedExecutors.managedTask(() -> { }, Map.of(ManagedTask.IDENTITY_NAME, "order-" + i),
+                                                         metrics);
+            CompletableFuture<Void> future = new CompletableFuture<Void>();
+            metrics.taskSubmitted(future, null, task);
+            metrics.taskStarting(future, null, task);
+            metrics.taskDone(future, null, task, null);
+        }
+        Runnable first = ManagedExecutors.managedTask(() -> { }, Map.of(ManagedTask.IDENTITY_NAME, "order-0"), metrics);
+        metrics.taskSubmitted(new CompletableFuture<Void>(), null, first);
+
+        MetricsManagedTaskListener.Snapshot snapshot = metrics.snapshot();
+        assertEquals(MetricsManagedTaskListener.MAX_IDENTITY_NAMES, snapshot.getTaskStatistics().size());
+        assertEquals(2, snapshot.getTaskStatistics().get("order-0").getSubmittedCount());
+        assertNull(snapshot.getTaskStatistics().get("order-" + MetricsManagedTaskListener.MAX_IDENTITY_NAMES));
+        assertEquals(10, snapshot.getOtherTaskStatistics().getDoneCount());
+        assertEquals(MetricsManagedTaskListener.MAX_IDENTITY_NAMES + 11,
+                     snapshot.getStatisticsWithoutExecutor().getSubmittedCount());
+    }
+
+    /**
+     * Histogram buckets have a precision of 12.5%, and tasks beyond the capacity are not timed.
+     */
+    @Test
+    void testHistogramBuckets() {
+        for (int i = 0; i < MetricsManagedTaskListener.Histogram.BUCKETS; i++) {
+            long lower = MetricsManagedTaskListener.Histogram.lowerBoundNanos(i);
+            assertEquals(i, MetricsManagedTaskListener.Histogram.bucketOf(lower));
+            if (i < MetricsManagedTaskListener.Histogram.BUCKETS - 1) {
+                long upper = MetricsManagedTaskListener.Histogram.upperBoundNanos(i);
+                assertEquals(i, MetricsManagedTaskListener.Histogram.bucketOf(upper - 1));
+                assertTrue(upper - lower <= Math.max(1, lower / 8), i + ": " + lower + "-" + upper);
+            }
+        }
+        assertEquals(MetricsManagedTaskListener.Histogram.BUCKETS - 1,
+                     MetricsManagedTaskListener.Histogram.bucketOf(Long.MAX_VALUE));
+
+        MetricsManagedTaskListener metrics = new MetricsManagedTaskListener(1);
+        for (int i = 0; i < 20; i++) {
+            metrics.taskSubmitted(new CompletableFuture<Void>(), null, null);
+        }
+        // the capacity is rounded up to 16 tasks
+        assertEquals(4, metrics.getUntrackedCount());
+        assertEquals(16, metrics.snapshot().getStatisticsWithoutExecutor().getQueuedCount());
+        assertThrows(IllegalArgumentException.class, () -> new MetricsManagedTaskListener(0));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.enterprise.concurrent.spi.ThreadContextChain;
+import jakarta.enterprise.concurrent.spi.ThreadContextProvider;
+import jakarta.enterprise.concurrent.spi.ThreadContextRestorer;
+import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+@ContextServiceDefinition(
+        name = "java:module/concurrent/ChainContext",
+        propagated = "ThreadPriority",
+        cleared = "ThreadName",
+        unchanged = ContextServiceDefinition.ALL_REMAINING,
+        lazyCapture = true)
+class ThreadContextChainTest {
+
+    /**
+     * A chain resolves the context types of a definition against the providers,
+     * omitting unchanged context, and captures, applies, and restores context in order.
+     */
+    @Test
+    void testCompileDefinition() {
+        List<String> events = new ArrayList<>();
+        ThreadContextProvider name = new NamedProvider("ThreadName", events);
+        ThreadContextProvider other = new NamedProvider("Other", events);
+        ThreadContextProvider priority = new ThreadPriorityContextProvider();
+
+        ContextServiceDefinition def = getClass().getAnnotation(ContextServiceDefinition.class);
+        ThreadContextChain chain = ThreadContextChain.compile(def, List.of(name, other, priority));
+        assertEquals(2, chain.size());
+        assertSame(name, chain.getProvider(0));
+        assertFalse(chain.isPropagated(0));
+        assertSame(priority, chain.getProvider(1));
+        assertTrue(chain.isPropagated(1));
+        assertEquals("ThreadContextChain[clear ThreadName, propagate ThreadPriority]", chain.toString());
+
+        Thread.currentThread().setPriority(3);
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        assertEquals(List.of("ThreadName cleared"), events);
+        Thread.currentThread().setPriority(6);
+
+        ThreadContextRestorer[] restorers = chain.begin(snapshots);
+        assertEquals(3, Thread.currentThread().getPriority());
+        chain.endContext(restorers);
+        assertEquals(6, Thread.currentThread().getPriority());
+        assertEquals(List.of("ThreadName cleared", "ThreadName begin", "ThreadName end"), events);
+
+        // context that is already on the thread is neither begun nor ended
+        snapshots = chain.capture(null, snapshots);
+        restorers = chain.begin(snapshots);
+        assertSame(ThreadContextRestorer.NO_OP, restorers[1]);
+        chain.endContext(restorers);
+
+        assertThrows(IllegalArgumentException.class, () -> chain.capture(null, new ThreadContextSnapshot[1]));
+        assertThrows(IllegalArgumentException.class, () -> chain.begin(new ThreadContextSnapshot[3]));
+    }
+
+    /**
+     * Remaining context is cleared by default, and invalid configuration is rejected.
+     */
+    @Test
+    void testCompileLists() {
+        List<String> events = new ArrayList<>();
+        ThreadContextProvider name = new NamedProvider("ThreadName", events);
+        ThreadContextProvider other = new NamedProvider("Other", events);
+
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0], new String[] {"Other"},
+                                                              new String[] {"Unknown"}, false, List.of(name, other));
+        assertEquals("ThreadContextChain[clear ThreadName, propagate Other]", chain.toString());
+
+        chain.capture(Map.of());
+        assertEquals(List.of("ThreadName cleared", "Other current"), events);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> ThreadContextChain.compile(new String[] {"Other"}, new String[] {"Other"},
+                                                      new String[0], false, List.of(name, other)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> ThreadContextChain.compile(new String[0], new String[0], new String[0], false,
+                                                      List.of(name, new NamedProvider("ThreadName", events))));
+    }
+
+    /**
+     * If applying context fails, context that was already applied is restored.
+     */
+    @Test
+    void testBeginFailure() {
+        List<String> events = new ArrayList<>();
+        ThreadContextProvider name = new NamedProvider("ThreadName", events);
+        ThreadContextProvider failing = new NamedProvider("Failing", events);
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0], new String[0], new String[0], false,
+                                                              List.of(name, failing));
+        ThreadContextSnapshot[] snapshots = chain.capture(null);
+        snapshots[1] = () -> {
+            throw new IllegalStateException("failed");
+        };
+        IllegalStateException x = assertThrows(IllegalStateException.class, () -> chain.begin(snapshots));
+        assertEquals("failed", x.getMessage());
+        assertEquals(List.of("ThreadName cleared", "Failing cleared", "ThreadName begin", "ThreadName end"),
+                     events);
+    }
+
+    /**
+     * If restoring context fails, including with an Error, the remaining context is still
+     * restored, after which the first failure is raised with the others suppressed.
+     */
+    @Test
+    void testEndContextFailure() {
+        List<String> events = new ArrayList<>();
+        ThreadContextChain chain = ThreadContextChain.compile(new String[0], new String[0], new String[0], false,
+                List.of(new NamedProvider("First", events), new NamedProvider("Second", events),
+                        new NamedProvider("Third", events)));
+        ThreadContextRestorer[] restorers = chain.begin(chain.capture(null));
+        restorers[2] = () -> {
+            throw new AssertionError("third");
+        };
+        restorers[1] = () -> {
+            throw new IllegalStateException("second");
+        };
+        AssertionError x = assertThrows(AssertionError.class, () -> chain.endContext(restorers));
+        assertEquals("third", x.getMessage());
+        assertEquals(1, x.getSuppressed().length);
+        assertEquals("second", x.getSuppressed()[0].getMessage());
+        assertEquals("First end", events.get(events.size() - 1));
+    }
+
+    static class NamedProvider implements ThreadContextProvider {
+        final String type;
+        final List<String> events;
+
+        NamedProvider(String type, List<String> events) {
+            this.type = type;
+            this.events = events;
+        }
+
+        @Override
+        public ThreadContextSnapshot currentContext(Map<String, String> props) {
+            events.add(type + " current");
+            return snapshot();
+        }
+
+        @Override
+        public ThreadContextSnapshot clearedContext(Map<String, String> props) {
+            events.add(type + " cleared");
+            return snapshot();
+        }
+
+        private ThreadContextSnapshot snapshot() {
+            return () -> {
+                events.add(type + " begin");
+                return () -> events.add(type + " end");
+            };
+        }
+
+        @Override
+        public String getThreadContextType() {
+            return type;
+        }
+    }
+}
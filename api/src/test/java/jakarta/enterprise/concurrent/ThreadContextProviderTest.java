@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,13 +19,17 @@ package jakarta.enterprise.concurrent;
 import static jakarta.enterprise.concurrent.ContextServiceDefinition.TRANSACTION;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import jakarta.annotation.Resource;
 import jakarta.enterprise.concurrent.spi.ThreadContextProvider;
 import jakarta.enterprise.concurrent.spi.ThreadContextRestorer;
 import jakarta.enterprise.concurrent.spi.ThreadContextSnapshot;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 
@@ -75,6 +79,65 @@ class ThreadContextProviderTest {
         assertEquals(3, Thread.currentThread().getPriority());
     }
 
+    /**
+     * A deferred snapshot materializes from its token once, upon the first begin,
+     * and applies the context that was current when the token was captured.
+     */
+    @Test
+    void testDeferredContext() throws Exception {
+        ThreadContextProvider provider = new ThreadPriorityContextProvider();
+        assertEquals(ThreadPrioritySnapshot.class, provider.deferredContext(Collections.emptyMap()).getClass());
+
+        AtomicInteger materialized = new AtomicInteger();
+        Thread.currentThread().setPriority(2);
+        ThreadContextSnapshot snapshot = ThreadContextSnapshot.deferred(Thread.currentThread().getPriority(),
+                priority -> {
+                    materialized.incrementAndGet();
+                    return new ThreadPrioritySnapshot(priority);
+                });
+        ThreadContextSnapshot unused = ThreadContextSnapshot.deferred(Thread.currentThread().getPriority(),
+                priority -> {
+                    throw new AssertionError();
+                });
+        assertNotNull(unused);
+
+        Thread.currentThread().setPriority(3);
+        assertEquals(0, materialized.get());
+
+        ThreadContextRestorer restorer = snapshot.begin();
+        assertEquals(2, Thread.currentThread().getPriority());
+        restorer.endContext();
+        assertEquals(3, Thread.currentThread().getPriority());
+
+        restorer = snapshot.begin();
+        assertEquals(2, Thread.currentThread().getPriority());
+        restorer.endContext();
+        assertEquals(1, materialized.get());
+    }
+
+    /**
+     * A snapshot that is already current can be skipped in favor of the shared no-op restorer.
+     */
+    @Test
+    void testSnapshotIsCurrent() throws Exception {
+        ThreadContextProvider provider = new ThreadPriorityContextProvider();
+
+        Thread.currentThread().setPriority(4);
+        ThreadContextSnapshot snapshot = provider.currentContext(Collections.emptyMap());
+        assertTrue(snapshot.isCurrent());
+        assertTrue(ThreadContextSnapshot.deferred(4, ThreadPrioritySnapshot::new).isCurrent());
+        assertFalse(((ThreadContextSnapshot) () -> ThreadContextRestorer.NO_OP).isCurrent());
+
+        ThreadContextRestorer restorer = snapshot.isCurrent() ? ThreadContextRestorer.NO_OP : snapshot.begin();
+        assertSame(ThreadContextRestorer.NO_OP, restorer);
+        restorer.endContext();
+        restorer.endContext();
+        assertEquals(4, Thread.currentThread().getPriority());
+
+        Thread.currentThread().setPriority(5);
+        assertFalse(snapshot.isCurrent());
+    }
+
     @Test
     void testClearThreadContext() throws Exception {
         ThreadContextProvider provider = new ThreadPriorityContextProvider();
@@ -111,5 +174,6 @@ class ThreadContextProviderTest {
         assertArrayEquals(new String[] { "ThreadPriority" }, csd.propagated());
         assertArrayEquals(new String[] { TRANSACTION }, csd.cleared());
         assertArrayEquals(new String[] {}, csd.unchanged());
+        assertFalse(csd.lazyCapture());
     }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -46,4 +46,9 @@ public class ThreadPrioritySnapshot implements ThreadContextSnapshot {
 
         return contextRestorer;
     }
+
+    @Override
+    public boolean isCurrent() {
+        return Thread.currentThread().getPriority() == priority;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.enterprise.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.enterprise.concurrent.spi.TimingWheel;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+    private static final ZoneId ZONE = ZoneId.of("America/Chicago");
+    private static final long START = ZonedDateTime.of(2021, 3, 12, 23, 59, 30, 0, ZONE).toInstant().toEpochMilli();
+
+    /**
+     * Tasks run in order of their scheduled times, no earlier than scheduled,
+     * including tasks that are scheduled far enough in the future to cascade
+     * through several levels of the wheel. Cancelled tasks do not run.
+     */
+    @Test
+    void testScheduleAndCancel() {
+        AtomicLong clock = new AtomicLong(START);
+        TimingWheel wheel = new TimingWheel(10, clock::get);
+        List<String> ran = new ArrayList<String>();
+
+        TimingWheel.Timeout day = wheel.schedule(() -> ran.add("day@" + clock.get()), START + 86400000);
+        TimingWheel.Timeout second = wheel.schedule(() -> ran.add("second@" + clock.get()), START + 1000);
+        TimingWheel.Timeout hour = wheel.schedule(() -> ran.add("hour@" + clock.get()), START + 3600005);
+        TimingWheel.Timeout past = wheel.schedule(() -> ran.add("past@" + clock.get()), START - 5000);
+        TimingWheel.Timeout minute = wheel.schedule(() -> ran.add("minute@" + clock.get()), START + 60000);
+
+        assertEquals(1, wheel.advance(Runnable::run));
+        assertEquals(List.of("past@" + START), ran);
+        assertTrue(past.isDone());
+
+        clock.set(START + 999);
+        assertEquals(0, wheel.advance(Runnable::run));
+
+        clock.set(START + 1000);
+        assertEquals(1, wheel.advance(Runnable::run));
+        assertTrue(second.isDone());
+        assertFalse(second.isCancelled());
+
+        assertTrue(minute.cancel());
+        assertFalse(minute.cancel());
+        assertTrue(minute.isCancelled());
+
+        clock.set(START + 3600005);
+        assertEquals(0, wheel.advance(Runnable::run));
+        clock.set(START + 3600010);
+        assertEquals(1, wheel.advance(Runnable::run));
+
+        clock.set(START + 86400000 * 2L);
+        assertEquals(1, wheel.advance(Runnable::run));
+        assertTrue(day.isDone());
+        assertTrue(hour.isDone());
+
+        assertEquals(List.of("past@" + START,
+                             "second@" + (START + 1000),
+                             "hour@" + (START + 3600010),
+                             "day@" + (START + 86400000 * 2L)),
+                     ran);
+    }
+
+    /**
+     * Tasks that are scheduled at random times each run once, no earlier than scheduled,
+     * and in order of their scheduled ticks when several run during the same advance of the wheel.
+     */
+    @Test
+    void testRandomTimes() {
+        Random random = new Random(20210312);
+        AtomicLong clock = new AtomicLong(START);
+        TimingWheel wheel = new TimingWheel(7, clock::get);
+
+        int count = 5000;
+        long[] times = new long[count];
+        long[] ranAt = new long[count];
+        List<Integer> sequence = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            int task = i;
+            times[i] = START + (long) (Math.pow(random.nextDouble(), 4) * 400000000L);
+            wheel.schedule(() -> {
+                ranAt[task] = clock.get();
+                sequence.add(task);
+            }, times[i]);
+        }
+
+        for (int ran = 0; ran < count;) {
+            clock.addAndGet(1 + random.nextInt(random.nextBoolean() ? 20 : 200000));
+            ran += wheel.advance(Runnable::run);
+        }
+        assertEquals(count, sequence.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(ranAt[i] >= times[i], i + ": ran at " + ranAt[i] + " before " + times[i]);
+        }
+        for (int i = 1; i < count; i++) {
+            int prev = sequence.get(i - 1);
+            int task = sequence.get(i);
+            assertTrue(ranAt[prev] < ranAt[task] || (times[prev] - START + 6) / 7 <= (times[task] - START + 6) / 7,
+                       task + " scheduled for " + times[task] + " ran after " + prev + " scheduled for " + times[prev]);
+        }
+        assertEquals(0, wheel.advance(Runnable::run));
+    }
+
+    /**
+     * Tasks that are scheduled with a Trigger are rescheduled after each execution
+     * until the Trigger stops providing run times.
+     */
+    @Test
+    void testTrigger() {
+        AtomicLong clock = new AtomicLong(START);
+        TimingWheel wheel = new TimingWheel(100, clock::get);
+
+        List<ZonedDateTime> runs = new ArrayList<ZonedDateTime>();
+        TimingWheel.Timeout everyMinute = wheel.schedule(() -> {
+            runs.add(ZonedDateTime.ofInstant(Instant.ofEpochMilli(clock.get()), ZONE));
+            clock.addAndGet(5); // duration of task
+        }, new CronTrigger("* * * * *", ZONE));
+        assertEquals(START + 30000, everyMinute.getDeadline());
+
+        List<LastExecution> executions = new ArrayList<LastExecution>();
+        TimingWheel.Timeout threeTimes = wheel.schedule(() -> {
+        }, new Trigger() {
+            @Override
+            public Date getNextRunTime(LastExecution lastExecutionInfo, Date taskScheduledTime) {
+                executions.add(lastExecutionInfo);
+                return executions.size() > 3 ? null : new Date(taskScheduledTime.getTime() + 45000 * executions.size());
+            }
+
+            @Override
+            public boolean skipRun(LastExecution lastExecutionInfo, Date scheduledRunTime) {
+                return executions.size() == 2;
+            }
+        });
+
+        for (int i = 1; i <= 200; i++) {
+            clock.set(START + 1000 * i);
+            wheel.advance(Runnable::run);
+        }
+
+        assertEquals(3, runs.size());
+        assertEquals(ZonedDateTime.of(2021, 3, 13, 0, 0, 0, 0, ZONE), runs.get(0));
+        assertEquals(ZonedDateTime.of(2021, 3, 13, 0, 1, 0, 0, ZONE), runs.get(1));
+        assertEquals(ZonedDateTime.of(2021, 3, 13, 0, 2, 0, 0, ZONE), runs.get(2));
+        assertFalse(everyMinute.isDone());
+        assertEquals(START + 210000, everyMinute.getDeadline());
+
+        // first execution at +45s, second at +90s is skipped, third at +135s
+        assertTrue(threeTimes.isDone());
+        assertEquals(4, executions.size());
+        assertNull(executions.get(0));
+        assertEquals(START + 45000, executions.get(1).getScheduledStartEpochMilli());
+        assertEquals(START + 45000, executions.get(2).getRunStartEpochMilli());
+        assertEquals(START + 135000, executions.get(3).getScheduledStartEpochMilli());
+
+        assertTrue(everyMinute.cancel());
+        clock.addAndGet(120000);
+        assertEquals(0, wheel.advance(Runnable::run));
+        assertEquals(3, runs.size());
+    }
+
+    /**
+     * A task that is scheduled with a CronTrigger that skips runs resumes on schedule
+     * after the skipped runs, rather than being dispatched again for the skipped time.
+     */
+    @Test
+    void testTriggerSkipsRuns() {
+        AtomicLong clock = new AtomicLong(START);
+        TimingWheel wheel = new TimingWheel(100, clock::get);
+        long windowStart = START + 30000;
+        long windowEnd = windowStart + 600000;
+
+        List<Long> skipped = new ArrayList<Long>();
+        List<Long> runs = new ArrayList<Long>();
+        TimingWheel.Timeout timeout = wheel.schedule(() -> {
+            runs.add(clock.get());
+            clock.addAndGet(5); // duration of task
+        }, new CronTrigger("* * * * *", ZONE) {
+            @Override
+            public boolean skipRun(LastExecution lastExecutionInfo, ZonedDateTime scheduledRunTime) {
+                long time = scheduledRunTime.toInstant().toEpochMilli();
+                if (time >= windowStart && time < windowEnd) {
+                    skipped.add(time);
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        for (int i = 1; i <= 900; i++) {
+            clock.set(START + 1000 * i);
+            wheel.advance(Runnable::run);
+        }
+
+        assertEquals(10, skipped.size());
+        assertEquals(windowStart, skipped.get(0));
+        assertEquals(windowEnd - 60000, skipped.get(9));
+        assertEquals(5, runs.size());
+        assertEquals(windowEnd, runs.get(0));
+        assertEquals(windowEnd + 240000, runs.get(4));
+        assertEquals(windowEnd + 300000, timeout.getDeadline());
+        assertTrue(timeout.cancel());
+    }
+
+    /**
+     * Tasks that specify a timer tolerance are coalesced to run upon the same tick,
+     * or spread across the tolerance by a deterministic amount.
+     */
+    @Test
+    void testTimerTolerance() {
+        AtomicLong clock = new AtomicLong(START);
+        TimingWheel coalescing = new TimingWheel(10, clock::get);
+        TimingWheel spreading = new TimingWheel(10, clock::get, true);
+
+        List<Long> coalesced = new ArrayList<Long>();
+        Map<String, Long> spread = new TreeMap<String, Long>();
+        for (int i = 0; i < 20; i++) {
+            String name = "task" + i;
+            Map<String, String> props = Map.of(ManagedTask.IDENTITY_NAME, name,
+                                               ManagedTask.TIMER_TOLERANCE, "5000");
+            coalescing.schedule(ManagedExecutors.managedTask((Runnable) () -> coalesced.add(clock.get()), props, null),
+                                START + 30001 + 100 * i);
+            spreading.schedule(ManagedExecutors.managedTask((Runnable) () -> spread.put(name, clock.get()), props, null),
+                               START + 30000);
+        }
+        Runnable notTolerant = ManagedExecutors.managedTask((Runnable) () -> coalesced.add(-clock.get()),
+                                                            Map.of(ManagedTask.TIMER_TOLERANCE, "0"), null);
+        coalescing.schedule(notTolerant, START + 30010);
+
+        int batches = 0;
+        for (clock.set(START); clock.get() <= START + 40000; clock.addAndGet(10)) {
+            batches += coalescing.advance(Runnable::run) > 0 ? 1 : 0;
+            spreading.advance(Runnable::run);
+        }
+
+        // the 20 tasks scheduled from 00:00:00.001 to 00:00:01.901 all run at 00:00:05 in a single batch
+        assertEquals(2, batches);
+        assertEquals(21, coalesced.size());
+        assertEquals(-(START + 30010), coalesced.get(0));
+        for (int i = 1; i < 21; i++) {
+            assertEquals(START + 35000, coalesced.get(i));
+        }
+
+        // the 20 tasks scheduled for 00:00:00 run at various times within 5 seconds after
+        assertEquals(20, spread.size());
+        for (long time : spread.values()) {
+            assertTrue(time >= START + 30000 && time < START + 35010, "ran at " + time);
+        }
+        assertTrue(new TreeSet<Long>(spread.values()).size() > 10, spread.toString());
+
+        // the amount of spread is the same each time
+        AtomicLong clock2 = new AtomicLong(START);
+        TimingWheel spreading2 = new TimingWheel(10, clock2::get, true);
+        Map<String, Long> spread2 = new TreeMap<String, Long>();
+        for (int i = 19; i >= 0; i--) {
+            String name = "task" + i;
+            Map<String, String> props = Map.of(ManagedTask.IDENTITY_NAME, name,
+                                               ManagedTask.TIMER_TOLERANCE, "5000");
+            spreading2.schedule(ManagedExecutors.managedTask((Runnable) () -> spread2.put(name, clock2.get()), props, null),
+                                START + 30000);
+        }
+        for (clock2.set(START); clock2.get() <= START + 40000; clock2.addAndGet(10)) {
+            spreading2.advance(Runnable::run);
+        }
+        assertEquals(spread, spread2);
+
+        assertThrows(IllegalArgumentException.class, () -> coalescing.schedule(ManagedExecutors.managedTask(
+                (Runnable) () -> { }, Map.of(ManagedTask.TIMER_TOLERANCE, "one second"), null), START));
+        assertThrows(IllegalArgumentException.class, () -> coalescing.schedule(ManagedExecutors.managedTask(
+                (Runnable) () -> { }, Map.of(ManagedTask.TIMER_TOLERANCE, "-1"), null), START));
+    }
+}
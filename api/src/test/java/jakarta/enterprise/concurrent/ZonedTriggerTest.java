@@ -238,6 +238,13 @@ class ZonedTriggerTest {
         assertNull(lastExecWithNulls.getRunStart());
         assertNull(lastExecWithNulls.getRunEnd());
         assertNotNull(lastExecWithNulls.getScheduledStart());
+
+        assertEquals(scheduledAt.toEpochMilli(), lastExec.getScheduledStartEpochMilli());
+        assertEquals(scheduledAt.toEpochMilli() + 420, lastExec.getRunStartEpochMilli());
+        assertEquals(scheduledAt.toEpochMilli() + 15420, lastExec.getRunEndEpochMilli());
+
+        assertEquals(Long.MIN_VALUE, lastExecWithNulls.getRunStartEpochMilli());
+        assertEquals(Long.MIN_VALUE, lastExecWithNulls.getRunEndEpochMilli());
     }
 
     /**
@@ -249,6 +256,29 @@ class ZonedTriggerTest {
         ZonedTrigger trigger = (lastExec, taskScheduledTime) -> null;
 
         assertNull(trigger.getNextRunTime(null, new Date()));
+        assertEquals(Long.MIN_VALUE, trigger.getNextRunTime(null, System.currentTimeMillis()));
+    }
+
+    /**
+     * Test the default implementation of ZonedTrigger.getNextRunTime(LastExecution, long),
+     * which ought to delegate to getNextRunTime(LastExecution, ZonedDateTime).
+     */
+    @Test
+    void testGetNextRunTimeEpochMilliDefaultImplementation() {
+        ZonedTrigger trigger = new HourlyDuringBusinessHoursTrigger();
+        ZoneId central = HourlyDuringBusinessHoursTrigger.ZONE;
+
+        long scheduledAtTime = ZonedDateTime.of(2021, 3, 12, 17, 59, 59, 0, central).toInstant().toEpochMilli();
+
+        long nextTime = trigger.getNextRunTime(null, scheduledAtTime);
+        assertEquals(ZonedDateTime.of(2021, 3, 12, 18, 0, 0, 0, central).toInstant().toEpochMilli(), nextTime);
+
+        nextTime = trigger.getNextRunTime(new LastExecutionImpl(Instant.ofEpochMilli(nextTime), 190, 6), scheduledAtTime);
+        assertEquals(ZonedDateTime.of(2021, 3, 12, 19, 0, 0, 0, central).toInstant().toEpochMilli(), nextTime);
+
+        // switch to Monday @8 AM (crossing over daylight savings change)
+        nextTime = trigger.getNextRunTime(new LastExecutionImpl(Instant.ofEpochMilli(nextTime), 0, 3700), scheduledAtTime);
+        assertEquals(ZonedDateTime.of(2021, 3, 15, 8, 0, 0, 0, central).toInstant().toEpochMilli(), nextTime);
     }
 
     /**